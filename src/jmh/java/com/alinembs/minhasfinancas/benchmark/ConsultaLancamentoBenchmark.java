@@ -0,0 +1,158 @@
+package com.alinembs.minhasfinancas.benchmark;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.alinembs.minhasfinancas.model.consulta.FiltroLancamento;
+import com.alinembs.minhasfinancas.model.consulta.Saldo;
+import com.alinembs.minhasfinancas.model.consulta.ResumoLancamento;
+import com.alinembs.minhasfinancas.model.entity.Lancamento;
+import com.alinembs.minhasfinancas.model.entity.SaldoUsuario;
+import com.alinembs.minhasfinancas.model.entity.Usuario;
+import com.alinembs.minhasfinancas.model.enums.StatusLancamento;
+import com.alinembs.minhasfinancas.model.enums.TipoLancamento;
+import com.alinembs.minhasfinancas.model.repository.LancamentoRepository;
+import com.alinembs.minhasfinancas.model.repository.UsuarioRepository;
+import com.alinembs.minhasfinancas.service.LancamentoService;
+import com.alinembs.minhasfinancas.service.SaldoUsuarioService;
+
+/**
+ * Consultas de um usuário com {@code linhas} lançamentos no H2 do perfil de teste.
+ * <p>
+ * A massa é distribuída em 10 anos x 12 meses, alterna tipo e status e marca um
+ * lançamento a cada mil com a descrição "aluguel", para que cada formato de filtro
+ * devolva uma fração conhecida das linhas.
+ * <p>
+ * Os saldos são medidos no cálculo (saldo materializado e agregação no repositório);
+ * pelo serviço, depois da primeira chamada, viriam do cache de saldo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ConsultaLancamentoBenchmark {
+
+	static final int ANOS = 10;
+	static final int LOTE_INSERCAO = 5000;
+	
+	@Param({"1000", "100000", "1000000"})
+	public int linhas;
+	
+	@Param("")
+	public String url;
+	
+	private ConfigurableApplicationContext contexto;
+	private LancamentoService service;
+	private LancamentoRepository repository;
+	private SaldoUsuarioService saldoUsuarioService;
+	private Long idUsuario;
+	
+	@Setup(Level.Trial)
+	public void iniciar() {
+		contexto = ContextoBenchmark.iniciar(url, Map.of());
+		service = contexto.getBean(LancamentoService.class);
+		repository = contexto.getBean(LancamentoRepository.class);
+		saldoUsuarioService = contexto.getBean(SaldoUsuarioService.class);
+		idUsuario = contexto.getBean(UsuarioRepository.class)
+				.save(Usuario.builder().nome("benchmark").email("benchmark@email.com").senha("senha").build())
+				.getId();
+		popular(contexto.getBean(JdbcTemplate.class));
+		saldoUsuarioService.recalcular(idUsuario);
+	}
+	
+	@TearDown(Level.Trial)
+	public void encerrar() {
+		contexto.close();
+	}
+	
+	private void popular(JdbcTemplate jdbcTemplate) {
+		
+		String insert = "insert into financas.lancamento (id, descricao, mes, ano, valor, tipo, status, id_usuario, data_cadastro) "
+				+ "values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+		Date hoje = Date.valueOf(LocalDate.now());
+		List<Object[]> lote = new ArrayList<>(LOTE_INSERCAO);
+		for(long i = 1; i <= linhas; i++)
+		{
+			lote.add(new Object[] {
+					i,
+					i % 1000 == 0 ? "aluguel " + i : "lancamento " + i,
+					(int) (i % 12) + 1,
+					2015 + (int) (i / 12 % ANOS),
+					BigDecimal.valueOf(i % 5000, 2),
+					i % 2 == 0 ? TipoLancamento.RECEITA.name() : TipoLancamento.DESPESA.name(),
+					i % 3 == 0 ? StatusLancamento.PENDENTE.name() : StatusLancamento.EFETIVADO.name(),
+					idUsuario,
+					hoje });
+			if(lote.size() == LOTE_INSERCAO)
+			{
+				jdbcTemplate.batchUpdate(insert, lote);
+				lote.clear();
+			}
+		}
+		if(!lote.isEmpty())
+		{
+			jdbcTemplate.batchUpdate(insert, lote);
+		}
+	}
+	
+	@Benchmark
+	public SaldoUsuario obterSaldoPorUsuario() {
+		return saldoUsuarioService.obterPorUsuario(idUsuario).get();
+	}
+	
+	@Benchmark
+	public Saldo obterSaldoDoMes() {
+		return repository.obterSaldoConsolidado(idUsuario, 2020, 6, null, TipoLancamento.RECEITA, TipoLancamento.DESPESA);
+	}
+	
+	@Benchmark
+	public BigDecimal obterSaldoPorUsuarioEmCache() {
+		return service.obterSaldoPorUsuario(idUsuario);
+	}
+	
+	@Benchmark
+	public List<ResumoLancamento> buscarPorPeriodo() {
+		return service.buscar(FiltroLancamento.builder().idUsuario(idUsuario).ano(2020).mes(6).build());
+	}
+	
+	@Benchmark
+	public List<ResumoLancamento> buscarPorPeriodoTipoEStatus() {
+		return service.buscar(FiltroLancamento.builder().idUsuario(idUsuario).ano(2020).mes(6)
+				.tipo(TipoLancamento.RECEITA).status(StatusLancamento.PENDENTE).build());
+	}
+	
+	@Benchmark
+	public List<ResumoLancamento> buscarPorDescricao() {
+		return service.buscar(FiltroLancamento.builder().idUsuario(idUsuario).descricao("aluguel").build());
+	}
+	
+	@Benchmark
+	public List<ResumoLancamento> buscarPorFaixaDeValor() {
+		return service.buscar(FiltroLancamento.builder().idUsuario(idUsuario).ano(2020)
+				.valorMinimo(new BigDecimal("10.00")).valorMaximo(new BigDecimal("10.50")).build());
+	}
+	
+}
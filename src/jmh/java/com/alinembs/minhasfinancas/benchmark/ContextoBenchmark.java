@@ -0,0 +1,56 @@
+package com.alinembs.minhasfinancas.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.alinembs.minhasfinancas.MinhasfinancasApplication;
+
+/**
+ * Sobe a aplicação no perfil de teste (H2 em memória) para os benchmarks.
+ * Se {@code url} for informada, usa esse banco no lugar do H2 — pensado para um
+ * PostgreSQL descartável, já que o esquema é recriado a cada execução.
+ */
+final class ContextoBenchmark {
+
+	private ContextoBenchmark() {
+	}
+	
+	static ConfigurableApplicationContext iniciar(String url, Map<String, Object> propriedades) {
+		return iniciar(url, propriedades, WebApplicationType.NONE);
+	}
+	
+	/** Como {@link #iniciar(String, Map)}, mas com o Tomcat ouvindo em uma porta livre. */
+	static ConfigurableApplicationContext iniciarServidor(String url, Map<String, Object> propriedades) {
+		Map<String, Object> configuracao = new HashMap<>(propriedades);
+		configuracao.putIfAbsent("server.port", "0");
+		return iniciar(url, configuracao, WebApplicationType.SERVLET);
+	}
+	
+	private static ConfigurableApplicationContext iniciar(String url, Map<String, Object> propriedades, WebApplicationType tipo) {
+		
+		Map<String, Object> configuracao = new HashMap<>();
+		configuracao.put("spring.jpa.show-sql", "false");
+		configuracao.put("logging.level.root", "warn");
+		if(url != null && !url.isBlank())
+		{
+			configuracao.put("spring.datasource.url", url);
+			configuracao.put("spring.datasource.driver-class-name", "org.postgresql.Driver");
+			configuracao.put("spring.datasource.username", System.getProperty("benchmark.usuario", "postgres"));
+			configuracao.put("spring.datasource.password", System.getProperty("benchmark.senha", "postgres"));
+			configuracao.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+			configuracao.put("spring.jpa.properties.hibernate.hbm2ddl.create_namespaces", "true");
+		}
+		configuracao.putAll(propriedades);
+		
+		return new SpringApplicationBuilder(MinhasfinancasApplication.class)
+				.web(tipo)
+				.profiles("test")
+				.properties(configuracao)
+				.run();
+	}
+	
+}
@@ -0,0 +1,99 @@
+package com.alinembs.minhasfinancas.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.alinembs.minhasfinancas.model.entity.Lancamento;
+import com.alinembs.minhasfinancas.model.entity.Usuario;
+import com.alinembs.minhasfinancas.model.enums.TipoLancamento;
+import com.alinembs.minhasfinancas.model.repository.UsuarioRepository;
+import com.alinembs.minhasfinancas.service.LancamentoService;
+import com.alinembs.minhasfinancas.service.importacao.LinhaImportacao;
+import com.alinembs.minhasfinancas.service.importacao.ResultadoImportacao;
+
+/**
+ * Vazão de inserção de lançamentos pela importação em lote.
+ * <p>
+ * O cenário "antes" (alocacao=1, lote=1) reproduz o custo do IDENTITY: uma ida ao
+ * banco para o id e um INSERT por linha. O "depois" (alocacao=50, lote=50) usa a
+ * sequência agrupada com INSERTs em lote.
+ * <p>
+ * Para rodar contra um PostgreSQL local: {@code -Djmh.args="InsercaoLancamento -p url=jdbc:postgresql://localhost:5432/benchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class InsercaoLancamentoBenchmark {
+
+	static final int LINHAS = 1000;
+	
+	@Param({"1", "50"})
+	public int alocacao;
+	
+	@Param({"1", "50"})
+	public int lote;
+	
+	@Param("")
+	public String url;
+	
+	private ConfigurableApplicationContext contexto;
+	private LancamentoService service;
+	private Usuario usuario;
+	
+	@Setup(Level.Trial)
+	public void iniciar() {
+		contexto = ContextoBenchmark.iniciar(url, Map.of(
+				"minhasfinancas.id.tamanho-alocacao", alocacao,
+				"spring.jpa.properties.hibernate.jdbc.batch_size", lote));
+		service = contexto.getBean(LancamentoService.class);
+		usuario = contexto.getBean(UsuarioRepository.class)
+				.save(Usuario.builder().nome("benchmark").email("benchmark@email.com").senha("senha").build());
+	}
+	
+	@TearDown(Level.Trial)
+	public void encerrar() {
+		contexto.close();
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(LINHAS)
+	public ResultadoImportacao importar() {
+		
+		List<LinhaImportacao> linhas = new ArrayList<>(LINHAS);
+		for(int i = 1; i <= LINHAS; i++)
+		{
+			Lancamento lancamento = Lancamento.builder()
+					.descricao("lancamento " + i)
+					.ano(2024)
+					.mes(1 + i % 12)
+					.valor(BigDecimal.valueOf(i))
+					.tipo(i % 2 == 0 ? TipoLancamento.RECEITA : TipoLancamento.DESPESA)
+					.build();
+			linhas.add(LinhaImportacao.valida(i, lancamento));
+		}
+		return service.importar(usuario, linhas);
+	}
+	
+}
@@ -0,0 +1,107 @@
+package com.alinembs.minhasfinancas.benchmark;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.alinembs.minhasfinancas.model.entity.Lancamento;
+import com.alinembs.minhasfinancas.model.entity.Usuario;
+import com.alinembs.minhasfinancas.model.enums.TipoLancamento;
+import com.alinembs.minhasfinancas.model.repository.UsuarioRepository;
+import com.alinembs.minhasfinancas.service.LancamentoService;
+
+/**
+ * Vazão do endpoint de busca de lançamentos com mais clientes simultâneos do que
+ * threads no Tomcat, comparando o pool de threads de plataforma com threads virtuais.
+ * <p>
+ * {@code threadsVirtuais=true} só tem efeito quando o benchmark roda em Java 21
+ * (mvn -Pjmh,threads-virtuais ...); em Java 17 os dois modos usam o pool do Tomcat.
+ * Com {@code url} apontando para um PostgreSQL a espera de I/O do JDBC é real,
+ * e a diferença entre os modos fica visível.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Threads(400)
+public class RequisicaoHttpBenchmark {
+
+	@Param({"false", "true"})
+	public boolean threadsVirtuais;
+	
+	@Param("50")
+	public int threadsTomcat;
+	
+	@Param("20")
+	public int conexoes;
+	
+	@Param("")
+	public String url;
+	
+	private ConfigurableApplicationContext contexto;
+	private HttpClient cliente;
+	private HttpRequest requisicao;
+	
+	@Setup(Level.Trial)
+	public void iniciar() {
+		Map<String, Object> propriedades = new HashMap<>();
+		propriedades.put("spring.threads.virtual.enabled", String.valueOf(threadsVirtuais));
+		propriedades.put("server.tomcat.threads.max", String.valueOf(threadsTomcat));
+		propriedades.put("server.tomcat.max-connections", "10000");
+		propriedades.put("spring.datasource.hikari.maximum-pool-size", String.valueOf(conexoes));
+		propriedades.put("minhasfinancas.sql.falhar-ao-exceder", "false");
+		contexto = ContextoBenchmark.iniciarServidor(url, propriedades);
+		
+		Usuario usuario = contexto.getBean(UsuarioRepository.class)
+				.save(Usuario.builder().nome("benchmark").email("benchmark@email.com").senha("senha").build());
+		LancamentoService service = contexto.getBean(LancamentoService.class);
+		for(int mes = 1; mes <= 12; mes++)
+		{
+			for(int i = 0; i < 20; i++)
+			{
+				service.salvar(Lancamento.builder().descricao("lancamento " + i).ano(2024).mes(mes)
+						.valor(BigDecimal.TEN).tipo(TipoLancamento.DESPESA).usuario(usuario).build());
+			}
+		}
+		
+		int porta = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+		cliente = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+		requisicao = HttpRequest.newBuilder(URI.create("http://localhost:" + porta
+				+ "/api/lancamentos?usuario=" + usuario.getId() + "&ano=2024&mes=6")).GET().build();
+	}
+	
+	@TearDown(Level.Trial)
+	public void encerrar() {
+		contexto.close();
+	}
+	
+	@Benchmark
+	public int buscarLancamentos() throws Exception {
+		return cliente.send(requisicao, HttpResponse.BodyHandlers.discarding()).statusCode();
+	}
+	
+}
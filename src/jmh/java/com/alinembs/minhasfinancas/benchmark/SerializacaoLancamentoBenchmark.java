@@ -0,0 +1,74 @@
+package com.alinembs.minhasfinancas.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.alinembs.minhasfinancas.model.entity.Lancamento;
+import com.alinembs.minhasfinancas.model.entity.Usuario;
+import com.alinembs.minhasfinancas.model.enums.StatusLancamento;
+import com.alinembs.minhasfinancas.model.enums.TipoLancamento;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Serialização JSON de listas de lançamentos com a mesma configuração do
+ * ObjectMapper que o Spring MVC usa nas respostas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializacaoLancamentoBenchmark {
+
+	@Param({"10", "1000", "100000"})
+	public int tamanho;
+	
+	private ObjectMapper objectMapper;
+	private List<Lancamento> lancamentos;
+	
+	@Setup
+	public void iniciar() {
+		objectMapper = Jackson2ObjectMapperBuilder.json().build();
+		Usuario usuario = Usuario.builder().id(1l).nome("usuario").email("usuario@email.com").senha("senha").build();
+		lancamentos = new ArrayList<>(tamanho);
+		for(int i = 1; i <= tamanho; i++)
+		{
+			lancamentos.add(Lancamento.builder()
+					.id((long) i)
+					.descricao("lancamento " + i)
+					.ano(2024)
+					.mes(1 + i % 12)
+					.valor(BigDecimal.valueOf(i, 2))
+					.tipo(TipoLancamento.DESPESA)
+					.status(StatusLancamento.PENDENTE)
+					.dataCadastro(LocalDate.of(2024, 1, 1))
+					.usuario(usuario)
+					.build());
+		}
+	}
+	
+	@Benchmark
+	public void serializar() throws IOException {
+		objectMapper.writeValue(OutputStream.nullOutputStream(), lancamentos);
+	}
+	
+}
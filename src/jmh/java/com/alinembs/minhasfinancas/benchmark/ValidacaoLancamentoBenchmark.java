@@ -0,0 +1,72 @@
+package com.alinembs.minhasfinancas.benchmark;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.alinembs.minhasfinancas.exception.RegraNegocioException;
+import com.alinembs.minhasfinancas.model.entity.Lancamento;
+import com.alinembs.minhasfinancas.model.entity.Usuario;
+import com.alinembs.minhasfinancas.model.enums.TipoLancamento;
+import com.alinembs.minhasfinancas.service.impl.LancamentoServiceImp;
+
+/**
+ * Custo de {@link LancamentoServiceImp#validar} para um lançamento válido e para
+ * um rejeitado, que inclui a criação da {@link RegraNegocioException}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidacaoLancamentoBenchmark {
+
+	private LancamentoServiceImp service;
+	private Lancamento valido;
+	private Lancamento invalido;
+	
+	@Setup
+	public void iniciar() {
+		service = new LancamentoServiceImp(null, null, null, null, null, null, null, null, null, 100, 50);
+		valido = Lancamento.builder()
+				.descricao("lancamento")
+				.ano(2024)
+				.mes(1)
+				.valor(BigDecimal.TEN)
+				.tipo(TipoLancamento.RECEITA)
+				.usuario(Usuario.builder().id(1l).build())
+				.build();
+		invalido = Lancamento.builder()
+				.descricao("lancamento")
+				.ano(2024)
+				.mes(13)
+				.build();
+	}
+	
+	@Benchmark
+	public void validarLancamentoValido() {
+		service.validar(valido);
+	}
+	
+	@Benchmark
+	public void validarLancamentoInvalido(Blackhole blackhole) {
+		try {
+			service.validar(invalido);
+		}catch(RegraNegocioException e) {
+			blackhole.consume(e);
+		}
+	}
+	
+}
@@ -0,0 +1,67 @@
+package com.alinembs.minhasfinancas.benchmark;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.alinembs.minhasfinancas.senha.VerificacaoSenha;
+import com.alinembs.minhasfinancas.senha.VerificadorSenhas;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Logins por segundo que o {@link VerificadorSenhas} sustenta em cada custo do BCrypt,
+ * com mais requisições simultâneas do que threads no pool. Para escolher
+ * {@code minhasfinancas.senha.bcrypt.custo}:
+ * {@code mvn -Pjmh test-compile exec:exec -Djmh.args="VerificacaoSenha -p custo=10,11,12"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Threads(16)
+@Fork(1)
+public class VerificacaoSenhaBenchmark {
+
+	@Param({ "8", "10", "12" })
+	private int custo;
+	
+	// 0 usa um thread por processador, como na aplicacao.
+	@Param("0")
+	private int threads;
+	
+	private VerificadorSenhas verificador;
+	private String armazenada;
+	
+	@Setup
+	public void iniciar() {
+		// Fila do tamanho do numero de threads do benchmark: mede vazao, nao rejeicao.
+		verificador = new VerificadorSenhas(new SimpleMeterRegistry(), custo, threads, 16, Duration.ofMinutes(1));
+		armazenada = verificador.codificar("senha-do-usuario").join();
+	}
+	
+	@TearDown
+	public void encerrar() {
+		verificador.encerrar();
+	}
+	
+	@Benchmark
+	public VerificacaoSenha autenticar() {
+		return verificador.verificar("senha-do-usuario", armazenada).join();
+	}
+	
+}
@@ -0,0 +1,23 @@
+package com.alinembs.minhasfinancas.api.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Informe os ids ou o periodo (ano, mes e tipo opcionais) dos lancamentos do usuario.
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class AtualizaStatusLoteDTO {
+
+	private Long usuario;
+	private List<Long> ids;
+	private Integer ano;
+	private Integer mes;
+	private String tipo;
+	private String status;
+}
@@ -0,0 +1,19 @@
+package com.alinembs.minhasfinancas.api.dto;
+
+import java.time.Instant;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+
+public class AutenticacaoDTO {
+	
+	private Long id;
+	private String nome;
+	private String email;
+	private String token;
+	private Instant expiraEm;
+
+}
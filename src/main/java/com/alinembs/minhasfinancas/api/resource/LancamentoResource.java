@@ -1,9 +1,20 @@
 package com.alinembs.minhasfinancas.api.resource;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,21 +22,42 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.alinembs.minhasfinancas.api.dto.AtualizaStatusDTO;
+import com.alinembs.minhasfinancas.api.dto.AtualizaStatusLoteDTO;
 import com.alinembs.minhasfinancas.api.dto.LancamentoDTO;
+import com.alinembs.minhasfinancas.cache.VersaoDadosUsuario;
+import com.alinembs.minhasfinancas.datasource.LeituraAposEscrita;
+import com.alinembs.minhasfinancas.model.consulta.CursorLancamento;
+import com.alinembs.minhasfinancas.model.consulta.FiltroLancamento;
+import com.alinembs.minhasfinancas.model.consulta.Pagina;
+import com.alinembs.minhasfinancas.model.consulta.ResumoLancamento;
 import com.alinembs.minhasfinancas.model.entity.Lancamento;
 import com.alinembs.minhasfinancas.model.entity.Usuario;
 import com.alinembs.minhasfinancas.model.enums.StatusLancamento;
 import com.alinembs.minhasfinancas.model.enums.TipoLancamento;
 import com.alinembs.minhasfinancas.service.LancamentoService;
 import com.alinembs.minhasfinancas.service.UsuarioService;
+import com.alinembs.minhasfinancas.service.exportacao.EscritorExportacao;
+import com.alinembs.minhasfinancas.service.exportacao.FormatoExportacao;
+import com.alinembs.minhasfinancas.service.importacao.LeitorCsv;
+import com.alinembs.minhasfinancas.service.importacao.LeitorOfx;
+import com.alinembs.minhasfinancas.service.importacao.LinhaImportacao;
+import com.alinembs.minhasfinancas.service.importacao.ResultadoImportacao;
+import com.alinembs.minhasfinancas.token.UsuarioAutenticado;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
 
 import lombok.RequiredArgsConstructor;
 
+import com.alinembs.minhasfinancas.exception.ErroAcessoNegado;
 import com.alinembs.minhasfinancas.exception.RegraNegocioException;
 @RestController
 @RequestMapping("/api/lancamentos")
@@ -36,6 +68,12 @@ public class LancamentoResource {
 	
 	private  final UsuarioService usuarioservice;
 	
+	private final ObjectMapper objectMapper;
+	
+	private final VersaoDadosUsuario versaoDados;
+	
+	private final LeituraAposEscrita leituraAposEscrita;
+	
 //	public LancamentoResource(LancamentoService service,UsuarioService usuarioservice ) {
 //		
 //		this.service = service;
@@ -46,58 +84,313 @@ public class LancamentoResource {
 	public ResponseEntity buscar(
 			
 //			@RequestParam java.util.Map<String, String> paramns
-			@RequestParam(value  = "descricao", required = false) String descricao,
-			@RequestParam(value  ="mes", required = false) Integer mes,
-			@RequestParam(value  ="ano", required = false) Integer ano,
-			@RequestParam("usuario") Long idUsuario
+			@RequestParam(value = "usuario", required = false) Long idUsuario,
+			FiltroLancamento filtro,
+			@UsuarioAutenticado Long autenticado,
+			WebRequest requisicao
 			) {
-		Lancamento lancamentoFiltro = new Lancamento();
-		lancamentoFiltro.setDescricao(descricao);
-		lancamentoFiltro.setAno(ano);
-		lancamentoFiltro.setMes(mes);
+		if(acessoNegado(idUsuario, autenticado)) {
+			return proibido();
+		}
+		if(naoModificado(requisicao, autenticado != null ? autenticado : idUsuario)) {
+			return null;
+		}
+		Optional<FiltroLancamento> lancamentoFiltro = montarFiltro(filtro, idUsuario, autenticado);
+		if(!lancamentoFiltro.isPresent()) {
+			return ResponseEntity.badRequest().body("Não foi possivel realizar a consulta. Usuário não encontra para o Id.");
+			
+		}
 		
-		Optional<Usuario> usuario = usuarioservice.obterPorId(idUsuario);
-		if(!usuario.isPresent()) {
+		List<ResumoLancamento> lancamentos = leituraAposEscrita.executar(lancamentoFiltro.get().getIdUsuario(), () -> service.buscar(lancamentoFiltro.get()));
+		return ResponseEntity.ok(lancamentos);
+	}
+	
+	@GetMapping("/pagina")
+	public ResponseEntity buscarPagina(
+			@RequestParam(value = "usuario", required = false) Long idUsuario,
+			FiltroLancamento filtro,
+			@RequestParam(value = "cursor", required = false) String cursor,
+			@RequestParam(value = "tamanho", defaultValue = "20") int tamanho,
+			@UsuarioAutenticado Long autenticado,
+			WebRequest requisicao
+			) {
+		if(acessoNegado(idUsuario, autenticado)) {
+			return proibido();
+		}
+		if(naoModificado(requisicao, autenticado != null ? autenticado : idUsuario)) {
+			return null;
+		}
+		Optional<FiltroLancamento> lancamentoFiltro = montarFiltro(filtro, idUsuario, autenticado);
+		if(!lancamentoFiltro.isPresent()) {
 			return ResponseEntity.badRequest().body("Não foi possivel realizar a consulta. Usuário não encontra para o Id.");
 			
 		}
-		else
-		{
+		try {
+			Pagina<ResumoLancamento> pagina = leituraAposEscrita.executar(lancamentoFiltro.get().getIdUsuario(), () -> service.buscarPagina(lancamentoFiltro.get(), CursorLancamento.de(cursor), tamanho));
+			return ResponseEntity.ok(pagina);
+		}catch(RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+	
+	@GetMapping("/stream")
+	public ResponseEntity<StreamingResponseBody> buscarStream(
+			@RequestParam(value = "usuario", required = false) Long idUsuario,
+			FiltroLancamento filtro,
+			@UsuarioAutenticado Long autenticado
+			) {
+		if(acessoNegado(idUsuario, autenticado)) {
+			return new ResponseEntity(HttpStatus.FORBIDDEN);
+		}
+		Optional<FiltroLancamento> lancamentoFiltro = montarFiltro(filtro, idUsuario, autenticado);
+		if(!lancamentoFiltro.isPresent()) {
+			return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN)
+					.body(saida -> saida.write("Não foi possivel realizar a consulta. Usuário não encontra para o Id.".getBytes(StandardCharsets.UTF_8)));
 			
-			lancamentoFiltro.setUsuario(usuario.get());
 		}
 		
-		List<Lancamento> lancamentos = service.buscar(lancamentoFiltro);
-		return ResponseEntity.ok(lancamentos);
+		StreamingResponseBody corpo = saida -> {
+			try(SequenceWriter escritor = objectMapper.writer().withRootValueSeparator("\n").writeValues(saida)) {
+				service.percorrer(lancamentoFiltro.get(), lancamento -> {
+					try {
+						escritor.write(lancamento);
+					}catch(IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				});
+			}
+		};
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(corpo);
+	}
+	
+	@GetMapping("/export")
+	public ResponseEntity<StreamingResponseBody> exportar(
+			@RequestParam(value = "usuario", required = false) Long idUsuario,
+			FiltroLancamento filtro,
+			@RequestParam(value = "formato", defaultValue = "csv") String formato,
+			@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String codificacoesAceitas,
+			@UsuarioAutenticado Long autenticado
+			) {
+		if(acessoNegado(idUsuario, autenticado)) {
+			return new ResponseEntity(HttpStatus.FORBIDDEN);
+		}
+		FormatoExportacao formatoSelecionado;
+		try {
+			formatoSelecionado = FormatoExportacao.de(formato);
+		}catch(RegraNegocioException e) {
+			return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN)
+					.body(saida -> saida.write(e.getMessage().getBytes(StandardCharsets.UTF_8)));
+		}
+		Optional<FiltroLancamento> lancamentoFiltro = montarFiltro(filtro, idUsuario, autenticado);
+		if(!lancamentoFiltro.isPresent()) {
+			return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN)
+					.body(saida -> saida.write("Não foi possivel realizar a consulta. Usuário não encontra para o Id.".getBytes(StandardCharsets.UTF_8)));
+		}
+		
+		boolean comprimir = formatoSelecionado.isCompressivel() && aceitaGzip(codificacoesAceitas);
+		// Cada linha lida pelo cursor vai direto para a resposta; nada do arquivo fica em memoria.
+		StreamingResponseBody corpo = saida -> {
+			OutputStream destino = comprimir ? new GZIPOutputStream(saida, 8192) : saida;
+			try(EscritorExportacao escritor = formatoSelecionado.criarEscritor(destino, objectMapper)) {
+				service.percorrer(lancamentoFiltro.get(), lancamento -> {
+					try {
+						escritor.escrever(lancamento);
+					}catch(IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				});
+			}
+		};
+		String nome = "lancamentos" + (filtro.getAno() == null ? "" : "-" + filtro.getAno()) + "." + formatoSelecionado.getExtensao();
+		ResponseEntity.BodyBuilder resposta = ResponseEntity.ok()
+				.contentType(MediaType.parseMediaType(formatoSelecionado.getTipoConteudo()))
+				.header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(nome).build().toString())
+				.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+		if(comprimir)
+		{
+			resposta.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+		}
+		return resposta.body(corpo);
+	}
+	
+	private boolean aceitaGzip(String codificacoesAceitas) {
+		if(codificacoesAceitas == null)
+		{
+			return false;
+		}
+		for(String codificacao : codificacoesAceitas.split(","))
+		{
+			String[] partes = codificacao.trim().split(";");
+			String nome = partes[0].trim();
+			boolean recusada = partes.length > 1 && partes[1].replace(" ", "").matches("q=0(\\.0*)?");
+			if((nome.equalsIgnoreCase("gzip") || nome.equals("*")) && !recusada)
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	@GetMapping("/pesquisa")
+	public ResponseEntity pesquisar(
+			@RequestParam(value = "usuario", required = false) Long idUsuario,
+			@RequestParam("termo") String termo,
+			@RequestParam(value = "limite", defaultValue = "20") int limite,
+			@UsuarioAutenticado Long autenticado
+			) {
+		if(acessoNegado(idUsuario, autenticado)) {
+			return proibido();
+		}
+		Optional<Long> usuario = usuarioValido(idUsuario, autenticado);
+		if(!usuario.isPresent()) {
+			return ResponseEntity.badRequest().body("Não foi possivel realizar a consulta. Usuário não encontra para o Id.");
+		}
+		
+		try {
+			List<ResumoLancamento> lancamentos = service.pesquisar(usuario.get(), termo, limite);
+			return ResponseEntity.ok(lancamentos);
+		}catch(RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+	
+	// descricao, mes, ano, tipo, status, valorMinimo e valorMaximo chegam pelos parametros de mesmo nome.
+	private Optional<FiltroLancamento> montarFiltro(FiltroLancamento filtro, Long idUsuario, Long autenticado) {
+		
+		return usuarioValido(idUsuario, autenticado).map( id -> {
+			filtro.setIdUsuario(id);
+			return filtro;
+		});
+	}
+	
+	// Com token o usuario ja foi conferido pela assinatura; sem token, mantem a consulta ao banco.
+	private Optional<Long> usuarioValido(Long idUsuario, Long autenticado) {
+		if(autenticado != null)
+		{
+			return Optional.of(autenticado);
+		}
+		if(idUsuario == null)
+		{
+			return Optional.empty();
+		}
+		return usuarioservice.obterPorId(idUsuario).map(Usuario::getId);
+	}
+	
+	// Com If-None-Match igual a versao dos dados do usuario responde 304 sem consultar nada.
+	// A versao avanca no primario; logo apos uma escrita a resposta que a leva e lida de la.
+	private boolean naoModificado(WebRequest requisicao, Long idUsuario) {
+		return idUsuario != null && requisicao.checkNotModified(versaoDados.etag(idUsuario));
+	}
+	
+	private boolean acessoNegado(Long idUsuario, Long autenticado) {
+		return autenticado != null && idUsuario != null && !idUsuario.equals(autenticado);
+	}
+	
+	private ResponseEntity proibido() {
+		return new ResponseEntity("Acesso negado aos lançamentos de outro usuário.", HttpStatus.FORBIDDEN);
 	}
 		
 
 	
 	@PostMapping
-	public ResponseEntity salvar( @RequestBody LancamentoDTO dto  ) {
+	public ResponseEntity salvar( @RequestBody LancamentoDTO dto, @UsuarioAutenticado Long autenticado) {
+		if(acessoNegado(dto.getUsuario(), autenticado)) {
+			return proibido();
+		}
 		try {	
-		Lancamento entidade = converter(dto);
+		Lancamento entidade = converter(dto, autenticado);
 		service.salvar(entidade);
-		return new ResponseEntity(entidade,HttpStatus.CREATED);
+		return new ResponseEntity(ResumoLancamento.de(entidade),HttpStatus.CREATED);
 	}catch(RegraNegocioException e)
 		{
 		return ResponseEntity.badRequest().body(e.getMessage());
 		}
 	} 
 	
+	@PostMapping("/importacao")
+	public ResponseEntity importar( @RequestParam(value = "usuario", required = false) Long idUsuario, @RequestBody List<LancamentoDTO> dtos,
+			@UsuarioAutenticado Long autenticado) {
+		if(acessoNegado(idUsuario, autenticado)) {
+			return proibido();
+		}
+		
+		List<LinhaImportacao> linhas = new ArrayList<>();
+		for(int i = 0; i < dtos.size(); i++)
+		{
+			try {
+				linhas.add(LinhaImportacao.valida(i + 1, preencher(dtos.get(i))));
+			}catch(IllegalArgumentException e) {
+				linhas.add(LinhaImportacao.invalida(i + 1, "Tipo ou status de lancamento inválido."));
+			}
+		}
+		return importarLinhas(idUsuario, autenticado, linhas);
+	}
+	
+	@PostMapping(value = "/importacao/arquivo", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+	public ResponseEntity importarArquivo( @RequestParam(value = "usuario", required = false) Long idUsuario, @RequestParam("arquivo") MultipartFile arquivo,
+			@UsuarioAutenticado Long autenticado) throws IOException {
+		if(acessoNegado(idUsuario, autenticado)) {
+			return proibido();
+		}
+		
+		String nome = arquivo.getOriginalFilename() == null ? "" : arquivo.getOriginalFilename().toLowerCase();
+		try(InputStream entrada = arquivo.getInputStream()) {
+			if(nome.endsWith(".ofx"))
+			{
+				return importarLinhas(idUsuario, autenticado, new LeitorOfx().ler(entrada));
+			}
+			if(nome.endsWith(".csv"))
+			{
+				return importarLinhas(idUsuario, autenticado, new LeitorCsv().ler(entrada));
+			}
+		}catch(RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+		return ResponseEntity.badRequest().body("Formato de arquivo não suportado. Envie um arquivo .csv ou .ofx.");
+	}
+	
+	private ResponseEntity importarLinhas(Long idUsuario, Long autenticado, List<LinhaImportacao> linhas) {
+		
+		Optional<Long> usuario = usuarioValido(idUsuario, autenticado);
+		if(!usuario.isPresent()) {
+			return ResponseEntity.badRequest().body("Usuário não encontrado para o ID informado!");
+		}
+		ResultadoImportacao resultado = service.importar(Usuario.builder().id(usuario.get()).build(), linhas);
+		return ResponseEntity.ok(resultado);
+	}
+	
+	@GetMapping("{id}")
+	public ResponseEntity obter( @PathVariable("id") Long id, @UsuarioAutenticado Long autenticado) {
+		return service.obterPorId(id)
+				.map( entity -> acessoNegado(entity.getUsuario().getId(), autenticado) ? proibido() : ResponseEntity.ok().eTag(String.valueOf(entity.getVersao())).body(ResumoLancamento.de(entity)))
+				.orElseGet( () -> new ResponseEntity("Lancamento não encontrado na Base de Dados", HttpStatus.NOT_FOUND));
+	}
+	
 	@PutMapping("{id}")
-	public ResponseEntity atualizar( @PathVariable("id") Long id, @RequestBody LancamentoDTO dto) {
+	public ResponseEntity atualizar( @PathVariable("id") Long id, @RequestBody LancamentoDTO dto,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+			@UsuarioAutenticado Long autenticado) {
+		if(acessoNegado(dto.getUsuario(), autenticado)) {
+			return proibido();
+		}
 		return service.obterPorId(id).map( entity -> {
+			if(acessoNegado(entity.getUsuario().getId(), autenticado)) {
+				return proibido();
+			}
 			try {
 				
-				Lancamento lancamento = converter(dto);
+				Lancamento lancamento = converter(dto, autenticado);
 			lancamento.setId(entity.getId());
-			service.atualizar(lancamento);
-			return ResponseEntity.ok(lancamento);
+			Long versaoInformada = versaoInformada(ifMatch);
+			lancamento.setVersao(versaoInformada == null ? entity.getVersao() : versaoInformada);
+			Lancamento salvo = service.atualizar(lancamento);
+			return ResponseEntity.ok().eTag(String.valueOf(salvo.getVersao())).body(ResumoLancamento.de(salvo));
 				
 			}catch(RegraNegocioException e) {
 				
 				return ResponseEntity.badRequest().body(e.getMessage());
+			}catch(OptimisticLockingFailureException e) {
+				return conflito(ifMatch);
 			}
 			
 			
@@ -105,32 +398,100 @@ public class LancamentoResource {
 						
 	}
 	@PutMapping("{id}/atualizar-status")
-	public ResponseEntity atualizarStatus(@PathVariable("id") Long id, @RequestBody AtualizaStatusDTO dto)
+	public ResponseEntity atualizarStatus(@PathVariable("id") Long id, @RequestBody AtualizaStatusDTO dto,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+			@UsuarioAutenticado Long autenticado)
 	{
-		return service.obterPorId(id).map( entity -> {
-			StatusLancamento statusSelecionado = StatusLancamento.valueOf(dto.getStatus());
-			if(statusSelecionado == null)
-			{
-				return ResponseEntity.badRequest().body("Não foi possivel atualizar o status do alncamento, envie um status válido");
-			}
-			try {
-			entity.setStatus(statusSelecionado);
-			service.atualizar(entity);
-			return ResponseEntity.ok(entity);}
-			catch(RegraNegocioException e) {
-				
-				return ResponseEntity.badRequest().body(e.getMessage());
-			}	
+		StatusLancamento statusSelecionado;
+		try {
+			statusSelecionado = StatusLancamento.valueOf(dto.getStatus());
+		}catch(IllegalArgumentException | NullPointerException e) {
+			return ResponseEntity.badRequest().body("Não foi possivel atualizar o status do alncamento, envie um status válido");
+		}
+		try {
+			return service.atualizarStatus(id, autenticado, statusSelecionado, versaoInformada(ifMatch))
+					.map( lancamento -> ResponseEntity.ok().eTag(String.valueOf(lancamento.getVersao())).body(ResumoLancamento.de(lancamento)))
+					.orElseGet( () -> new ResponseEntity("Lancamento não encontrado na Base de Dados", HttpStatus.BAD_REQUEST));
+		}catch(RegraNegocioException e) {
 			
-		}).orElseGet( () -> new ResponseEntity("Lancamento não encontrado na Base de Dados", HttpStatus.BAD_REQUEST));
-				
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}catch(ErroAcessoNegado e) {
+			return proibido();
+		}catch(OptimisticLockingFailureException e) {
+			return conflito(ifMatch);
+		}
 		
 	}
 	
+	@PutMapping("/atualizar-status")
+	public ResponseEntity atualizarStatusEmLote(@RequestBody AtualizaStatusLoteDTO dto, @UsuarioAutenticado Long autenticado)
+	{
+		if(acessoNegado(dto.getUsuario(), autenticado)) {
+			return proibido();
+		}
+		if(autenticado != null)
+		{
+			dto.setUsuario(autenticado);
+		}
+		if(dto.getUsuario() == null || dto.getStatus() == null)
+		{
+			return ResponseEntity.badRequest().body("Informe o usuário e o status dos lançamentos.");
+		}
+		try {
+			StatusLancamento status = StatusLancamento.valueOf(dto.getStatus());
+			int atualizados;
+			if(dto.getIds() != null && !dto.getIds().isEmpty())
+			{
+				atualizados = service.atualizarStatusEmLote(dto.getUsuario(), dto.getIds(), status);
+			}
+			else
+			{
+				FiltroLancamento filtro = FiltroLancamento.builder()
+						.idUsuario(dto.getUsuario())
+						.ano(dto.getAno())
+						.mes(dto.getMes())
+						.tipo(dto.getTipo() == null ? null : TipoLancamento.valueOf(dto.getTipo()))
+						.build();
+				atualizados = service.atualizarStatusEmLote(filtro, status);
+			}
+			return ResponseEntity.ok(atualizados);
+		}catch(IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body("Status ou tipo de lançamento inválido.");
+		}catch(OptimisticLockingFailureException e) {
+			return conflito(null);
+		}
+	}
+	
+	// ETag do lancamento e a sua versao; "*" ou a ausencia do cabecalho aceitam qualquer versao.
+	private Long versaoInformada(String ifMatch) {
+		if(ifMatch == null || ifMatch.trim().equals("*"))
+		{
+			return null;
+		}
+		String etag = ifMatch.trim();
+		if(etag.startsWith("W/"))
+		{
+			etag = etag.substring(2);
+		}
+		try {
+			return Long.valueOf(etag.replace("\"", ""));
+		}catch(NumberFormatException e) {
+			throw new RegraNegocioException("Cabeçalho If-Match inválido.");
+		}
+	}
+	
+	private ResponseEntity conflito(String ifMatch) {
+		HttpStatus status = ifMatch == null ? HttpStatus.CONFLICT : HttpStatus.PRECONDITION_FAILED;
+		return new ResponseEntity("Lançamento alterado por outra requisição. Consulte-o novamente antes de alterar.", status);
+	}
+	
 	@DeleteMapping("{id}")
-	public ResponseEntity deletar( @PathVariable("id") Long id)
+	public ResponseEntity deletar( @PathVariable("id") Long id, @UsuarioAutenticado Long autenticado)
 	{
 		return service.obterPorId(id).map( entity -> {
+			if(acessoNegado(entity.getUsuario().getId(), autenticado)) {
+				return proibido();
+			}
 			service.deletar(entity);
 			return new ResponseEntity(HttpStatus.NO_CONTENT);
 			
@@ -140,7 +501,18 @@ public class LancamentoResource {
 	
 	
 	
-	private Lancamento converter(LancamentoDTO dto) {
+	private Lancamento converter(LancamentoDTO dto, Long autenticado) {
+		
+		Lancamento lancamento = preencher(dto);
+		
+		Long idUsuario = usuarioValido(dto.getUsuario(), autenticado)
+		.orElseThrow( () -> new RegraNegocioException("Usuário não encontrado para o ID informado!"));
+		
+		lancamento.setUsuario(Usuario.builder().id(idUsuario).build());
+		return lancamento;
+	}
+	
+	private Lancamento preencher(LancamentoDTO dto) {
 		
 		Lancamento lancamento = new Lancamento();
 		lancamento.setId(dto.getId());
@@ -149,11 +521,6 @@ public class LancamentoResource {
 		lancamento.setMes(dto.getMes());
 		lancamento.setValor(dto.getValor());
 		
-		Usuario usuario = usuarioservice
-		.obterPorId(dto.getUsuario())
-		.orElseThrow( () -> new RegraNegocioException("Usuário não encontrado para o ID informado!"));
-		
-		lancamento.setUsuario(usuario);
 		if(dto.getTipo() != null)
 		{
 			
@@ -1,8 +1,9 @@
 package com.alinembs.minhasfinancas.api.resource;
 
-import java.math.BigDecimal;
-import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,15 +12,28 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.alinembs.minhasfinancas.api.dto.AutenticacaoDTO;
 import com.alinembs.minhasfinancas.api.dto.UsuarioDTO;
+import com.alinembs.minhasfinancas.cache.VersaoDadosUsuario;
+import com.alinembs.minhasfinancas.datasource.LeituraAposEscrita;
 import com.alinembs.minhasfinancas.exception.ErroAutenticacao;
+import com.alinembs.minhasfinancas.exception.ErroSobrecarga;
 import com.alinembs.minhasfinancas.exception.RegraNegocioException;
+import com.alinembs.minhasfinancas.model.consulta.ResumoAnual;
+import com.alinembs.minhasfinancas.model.consulta.Saldo;
 import com.alinembs.minhasfinancas.model.entity.Usuario;
+import com.alinembs.minhasfinancas.model.enums.StatusLancamento;
 import com.alinembs.minhasfinancas.service.LancamentoService;
+import com.alinembs.minhasfinancas.service.ResumoMensalService;
 //import com.alinembs.minhasfinancas.service.LancamentoService;
 import com.alinembs.minhasfinancas.service.UsuarioService;
+import com.alinembs.minhasfinancas.token.EmissorTokens;
+import com.alinembs.minhasfinancas.token.TokenEmitido;
+import com.alinembs.minhasfinancas.token.UsuarioAutenticado;
 
 import lombok.RequiredArgsConstructor;
 
@@ -31,28 +45,62 @@ public class UsuarioResource {
 	private final UsuarioService service;
 	
 	private final LancamentoService lancamentoService;
+	
+	private final ResumoMensalService resumoMensalService;
+	
+	private final EmissorTokens emissorTokens;
+	
+	private final VersaoDadosUsuario versaoDados;
+	
+	private final LeituraAposEscrita leituraAposEscrita;
 //	public UsuarioResource(UsuarioService service) {
 //		
 //		this.service = service;
 //	}
 	@PostMapping("/autenticar")
-	public ResponseEntity autenticar( @RequestBody UsuarioDTO dto) {
+	public CompletableFuture<ResponseEntity> autenticar( @RequestBody UsuarioDTO dto) {
 		
 		try {
-		 Usuario usuarioAltenticado = service.autenticar(dto.getEmail(), dto.getSenha());
-		 return ResponseEntity.ok(usuarioAltenticado);
+		// O hash e conferido no pool de senhas; a thread do Tomcat fica livre ate a resposta.
+		 return service.autenticarAssincrono(dto.getEmail(), dto.getSenha())
+				 .<ResponseEntity>thenApply( usuarioAltenticado -> ResponseEntity.ok(comToken(usuarioAltenticado)))
+				 .exceptionally(this::responderFalha);
 		}
 		catch(ErroAutenticacao e) {
-			return ResponseEntity.badRequest().body(e.getMessage());
+			return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(e.getMessage()));
 		}
 		
 		
 	}
 	
+	private AutenticacaoDTO comToken(Usuario usuario) {
+		TokenEmitido token = emissorTokens.emitir(usuario.getId());
+		return AutenticacaoDTO.builder()
+				.id(usuario.getId())
+				.nome(usuario.getNome())
+				.email(usuario.getEmail())
+				.token(token.getToken())
+				.expiraEm(token.getExpiraEm())
+				.build();
+	}
+	
+	private ResponseEntity responderFalha(Throwable erro) {
+		Throwable causa = erro instanceof CompletionException && erro.getCause() != null ? erro.getCause() : erro;
+		if(causa instanceof ErroAutenticacao || causa instanceof RegraNegocioException)
+		{
+			return ResponseEntity.badRequest().body(causa.getMessage());
+		}
+		if(causa instanceof ErroSobrecarga)
+		{
+			return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(causa.getMessage());
+		}
+		throw erro instanceof CompletionException ? (CompletionException) erro : new CompletionException(erro);
+	}
+	
 	
 	
 	@PostMapping
-	public ResponseEntity salvar( @RequestBody UsuarioDTO dto) {
+	public CompletableFuture<ResponseEntity> salvar( @RequestBody UsuarioDTO dto) {
 		
 		Usuario usuario = Usuario
 				.builder()
@@ -61,11 +109,12 @@ public class UsuarioResource {
 				.senha(dto.getSenha())
 				.build();
 		try {
-			Usuario usuarioSalvo = service.salvarUsuario(usuario);
-			
-			return new ResponseEntity(usuarioSalvo,HttpStatus.CREATED);
+			// Como no autenticar, o hash nao prende a thread do Tomcat.
+			return service.salvarUsuarioAssincrono(usuario)
+					.<ResponseEntity>thenApply( usuarioSalvo -> new ResponseEntity(usuarioSalvo,HttpStatus.CREATED))
+					.exceptionally(this::responderFalha);
 		}catch (RegraNegocioException e) {
-			return ResponseEntity.badRequest().body(e.getMessage());
+			return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(e.getMessage()));
 		
 		
 		}
@@ -74,16 +123,62 @@ public class UsuarioResource {
 	}
 	
 	@GetMapping("{id}/saldo")
-	public ResponseEntity obterSaldo( @PathVariable("id") Long id)
+	public ResponseEntity obterSaldo( @PathVariable("id") Long id,
+			@RequestParam(value = "ano", required = false) Integer ano,
+			@RequestParam(value = "mes", required = false) Integer mes,
+			@RequestParam(value = "status", required = false) String status,
+			@UsuarioAutenticado Long autenticado,
+			WebRequest requisicao)
 	{
-		Optional<Usuario> usuario= service.obterPorId(id);
-		if(!usuario.isPresent())
+		if(autenticado != null && !autenticado.equals(id))
+		{
+			return new ResponseEntity(HttpStatus.FORBIDDEN);
+		}
+		if(requisicao.checkNotModified(versaoDados.etag(id)))
+		{
+			return null;
+		}
+		if(autenticado == null && !service.obterPorId(id).isPresent())
 		{
 			return new ResponseEntity(HttpStatus.NOT_FOUND);
 			
 		}
-		BigDecimal saldo = lancamentoService.obterSaldoPorUsuario(id);
+		StatusLancamento statusSelecionado = null;
+		if(status != null)
+		{
+			try {
+				statusSelecionado = StatusLancamento.valueOf(status);
+			}catch(IllegalArgumentException e) {
+				return ResponseEntity.badRequest().body("Status de lancamento inválido.");
+			}
+		}
+		Saldo saldo = lancamentoService.obterSaldo(id, ano, mes, statusSelecionado);
 		return ResponseEntity.ok(saldo);
 	}
 	
+	@GetMapping("{id}/resumo")
+	public ResponseEntity obterResumoAnual( @PathVariable("id") Long id, @RequestParam("ano") Integer ano,
+			@UsuarioAutenticado Long autenticado, WebRequest requisicao)
+	{
+		if(autenticado != null && !autenticado.equals(id))
+		{
+			return new ResponseEntity(HttpStatus.FORBIDDEN);
+		}
+		if(requisicao.checkNotModified(versaoDados.etag(id)))
+		{
+			return null;
+		}
+		if(autenticado == null && !service.obterPorId(id).isPresent())
+		{
+			return new ResponseEntity(HttpStatus.NOT_FOUND);
+			
+		}
+		try {
+			ResumoAnual resumo = leituraAposEscrita.executar(id, () -> resumoMensalService.obterResumoAnual(id, ano));
+			return ResponseEntity.ok(resumo);
+		}catch(RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+	
 }
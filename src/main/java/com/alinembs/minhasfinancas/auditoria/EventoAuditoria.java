@@ -0,0 +1,36 @@
+package com.alinembs.minhasfinancas.auditoria;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import com.alinembs.minhasfinancas.model.entity.Lancamento;
+import com.alinembs.minhasfinancas.model.enums.OperacaoAuditoria;
+import com.alinembs.minhasfinancas.model.enums.StatusLancamento;
+import com.alinembs.minhasfinancas.model.enums.TipoLancamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/** Estado do lançamento depois da operação (ou antes, na exclusão). */
+@Value
+@AllArgsConstructor
+public class EventoAuditoria {
+
+	OperacaoAuditoria operacao;
+	Long idLancamento;
+	Long idUsuario;
+	Integer ano;
+	Integer mes;
+	TipoLancamento tipo;
+	StatusLancamento status;
+	BigDecimal valor;
+	String descricao;
+	Instant dataHora;
+	
+	public static EventoAuditoria de(OperacaoAuditoria operacao, Lancamento lancamento) {
+		Long idUsuario = lancamento.getUsuario() == null ? null : lancamento.getUsuario().getId();
+		return new EventoAuditoria(operacao, lancamento.getId(), idUsuario, lancamento.getAno(), lancamento.getMes(),
+				lancamento.getTipo(), lancamento.getStatus(), lancamento.getValor(), lancamento.getDescricao(), Instant.now());
+	}
+	
+}
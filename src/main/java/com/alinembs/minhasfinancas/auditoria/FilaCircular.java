@@ -0,0 +1,96 @@
+package com.alinembs.minhasfinancas.auditoria;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fila limitada e sem locks sobre um buffer circular (algoritmo de Vyukov): cada
+ * posição guarda um número de sequência que diz se ela está livre para o próximo
+ * produtor ou preenchida para o próximo consumidor.
+ */
+public class FilaCircular<E> {
+
+	private final AtomicReferenceArray<E> elementos;
+	private final AtomicLongArray sequencias;
+	private final int mascara;
+	private final AtomicLong cauda = new AtomicLong();
+	private final AtomicLong cabeca = new AtomicLong();
+	
+	public FilaCircular(int capacidadeMinima) {
+		int capacidade = Integer.highestOneBit(Math.max(2, capacidadeMinima) * 2 - 1);
+		this.elementos = new AtomicReferenceArray<>(capacidade);
+		this.sequencias = new AtomicLongArray(capacidade);
+		this.mascara = capacidade - 1;
+		for(int i = 0; i < capacidade; i++)
+		{
+			sequencias.set(i, i);
+		}
+	}
+	
+	/** @return {@code false} se a fila estiver cheia. */
+	public boolean oferecer(E elemento) {
+		long posicao = cauda.get();
+		while(true)
+		{
+			int indice = (int) posicao & mascara;
+			long diferenca = sequencias.get(indice) - posicao;
+			if(diferenca == 0)
+			{
+				if(cauda.compareAndSet(posicao, posicao + 1))
+				{
+					elementos.set(indice, elemento);
+					sequencias.set(indice, posicao + 1);
+					return true;
+				}
+				posicao = cauda.get();
+			}
+			else if(diferenca < 0)
+			{
+				return false;
+			}
+			else
+			{
+				posicao = cauda.get();
+			}
+		}
+	}
+	
+	/** @return {@code null} se a fila estiver vazia. */
+	public E retirar() {
+		long posicao = cabeca.get();
+		while(true)
+		{
+			int indice = (int) posicao & mascara;
+			long diferenca = sequencias.get(indice) - (posicao + 1);
+			if(diferenca == 0)
+			{
+				if(cabeca.compareAndSet(posicao, posicao + 1))
+				{
+					E elemento = elementos.get(indice);
+					elementos.set(indice, null);
+					sequencias.set(indice, posicao + mascara + 1);
+					return elemento;
+				}
+				posicao = cabeca.get();
+			}
+			else if(diferenca < 0)
+			{
+				return null;
+			}
+			else
+			{
+				posicao = cabeca.get();
+			}
+		}
+	}
+	
+	public int tamanho() {
+		return (int) Math.max(0, cauda.get() - cabeca.get());
+	}
+	
+	public int capacidade() {
+		return mascara + 1;
+	}
+	
+}
@@ -0,0 +1,216 @@
+package com.alinembs.minhasfinancas.auditoria;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Grava os eventos de auditoria em lotes JDBC a partir de uma {@link FilaCircular}.
+ * <p>
+ * Uma thread própria grava quando o lote enche ou quando o evento mais antigo do
+ * lote espera mais que o intervalo. Com a fila cheia, o produtor espera até
+ * {@code espera-maxima} por espaço antes de descartar o evento. Ao encerrar, o que
+ * restou na fila é gravado antes do pool de conexões fechar.
+ */
+@Slf4j
+@Component
+public class GravadorAuditoria implements SmartLifecycle {
+
+	static final String INSERT = "insert into financas.auditoria_lancamento "
+			+ "(operacao, id_lancamento, id_usuario, ano, mes, tipo, status, valor, descricao, data_hora) "
+			+ "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+	
+	private static final long PAUSA_PRODUTOR = TimeUnit.MICROSECONDS.toNanos(100);
+	
+	private final JdbcTemplate jdbcTemplate;
+	private final FilaCircular<EventoAuditoria> fila;
+	private final int tamanhoLote;
+	private final long intervalo;
+	private final long esperaMaxima;
+	private final Timer gravacoes;
+	private final Counter descartados;
+	
+	private volatile boolean executando;
+	private volatile Thread escritor;
+	
+	public GravadorAuditoria(JdbcTemplate jdbcTemplate, MeterRegistry registry,
+			@Value("${minhasfinancas.auditoria.capacidade:8192}") int capacidade,
+			@Value("${minhasfinancas.auditoria.lote:500}") int tamanhoLote,
+			@Value("${minhasfinancas.auditoria.intervalo:200ms}") Duration intervalo,
+			@Value("${minhasfinancas.auditoria.espera-maxima:50ms}") Duration esperaMaxima) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.fila = new FilaCircular<>(capacidade);
+		this.tamanhoLote = tamanhoLote;
+		this.intervalo = intervalo.toNanos();
+		this.esperaMaxima = esperaMaxima.toNanos();
+		this.gravacoes = Timer.builder("minhasfinancas.auditoria.gravacao")
+				.description("Tempo de gravacao de um lote de eventos de auditoria")
+				.register(registry);
+		this.descartados = Counter.builder("minhasfinancas.auditoria.descartados")
+				.description("Eventos de auditoria perdidos por fila cheia ou falha de gravacao")
+				.register(registry);
+		Gauge.builder("minhasfinancas.auditoria.fila", fila, FilaCircular::tamanho)
+				.description("Eventos de auditoria aguardando gravacao")
+				.register(registry);
+	}
+	
+	/** @return {@code false} se o evento foi descartado por falta de espaço na fila. */
+	public boolean enfileirar(EventoAuditoria evento) {
+		if(fila.oferecer(evento))
+		{
+			if(fila.tamanho() >= tamanhoLote)
+			{
+				acordarEscritor();
+			}
+			return true;
+		}
+		long limite = System.nanoTime() + esperaMaxima;
+		do
+		{
+			acordarEscritor();
+			LockSupport.parkNanos(PAUSA_PRODUTOR);
+			if(fila.oferecer(evento))
+			{
+				return true;
+			}
+		}
+		while(System.nanoTime() - limite < 0);
+		descartados.increment();
+		return false;
+	}
+	
+	private void acordarEscritor() {
+		Thread thread = escritor;
+		if(thread != null)
+		{
+			LockSupport.unpark(thread);
+		}
+	}
+	
+	private void executar() {
+		List<EventoAuditoria> lote = new ArrayList<>(tamanhoLote);
+		long inicioLote = 0;
+		while(executando)
+		{
+			boolean vazio = lote.isEmpty();
+			drenar(lote);
+			long agora = System.nanoTime();
+			if(vazio && !lote.isEmpty())
+			{
+				inicioLote = agora;
+			}
+			if(lote.size() >= tamanhoLote || (!lote.isEmpty() && agora - inicioLote >= intervalo))
+			{
+				gravar(lote);
+			}
+			else
+			{
+				LockSupport.parkNanos(this, lote.isEmpty() ? intervalo : intervalo - (agora - inicioLote));
+			}
+		}
+		do
+		{
+			drenar(lote);
+			gravar(lote);
+		}
+		while(fila.tamanho() > 0);
+	}
+	
+	private void drenar(List<EventoAuditoria> lote) {
+		EventoAuditoria evento;
+		while(lote.size() < tamanhoLote && (evento = fila.retirar()) != null)
+		{
+			lote.add(evento);
+		}
+	}
+	
+	private void gravar(List<EventoAuditoria> lote) {
+		if(lote.isEmpty())
+		{
+			return;
+		}
+		List<Object[]> linhas = new ArrayList<>(lote.size());
+		for(EventoAuditoria evento : lote)
+		{
+			linhas.add(new Object[] {
+					evento.getOperacao().name(),
+					evento.getIdLancamento(),
+					evento.getIdUsuario(),
+					evento.getAno(),
+					evento.getMes(),
+					evento.getTipo() == null ? null : evento.getTipo().name(),
+					evento.getStatus() == null ? null : evento.getStatus().name(),
+					evento.getValor(),
+					evento.getDescricao(),
+					Timestamp.from(evento.getDataHora()) });
+		}
+		try {
+			gravacoes.record(() -> jdbcTemplate.batchUpdate(INSERT, linhas));
+		}catch(DataAccessException e) {
+			descartados.increment(lote.size());
+			log.error("Falha ao gravar {} eventos de auditoria", lote.size(), e);
+		}
+		lote.clear();
+	}
+	
+	public int getPendentes() {
+		return fila.tamanho();
+	}
+	
+	@Override
+	public void start() {
+		executando = true;
+		Thread thread = new Thread(this::executar, "auditoria-escritor");
+		thread.setDaemon(true);
+		escritor = thread;
+		thread.start();
+	}
+	
+	@Override
+	public void stop() {
+		executando = false;
+		Thread thread = escritor;
+		if(thread == null)
+		{
+			return;
+		}
+		LockSupport.unpark(thread);
+		try {
+			thread.join(TimeUnit.SECONDS.toMillis(30));
+		}catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		escritor = null;
+		if(fila.tamanho() > 0)
+		{
+			log.warn("{} eventos de auditoria nao foram gravados no encerramento", fila.tamanho());
+		}
+	}
+	
+	@Override
+	public boolean isRunning() {
+		return escritor != null;
+	}
+	
+	// Para depois do servidor web, que ainda pode produzir eventos enquanto encerra.
+	@Override
+	public int getPhase() {
+		return SmartLifecycle.DEFAULT_PHASE - 4096;
+	}
+	
+}
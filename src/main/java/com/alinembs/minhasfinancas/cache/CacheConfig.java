@@ -0,0 +1,97 @@
+package com.alinembs.minhasfinancas.cache;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+
+/**
+ * Regiões do cache de segundo nível do Hibernate, criadas no Caffeine (JCache)
+ * com limite de tamanho e expiração configuráveis, o cache de saldos e a versão dos dados por usuário.
+ */
+@Configuration
+public class CacheConfig {
+
+	public static final String REGIAO_USUARIO = "usuario";
+	public static final String REGIAO_CONSULTAS_USUARIO = "usuario-consultas";
+	
+	// Regioes padrao do cache de consultas. A de timestamps guarda a ultima escrita por tabela e
+	// invalida as consultas em cache, por isso nao expira.
+	static final String REGIAO_CONSULTAS_PADRAO = "default-query-results-region";
+	static final String REGIAO_TIMESTAMPS = "default-update-timestamps-region";
+	
+	@Bean(destroyMethod = "close")
+	public CacheManager cacheManagerHibernate(
+			@Value("${minhasfinancas.cache.usuario.tamanho-maximo:10000}") long tamanhoMaximo,
+			@Value("${minhasfinancas.cache.usuario.expiracao:10m}") Duration expiracao) {
+		
+		// Um gerenciador por contexto, para que contextos diferentes na mesma JVM nao compartilhem regioes.
+		CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+				.getCacheManager(URI.create("minhasfinancas-" + System.identityHashCode(this)), getClass().getClassLoader());
+		cacheManager.createCache(REGIAO_USUARIO, regiao(tamanhoMaximo, expiracao));
+		cacheManager.createCache(REGIAO_CONSULTAS_USUARIO, regiao(tamanhoMaximo, expiracao));
+		cacheManager.createCache(REGIAO_CONSULTAS_PADRAO, regiao(tamanhoMaximo, expiracao));
+		cacheManager.createCache(REGIAO_TIMESTAMPS, regiao(tamanhoMaximo, null));
+		return cacheManager;
+	}
+	
+	private CaffeineConfiguration<Object, Object> regiao(long tamanhoMaximo, Duration expiracao) {
+		CaffeineConfiguration<Object, Object> configuracao = new CaffeineConfiguration<>();
+		configuracao.setStoreByValue(false);
+		configuracao.setStatisticsEnabled(true);
+		configuracao.setMaximumSize(OptionalLong.of(tamanhoMaximo));
+		if(expiracao != null)
+		{
+			configuracao.setExpireAfterWrite(OptionalLong.of(expiracao.toNanos()));
+		}
+		return configuracao;
+	}
+	
+	// Outra implementacao (por exemplo, com invalidacao distribuida) pode ser ligada com outro valor de tipo.
+	@Bean
+	@ConditionalOnProperty(name = "minhasfinancas.cache.saldo.tipo", havingValue = "local", matchIfMissing = true)
+	public CacheSaldo cacheSaldo(MeterRegistry registry,
+			@Value("${minhasfinancas.cache.saldo.tamanho-maximo:10000}") long tamanhoMaximo,
+			@Value("${minhasfinancas.cache.saldo.expiracao:5m}") Duration expiracao) {
+		CacheSaldoLocal cacheSaldo = new CacheSaldoLocal(tamanhoMaximo, expiracao);
+		cacheSaldo.registrarMetricas(registry);
+		return cacheSaldo;
+	}
+	
+	@Bean
+	@ConditionalOnProperty(name = "minhasfinancas.cache.saldo.tipo", havingValue = "local", matchIfMissing = true)
+	public VersaoDadosUsuario versaoDadosUsuario(MeterRegistry registry,
+			@Value("${minhasfinancas.cache.versao.tamanho-maximo:100000}") long tamanhoMaximo) {
+		VersaoDadosUsuarioLocal versoes = new VersaoDadosUsuarioLocal(tamanhoMaximo);
+		versoes.registrarMetricas(registry);
+		return versoes;
+	}
+	
+	@Bean
+	public HibernatePropertiesCustomizer cacheHibernate(CacheManager cacheManagerHibernate, MeterRegistry registry) {
+		for(String regiao : new String[] { REGIAO_USUARIO, REGIAO_CONSULTAS_USUARIO })
+		{
+			JCacheMetrics.monitor(registry, cacheManagerHibernate.getCache(regiao));
+		}
+		return propriedades -> {
+			propriedades.put(ConfigSettings.CACHE_MANAGER, cacheManagerHibernate);
+			propriedades.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+		};
+	}
+	
+}
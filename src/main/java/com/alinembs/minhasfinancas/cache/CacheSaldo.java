@@ -0,0 +1,25 @@
+package com.alinembs.minhasfinancas.cache;
+
+import java.util.function.Supplier;
+
+import com.alinembs.minhasfinancas.model.consulta.Saldo;
+import com.alinembs.minhasfinancas.model.enums.StatusLancamento;
+
+/**
+ * Cache dos saldos consultados por usuário. A implementação padrão é local
+ * ({@link CacheSaldoLocal}); uma instalação com vários nós pode trocá-la por outra
+ * que propague {@link #invalidar(Long)} entre as instâncias.
+ */
+public interface CacheSaldo {
+
+	/**
+	 * Devolve o saldo em cache do usuário para o filtro informado (ano, mês e status
+	 * podem ser nulos) ou o obtém pelo cálculo e o guarda.
+	 */
+	Saldo obter(Long idUsuario, Integer ano, Integer mes, StatusLancamento status, Supplier<Saldo> calculo);
+	
+	void invalidar(Long idUsuario);
+	
+	void invalidarTodos();
+	
+}
@@ -0,0 +1,65 @@
+package com.alinembs.minhasfinancas.cache;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import com.alinembs.minhasfinancas.model.consulta.Saldo;
+import com.alinembs.minhasfinancas.model.enums.StatusLancamento;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Cache em memória com uma entrada por usuário, que guarda os saldos de cada
+ * filtro (ano, mês, status) consultado.
+ * <p>
+ * Invalidar descarta o mapa inteiro do usuário. Um cálculo que começou antes da
+ * invalidação grava no mapa descartado, então nunca deixa um saldo antigo visível.
+ */
+public class CacheSaldoLocal implements CacheSaldo {
+
+	private final Cache<Long, Map<List<Object>, Saldo>> saldos;
+	
+	public CacheSaldoLocal(long tamanhoMaximo, Duration expiracao) {
+		this.saldos = Caffeine.newBuilder()
+				.maximumSize(tamanhoMaximo)
+				.expireAfterWrite(expiracao)
+				.recordStats()
+				.build();
+	}
+	
+	public void registrarMetricas(MeterRegistry registry) {
+		CaffeineCacheMetrics.monitor(registry, saldos, "saldo");
+	}
+	
+	@Override
+	public Saldo obter(Long idUsuario, Integer ano, Integer mes, StatusLancamento status, Supplier<Saldo> calculo) {
+		
+		Map<List<Object>, Saldo> doUsuario = saldos.get(idUsuario, id -> new ConcurrentHashMap<>());
+		List<Object> filtro = Arrays.asList(ano, mes, status);
+		Saldo saldo = doUsuario.get(filtro);
+		if(saldo == null)
+		{
+			saldo = calculo.get();
+			doUsuario.putIfAbsent(filtro, saldo);
+		}
+		return saldo;
+	}
+	
+	@Override
+	public void invalidar(Long idUsuario) {
+		saldos.invalidate(idUsuario);
+	}
+	
+	@Override
+	public void invalidarTodos() {
+		saldos.invalidateAll();
+	}
+	
+}
@@ -0,0 +1,37 @@
+package com.alinembs.minhasfinancas.cache;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Invalida o cache de saldo e avança a versão dos dados apenas depois do commit; um
+ * rollback não invalida nada, e o saldo em cache e os ETags já entregues continuam corretos.
+ */
+@Component
+public class InvalidacaoCacheSaldoListener {
+
+	private final CacheSaldo cacheSaldo;
+	
+	private final VersaoDadosUsuario versaoDados;
+	
+	public InvalidacaoCacheSaldoListener(CacheSaldo cacheSaldo, VersaoDadosUsuario versaoDados) {
+		this.cacheSaldo = cacheSaldo;
+		this.versaoDados = versaoDados;
+	}
+	
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+	public void saldoAlterado(SaldoAlteradoEvent evento) {
+		if(evento.getIdUsuario() == null)
+		{
+			cacheSaldo.invalidarTodos();
+			versaoDados.avancarTodos();
+		}
+		else
+		{
+			cacheSaldo.invalidar(evento.getIdUsuario());
+			versaoDados.avancar(evento.getIdUsuario());
+		}
+	}
+	
+}
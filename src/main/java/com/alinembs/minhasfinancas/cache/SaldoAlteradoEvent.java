@@ -0,0 +1,20 @@
+package com.alinembs.minhasfinancas.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Publicado quando os lançamentos de um usuário mudam. {@code idUsuario} nulo
+ * indica que os saldos de todos os usuários foram recalculados.
+ */
+@Data
+@AllArgsConstructor
+public class SaldoAlteradoEvent {
+
+	private Long idUsuario;
+	
+	public static SaldoAlteradoEvent todos() {
+		return new SaldoAlteradoEvent(null);
+	}
+	
+}
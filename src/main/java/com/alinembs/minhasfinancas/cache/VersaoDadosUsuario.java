@@ -0,0 +1,25 @@
+package com.alinembs.minhasfinancas.cache;
+
+import java.time.Instant;
+
+/**
+ * Versão dos lançamentos de cada usuário, usada como ETag das consultas. Avança depois
+ * do commit de cada escrita; o valor só se repete enquanto os dados não mudam.
+ * <p>
+ * A versão reflete o primário: a resposta enviada com ela logo após uma escrita deve ser
+ * lida do primário ({@link com.alinembs.minhasfinancas.datasource.LeituraAposEscrita}),
+ * para que um dado atrasado da réplica não fique em cache sob a versão nova.
+ */
+public interface VersaoDadosUsuario {
+
+	/** @return o ETag atual dos dados do usuário, sem consultar o banco */
+	String etag(Long idUsuario);
+	
+	/** @return o instante do último avanço da versão do usuário; nunca anterior ao real */
+	Instant ultimaEscrita(Long idUsuario);
+	
+	void avancar(Long idUsuario);
+	
+	void avancarTodos();
+	
+}
@@ -0,0 +1,93 @@
+package com.alinembs.minhasfinancas.cache;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Versões em memória, tiradas de um único contador crescente. Um usuário sem entrada
+ * (nunca escreveu ou foi despejado) recebe a maior versão já despejada, que nunca é menor
+ * que a dele; o pior caso é uma resposta 200 a mais, nunca um 304 indevido. O instante de
+ * início entra no ETag para que um reinício não reaproveite versões.
+ * <p>
+ * A última escrita segue a mesma regra: sem entrada, vale a mais recente já despejada,
+ * e nunca antes do início do processo.
+ */
+public class VersaoDadosUsuarioLocal implements VersaoDadosUsuario {
+
+	private final Clock relogio;
+	private final String inicio;
+	private final AtomicLong contador = new AtomicLong();
+	private final AtomicLong maiorDespejada = new AtomicLong();
+	private final AtomicLong escritaDespejada;
+	private final Cache<Long, Escrita> versoes;
+	
+	public VersaoDadosUsuarioLocal(long tamanhoMaximo) {
+		this(tamanhoMaximo, Clock.systemUTC());
+	}
+	
+	public VersaoDadosUsuarioLocal(long tamanhoMaximo, Clock relogio) {
+		this.relogio = relogio;
+		this.inicio = Long.toString(relogio.millis(), 36);
+		this.escritaDespejada = new AtomicLong(relogio.millis());
+		this.versoes = Caffeine.newBuilder()
+				.maximumSize(tamanhoMaximo)
+				.evictionListener( (Long id, Escrita escrita, RemovalCause causa) -> {
+					maiorDespejada.accumulateAndGet(escrita.versao, Math::max);
+					escritaDespejada.accumulateAndGet(escrita.instante, Math::max);
+				})
+				.build();
+	}
+	
+	public void registrarMetricas(MeterRegistry registry) {
+		registry.gauge("minhasfinancas.cache.versoes", versoes, c -> c.estimatedSize());
+	}
+	
+	@Override
+	public String etag(Long idUsuario) {
+		Escrita escrita = versoes.getIfPresent(idUsuario);
+		return inicio + "-" + (escrita != null ? escrita.versao : maiorDespejada.get());
+	}
+	
+	@Override
+	public Instant ultimaEscrita(Long idUsuario) {
+		Escrita escrita = versoes.getIfPresent(idUsuario);
+		return Instant.ofEpochMilli(escrita != null ? escrita.instante : escritaDespejada.get());
+	}
+	
+	@Override
+	public void avancar(Long idUsuario) {
+		versoes.asMap().merge(idUsuario, new Escrita(contador.incrementAndGet(), relogio.millis()), Escrita::maisRecente);
+	}
+	
+	@Override
+	public void avancarTodos() {
+		// Todas as entradas passam a valer a nova versao minima.
+		long versao = contador.incrementAndGet();
+		maiorDespejada.accumulateAndGet(versao, Math::max);
+		escritaDespejada.accumulateAndGet(relogio.millis(), Math::max);
+		versoes.invalidateAll();
+	}
+	
+	private static class Escrita {
+		
+		final long versao;
+		final long instante;
+		
+		Escrita(long versao, long instante) {
+			this.versao = versao;
+			this.instante = instante;
+		}
+		
+		Escrita maisRecente(Escrita outra) {
+			return versao >= outra.versao ? this : outra;
+		}
+	}
+	
+}
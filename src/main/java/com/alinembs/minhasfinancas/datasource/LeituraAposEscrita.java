@@ -0,0 +1,51 @@
+package com.alinembs.minhasfinancas.datasource;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.alinembs.minhasfinancas.cache.VersaoDadosUsuario;
+
+/**
+ * Leituras cuja resposta fica guardada sob a versão dos dados do usuário (ETags e cache
+ * de saldo). Só vão ao primário enquanto a última escrita do usuário estiver dentro do
+ * atraso máximo da réplica; depois disso a réplica já tem o dado e atende a leitura.
+ * Sem réplica configurada o roteamento não muda nada.
+ */
+@Component
+public class LeituraAposEscrita {
+
+	private final VersaoDadosUsuario versaoDados;
+	
+	private final Duration atrasoMaximo;
+	
+	private final Clock relogio;
+	
+	@Autowired
+	public LeituraAposEscrita(VersaoDadosUsuario versaoDados,
+			@Value("${minhasfinancas.datasource.atraso-maximo-replica:5s}") Duration atrasoMaximo) {
+		this(versaoDados, atrasoMaximo, Clock.systemUTC());
+	}
+	
+	public LeituraAposEscrita(VersaoDadosUsuario versaoDados, Duration atrasoMaximo, Clock relogio) {
+		this.versaoDados = versaoDados;
+		this.atrasoMaximo = atrasoMaximo;
+		this.relogio = relogio;
+	}
+	
+	public <T> T executar(Long idUsuario, Supplier<T> leitura) {
+		return escritaRecente(idUsuario) ? LeituraPrimaria.executar(leitura) : leitura.get();
+	}
+	
+	// Sem usuario (ou sem registro) nao ha ultima escrita a comparar: fica no primario.
+	public boolean escritaRecente(Long idUsuario) {
+		Instant ultimaEscrita = idUsuario == null ? null : versaoDados.ultimaEscrita(idUsuario);
+		return ultimaEscrita == null || relogio.instant().isBefore(ultimaEscrita.plus(atrasoMaximo));
+	}
+	
+}
@@ -0,0 +1,35 @@
+package com.alinembs.minhasfinancas.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Faz as leituras da thread atual usarem o pool primário, mesmo em transações
+ * {@code readOnly}. Quem decide quando isso é necessário é {@link LeituraAposEscrita}:
+ * lido de uma réplica atrasada logo após uma escrita, o dado antigo ficaria guardado
+ * sob a versão nova até a próxima escrita. Sem réplica configurada não muda nada.
+ */
+public final class LeituraPrimaria {
+
+	private static final ThreadLocal<Boolean> ATIVA = new ThreadLocal<>();
+
+	private LeituraPrimaria() {
+	}
+
+	public static <T> T executar(Supplier<T> leitura) {
+		if(isAtiva())
+		{
+			return leitura.get();
+		}
+		ATIVA.set(Boolean.TRUE);
+		try {
+			return leitura.get();
+		}finally {
+			ATIVA.remove();
+		}
+	}
+
+	public static boolean isAtiva() {
+		return ATIVA.get() != null;
+	}
+
+}
@@ -0,0 +1,75 @@
+package com.alinembs.minhasfinancas.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Quando uma réplica é configurada, as transações {@code readOnly} passam a usar o
+ * pool da réplica e as demais o pool primário, cada um com seu dimensionamento
+ * ({@code spring.datasource.hikari.*} e {@code minhasfinancas.datasource.replica.*}).
+ * <p>
+ * A conexão física só é obtida no primeiro comando, quando a transação já marcou a
+ * conexão como somente leitura; por isso o roteamento fica no proxy preguiçoso.
+ * Dentro de {@link LeituraPrimaria#executar} a leitura volta ao pool primário; isso
+ * só acontece logo após uma escrita do usuário ({@link LeituraAposEscrita}).
+ */
+@Configuration
+@ConditionalOnProperty(name = "minhasfinancas.datasource.replica.jdbc-url")
+public class RoteamentoDataSourceConfig {
+
+	@Bean
+	@ConfigurationProperties("spring.datasource.hikari")
+	public HikariDataSource dataSourcePrimario(DataSourceProperties propriedades) {
+		return propriedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+	}
+	
+	@Bean
+	@ConfigurationProperties("minhasfinancas.datasource.replica")
+	public HikariDataSource dataSourceReplica() {
+		return new HikariDataSource();
+	}
+	
+	@Bean
+	@Primary
+	public DataSource dataSource(@Qualifier("dataSourcePrimario") DataSource primario,
+			@Qualifier("dataSourceReplica") DataSource replica) {
+		LazyConnectionDataSourceProxy roteador = new LazyConnectionDataSourceProxy(primario);
+		roteador.setReadOnlyDataSource(new ReplicaOuPrimario(replica, primario));
+		return roteador;
+	}
+	
+	private static class ReplicaOuPrimario extends DelegatingDataSource {
+		
+		private final DataSource primario;
+		
+		ReplicaOuPrimario(DataSource replica, DataSource primario) {
+			super(replica);
+			this.primario = primario;
+		}
+		
+		@Override
+		public Connection getConnection() throws SQLException {
+			return LeituraPrimaria.isAtiva() ? primario.getConnection() : super.getConnection();
+		}
+		
+		@Override
+		public Connection getConnection(String usuario, String senha) throws SQLException {
+			return LeituraPrimaria.isAtiva() ? primario.getConnection(usuario, senha) : super.getConnection(usuario, senha);
+		}
+	}
+	
+}
@@ -0,0 +1,8 @@
+package com.alinembs.minhasfinancas.exception;
+
+public class ErroAcessoNegado extends RuntimeException {
+
+	public ErroAcessoNegado (String mensagem) {
+		super(mensagem);
+	}
+}
@@ -0,0 +1,10 @@
+package com.alinembs.minhasfinancas.exception;
+
+public class OrcamentoSqlExcedidoException extends RuntimeException {
+
+	public OrcamentoSqlExcedidoException(String mensagem)
+	{
+		super(mensagem);
+	}
+	
+}
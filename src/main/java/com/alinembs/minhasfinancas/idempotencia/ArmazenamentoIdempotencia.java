@@ -0,0 +1,11 @@
+package com.alinembs.minhasfinancas.idempotencia;
+
+import java.util.Optional;
+
+public interface ArmazenamentoIdempotencia {
+
+	Optional<RespostaIdempotente> obter(String chave);
+	
+	void salvar(String chave, RespostaIdempotente resposta);
+	
+}
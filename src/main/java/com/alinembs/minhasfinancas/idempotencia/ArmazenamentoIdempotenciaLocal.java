@@ -0,0 +1,38 @@
+package com.alinembs.minhasfinancas.idempotencia;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+public class ArmazenamentoIdempotenciaLocal implements ArmazenamentoIdempotencia {
+
+	private final Cache<String, RespostaIdempotente> respostas;
+	
+	public ArmazenamentoIdempotenciaLocal(long tamanhoMaximo, Duration expiracao) {
+		this.respostas = Caffeine.newBuilder()
+				.maximumSize(tamanhoMaximo)
+				.expireAfterWrite(expiracao)
+				.recordStats()
+				.build();
+	}
+	
+	public void registrarMetricas(MeterRegistry registry) {
+		CaffeineCacheMetrics.monitor(registry, respostas, "idempotencia");
+	}
+	
+	@Override
+	public Optional<RespostaIdempotente> obter(String chave) {
+		return Optional.ofNullable(respostas.getIfPresent(chave));
+	}
+	
+	@Override
+	public void salvar(String chave, RespostaIdempotente resposta) {
+		respostas.put(chave, resposta);
+	}
+	
+}
@@ -0,0 +1,61 @@
+package com.alinembs.minhasfinancas.idempotencia;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Mantém as respostas também na tabela {@code financas.requisicao_idempotente}, para
+ * que uma repetição seja reconhecida depois de um reinício ou em outra instância.
+ * A memória local continua sendo consultada primeiro.
+ */
+public class ArmazenamentoIdempotenciaPersistente implements ArmazenamentoIdempotencia {
+
+	private final ArmazenamentoIdempotencia local;
+	private final JdbcTemplate jdbcTemplate;
+	private final Duration expiracao;
+	
+	public ArmazenamentoIdempotenciaPersistente(ArmazenamentoIdempotencia local, JdbcTemplate jdbcTemplate, Duration expiracao) {
+		this.local = local;
+		this.jdbcTemplate = jdbcTemplate;
+		this.expiracao = expiracao;
+	}
+	
+	@Override
+	public Optional<RespostaIdempotente> obter(String chave) {
+		Optional<RespostaIdempotente> emMemoria = local.obter(chave);
+		if(emMemoria.isPresent())
+		{
+			return emMemoria;
+		}
+		List<RespostaIdempotente> gravadas = jdbcTemplate.query(
+				"select impressao, status, tipo_conteudo, corpo from financas.requisicao_idempotente where chave = ? and data_hora > ?",
+				(rs, linha) -> new RespostaIdempotente(rs.getString(1), rs.getInt(2), rs.getString(3), rs.getBytes(4)),
+				chave, Timestamp.from(Instant.now().minus(expiracao)));
+		gravadas.forEach( resposta -> local.salvar(chave, resposta));
+		return gravadas.stream().findFirst();
+	}
+	
+	@Override
+	public void salvar(String chave, RespostaIdempotente resposta) {
+		local.salvar(chave, resposta);
+		try {
+			jdbcTemplate.update(
+					"insert into financas.requisicao_idempotente (chave, impressao, status, tipo_conteudo, corpo, data_hora) values (?, ?, ?, ?, ?, ?)",
+					chave, resposta.getImpressao(), resposta.getStatus(), resposta.getTipoConteudo(), resposta.getCorpo(), Timestamp.from(Instant.now()));
+		}catch(DuplicateKeyException e) {
+			// Outra instancia gravou a mesma chave; a primeira resposta prevalece.
+		}
+	}
+	
+	public int removerExpiradas() {
+		return jdbcTemplate.update("delete from financas.requisicao_idempotente where data_hora <= ?",
+				Timestamp.from(Instant.now().minus(expiracao)));
+	}
+	
+}
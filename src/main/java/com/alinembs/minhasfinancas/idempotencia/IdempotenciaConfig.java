@@ -0,0 +1,63 @@
+package com.alinembs.minhasfinancas.idempotencia;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.unit.DataSize;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Liga o {@link IdempotenciaFilter} às escritas de lançamentos. As respostas ficam em
+ * memória e, com {@code minhasfinancas.idempotencia.persistente=true}, também no banco.
+ */
+@Slf4j
+@Configuration
+public class IdempotenciaConfig {
+
+	@Value("${minhasfinancas.idempotencia.expiracao:24h}")
+	private Duration expiracao;
+	
+	@Value("${minhasfinancas.idempotencia.persistente:false}")
+	private boolean persistente;
+	
+	private ArmazenamentoIdempotenciaPersistente armazenamentoPersistente;
+	
+	@Bean
+	public ArmazenamentoIdempotencia armazenamentoIdempotencia(MeterRegistry registry, JdbcTemplate jdbcTemplate,
+			@Value("${minhasfinancas.idempotencia.tamanho-maximo:10000}") long tamanhoMaximo) {
+		ArmazenamentoIdempotenciaLocal local = new ArmazenamentoIdempotenciaLocal(tamanhoMaximo, expiracao);
+		local.registrarMetricas(registry);
+		if(!persistente)
+		{
+			return local;
+		}
+		armazenamentoPersistente = new ArmazenamentoIdempotenciaPersistente(local, jdbcTemplate, expiracao);
+		return armazenamentoPersistente;
+	}
+	
+	@Bean
+	public FilterRegistrationBean<IdempotenciaFilter> filtroIdempotencia(ArmazenamentoIdempotencia armazenamento, MeterRegistry registry,
+			@Value("${minhasfinancas.idempotencia.espera-maxima:10s}") Duration esperaMaxima,
+			@Value("${minhasfinancas.idempotencia.tamanho-maximo-corpo:1MB}") DataSize tamanhoMaximoCorpo) {
+		FilterRegistrationBean<IdempotenciaFilter> registro = new FilterRegistrationBean<>(
+				new IdempotenciaFilter(armazenamento, esperaMaxima, (int) tamanhoMaximoCorpo.toBytes(), registry));
+		registro.addUrlPatterns("/api/lancamentos", "/api/lancamentos/*");
+		return registro;
+	}
+	
+	@Scheduled(cron = "${minhasfinancas.idempotencia.limpeza.cron:-}")
+	public void removerExpiradas() {
+		if(armazenamentoPersistente != null)
+		{
+			log.info("{} respostas idempotentes expiradas removidas", armazenamentoPersistente.removerExpiradas());
+		}
+	}
+	
+}
@@ -0,0 +1,260 @@
+package com.alinembs.minhasfinancas.idempotencia;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+import com.alinembs.minhasfinancas.token.AutenticacaoTokenFilter;
+
+/**
+ * Torna seguras as repetições de um POST que traz o cabeçalho {@code Idempotency-Key}.
+ * A primeira requisição executa normalmente e sua resposta é guardada; as repetições
+ * recebem a resposta guardada sem chegar ao controlador, e as que chegam enquanto a
+ * primeira ainda executa aguardam o resultado dela. Requisições multipart não são tratadas,
+ * e corpos acima do tamanho máximo configurado são recusados com 413.
+ */
+public class IdempotenciaFilter extends OncePerRequestFilter {
+
+	public static final String CABECALHO = "Idempotency-Key";
+	public static final String CABECALHO_REPETICAO = "Idempotent-Replayed";
+	
+	static final int TAMANHO_MAXIMO_CHAVE = 255;
+	
+	private final ArmazenamentoIdempotencia armazenamento;
+	private final Duration esperaMaxima;
+	private final int tamanhoMaximoCorpo;
+	private final Counter repeticoes;
+	
+	private final ConcurrentMap<String, CompletableFuture<RespostaIdempotente>> emAndamento = new ConcurrentHashMap<>();
+	
+	public IdempotenciaFilter(ArmazenamentoIdempotencia armazenamento, Duration esperaMaxima, int tamanhoMaximoCorpo,
+			MeterRegistry registry) {
+		this.armazenamento = armazenamento;
+		this.esperaMaxima = esperaMaxima;
+		this.tamanhoMaximoCorpo = tamanhoMaximoCorpo;
+		this.repeticoes = Counter.builder("minhasfinancas.idempotencia.repeticoes")
+				.description("Requisicoes repetidas respondidas sem nova execucao")
+				.register(registry);
+	}
+	
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		String tipoConteudo = request.getContentType();
+		return !HttpMethod.POST.matches(request.getMethod())
+				|| request.getHeader(CABECALHO) == null
+				|| (tipoConteudo != null && tipoConteudo.startsWith(MediaType.MULTIPART_FORM_DATA_VALUE));
+	}
+	
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		String chaveInformada = request.getHeader(CABECALHO).trim();
+		if(chaveInformada.isEmpty() || chaveInformada.length() > TAMANHO_MAXIMO_CHAVE)
+		{
+			response.sendError(HttpStatus.BAD_REQUEST.value(), "Cabeçalho " + CABECALHO + " inválido.");
+			return;
+		}
+		// Com token, a mesma chave enviada por usuarios diferentes nao se confunde.
+		Object usuario = request.getAttribute(AutenticacaoTokenFilter.ATRIBUTO_USUARIO);
+		String chave = request.getMethod() + " " + request.getRequestURI() + " "
+				+ (usuario == null ? "" : usuario + " ") + chaveInformada;
+		// O corpo fica inteiro em memoria ate a resposta; sem limite, um POST grande ocuparia o heap.
+		if(request.getContentLengthLong() > tamanhoMaximoCorpo)
+		{
+			response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value(), "Corpo da requisição excede o tamanho máximo.");
+			return;
+		}
+		byte[] corpo = request.getInputStream().readNBytes(tamanhoMaximoCorpo + 1);
+		if(corpo.length > tamanhoMaximoCorpo)
+		{
+			response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value(), "Corpo da requisição excede o tamanho máximo.");
+			return;
+		}
+		String impressao = impressao(corpo);
+		
+		Optional<RespostaIdempotente> gravada = armazenamento.obter(chave);
+		if(gravada.isPresent())
+		{
+			repetir(gravada.get(), impressao, response);
+			return;
+		}
+		
+		CompletableFuture<RespostaIdempotente> execucao = new CompletableFuture<>();
+		CompletableFuture<RespostaIdempotente> outra = emAndamento.putIfAbsent(chave, execucao);
+		if(outra != null)
+		{
+			aguardar(outra, impressao, response);
+			return;
+		}
+		try {
+			// A execucao anterior pode ter terminado entre a consulta e o registro desta.
+			gravada = armazenamento.obter(chave);
+			if(gravada.isPresent())
+			{
+				execucao.complete(gravada.get());
+				repetir(gravada.get(), impressao, response);
+				return;
+			}
+			executar(chave, impressao, new CorpoEmMemoria(request, corpo), response, chain, execucao);
+		}finally {
+			execucao.complete(null);
+			emAndamento.remove(chave, execucao);
+		}
+	}
+	
+	private void executar(String chave, String impressao, HttpServletRequest request, HttpServletResponse response,
+			FilterChain chain, CompletableFuture<RespostaIdempotente> execucao) throws ServletException, IOException {
+		ContentCachingResponseWrapper resposta = new ContentCachingResponseWrapper(response);
+		try {
+			chain.doFilter(request, resposta);
+			// Erros do servidor nao sao guardados, para que a repeticao tente de novo.
+			if(resposta.getStatus() < HttpStatus.INTERNAL_SERVER_ERROR.value())
+			{
+				RespostaIdempotente gravada = new RespostaIdempotente(impressao, resposta.getStatus(),
+						resposta.getContentType(), resposta.getContentAsByteArray());
+				armazenamento.salvar(chave, gravada);
+				execucao.complete(gravada);
+			}
+		}finally {
+			resposta.copyBodyToResponse();
+		}
+	}
+	
+	private void aguardar(CompletableFuture<RespostaIdempotente> execucao, String impressao, HttpServletResponse response)
+			throws IOException {
+		RespostaIdempotente resposta = null;
+		try {
+			resposta = execucao.get(esperaMaxima.toMillis(), TimeUnit.MILLISECONDS);
+		}catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}catch(ExecutionException | TimeoutException e) {
+			// Tratado abaixo como requisicao ainda em andamento.
+		}
+		if(resposta == null)
+		{
+			response.sendError(HttpStatus.CONFLICT.value(), "Requisição com a mesma chave ainda em andamento. Tente novamente.");
+			return;
+		}
+		repetir(resposta, impressao, response);
+	}
+	
+	private void repetir(RespostaIdempotente resposta, String impressao, HttpServletResponse response) throws IOException {
+		if(!resposta.getImpressao().equals(impressao))
+		{
+			response.sendError(HttpStatus.UNPROCESSABLE_ENTITY.value(), "Chave " + CABECALHO + " já utilizada com outro corpo.");
+			return;
+		}
+		repeticoes.increment();
+		response.setStatus(resposta.getStatus());
+		response.setHeader(CABECALHO_REPETICAO, "true");
+		if(resposta.getTipoConteudo() != null)
+		{
+			response.setContentType(resposta.getTipoConteudo());
+		}
+		response.setContentLength(resposta.getCorpo().length);
+		response.getOutputStream().write(resposta.getCorpo());
+	}
+	
+	static String impressao(byte[] corpo) {
+		try {
+			return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(corpo));
+		}catch(NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	// Ja lido para calcular a impressao, o corpo e entregue de novo ao controlador a partir da memoria.
+	private static class CorpoEmMemoria extends HttpServletRequestWrapper {
+		
+		private final byte[] corpo;
+		
+		CorpoEmMemoria(HttpServletRequest request, byte[] corpo) {
+			super(request);
+			this.corpo = corpo;
+		}
+		
+		@Override
+		public ServletInputStream getInputStream() {
+			ByteArrayInputStream entrada = new ByteArrayInputStream(corpo);
+			return new ServletInputStream() {
+				@Override
+				public int read() {
+					return entrada.read();
+				}
+				
+				@Override
+				public int read(byte[] b, int off, int len) {
+					return entrada.read(b, off, len);
+				}
+				
+				@Override
+				public boolean isFinished() {
+					return entrada.available() == 0;
+				}
+				
+				@Override
+				public boolean isReady() {
+					return true;
+				}
+				
+				// Com o corpo ja em memoria, todos os dados estao disponiveis de imediato.
+				@Override
+				public void setReadListener(ReadListener listener) {
+					try {
+						listener.onDataAvailable();
+						listener.onAllDataRead();
+					}catch(IOException e) {
+						listener.onError(e);
+					}
+				}
+			};
+		}
+		
+		@Override
+		public BufferedReader getReader() {
+			Charset charset = getCharacterEncoding() != null ? Charset.forName(getCharacterEncoding()) : StandardCharsets.UTF_8;
+			return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+		}
+		
+		@Override
+		public int getContentLength() {
+			return corpo.length;
+		}
+		
+		@Override
+		public long getContentLengthLong() {
+			return corpo.length;
+		}
+	}
+	
+}
@@ -0,0 +1,19 @@
+package com.alinembs.minhasfinancas.idempotencia;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * Resposta gravada para uma {@code Idempotency-Key}, com a impressão digital do
+ * corpo da requisição que a produziu.
+ */
+@Value
+@AllArgsConstructor
+public class RespostaIdempotente {
+
+	String impressao;
+	int status;
+	String tipoConteudo;
+	byte[] corpo;
+	
+}
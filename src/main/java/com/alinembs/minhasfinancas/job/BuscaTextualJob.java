@@ -0,0 +1,41 @@
+package com.alinembs.minhasfinancas.job;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.alinembs.minhasfinancas.service.BuscaTextualService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BuscaTextualJob {
+
+	/** Argumento de inicialização que reconstrói o índice mesmo que ele já exista. */
+	public static final String OPCAO_REINDEXAR = "reindexar";
+	
+	private final BuscaTextualService service;
+	
+	private final ApplicationArguments argumentos;
+	
+	// Um indice em disco que divergiu do banco nao fica vazio; so --reindexar o reconstroi.
+	@EventListener(ApplicationReadyEvent.class)
+	public void indexarNaInicializacao() {
+		if(argumentos.containsOption(OPCAO_REINDEXAR) || service.isIndiceVazio())
+		{
+			int total = service.reindexar();
+			log.info("Indice de busca textual criado com {} lancamentos", total);
+		}
+	}
+	
+	@Scheduled(fixedDelayString = "${minhasfinancas.busca.intervalo-confirmacao:60000}")
+	public void confirmarIndice() {
+		service.confirmar();
+	}
+	
+}
@@ -0,0 +1,38 @@
+package com.alinembs.minhasfinancas.job;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.alinembs.minhasfinancas.service.ResumoMensalService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ResumoMensalJob {
+
+	private final ResumoMensalService service;
+	
+	@Value("${minhasfinancas.resumo.reconstruir-na-inicializacao:false}")
+	private boolean reconstruirNaInicializacao;
+	
+	@EventListener(ApplicationReadyEvent.class)
+	public void reconstruirNaInicializacao() {
+		if(reconstruirNaInicializacao)
+		{
+			reconstruir();
+		}
+	}
+	
+	@Scheduled(cron = "${minhasfinancas.resumo.reconstrucao.cron:-}")
+	public void reconstruir() {
+		service.reconstruir();
+		log.info("Resumos mensais reconstruidos a partir da tabela de lancamentos");
+	}
+	
+}
@@ -0,0 +1,44 @@
+package com.alinembs.minhasfinancas.job;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.alinembs.minhasfinancas.service.SaldoUsuarioService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SaldoUsuarioJob {
+
+	private final SaldoUsuarioService service;
+	
+	@Value("${minhasfinancas.saldo.reconstruir-na-inicializacao:false}")
+	private boolean reconstruirNaInicializacao;
+	
+	@EventListener(ApplicationReadyEvent.class)
+	public void reconstruirNaInicializacao() {
+		if(reconstruirNaInicializacao)
+		{
+			service.reconstruir();
+			log.info("Saldos materializados reconstruidos a partir da tabela de lancamentos");
+		}
+	}
+	
+	@Scheduled(cron = "${minhasfinancas.saldo.verificacao.cron:-}")
+	public void verificarConsistencia() {
+		List<Long> divergentes = service.verificarConsistencia();
+		if(!divergentes.isEmpty())
+		{
+			log.warn("Saldo materializado divergente recalculado para os usuarios {}", divergentes);
+		}
+	}
+	
+}
@@ -0,0 +1,39 @@
+package com.alinembs.minhasfinancas.limite;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Balde de tokens guardado num único {@code long}: o instante em que o balde estaria
+ * cheio de novo (GCRA). Consumir é um compareAndSet, sem bloqueio.
+ */
+final class BaldeTokens {
+
+	private final AtomicLong cheioEm;
+	
+	BaldeTokens(long agora) {
+		this.cheioEm = new AtomicLong(agora);
+	}
+	
+	/**
+	 * @param intervalo nanos para repor um token
+	 * @param capacidade tokens que o balde comporta
+	 * @return 0 se havia token, ou os nanos até existir um
+	 */
+	long consumir(long agora, long intervalo, int capacidade) {
+		long limite = intervalo * capacidade;
+		while(true)
+		{
+			long atual = cheioEm.get();
+			long proximo = Math.max(atual, agora) + intervalo;
+			if(proximo - agora > limite)
+			{
+				return proximo - agora - limite;
+			}
+			if(cheioEm.compareAndSet(atual, proximo))
+			{
+				return 0;
+			}
+		}
+	}
+	
+}
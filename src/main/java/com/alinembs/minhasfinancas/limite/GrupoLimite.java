@@ -0,0 +1,42 @@
+package com.alinembs.minhasfinancas.limite;
+
+/**
+ * Grupos de endpoints com limites próprios. Só as leituras podem ser descartadas
+ * quando o pool de conexões está saturado; escritas e login passam apenas pelo limite.
+ */
+public enum GrupoLimite {
+	
+	LEITURA("leitura", true),
+	ESCRITA("escrita", false),
+	SALDO("saldo", true),
+	AUTENTICACAO("autenticacao", false);
+	
+	private final String propriedade;
+	private final boolean descartavel;
+	
+	GrupoLimite(String propriedade, boolean descartavel) {
+		this.propriedade = propriedade;
+		this.descartavel = descartavel;
+	}
+	
+	public String getPropriedade() {
+		return propriedade;
+	}
+	
+	public boolean isDescartavel() {
+		return descartavel;
+	}
+	
+	public static GrupoLimite de(String metodo, String caminho) {
+		if(caminho.startsWith("/api/usuarios/autenticar"))
+		{
+			return AUTENTICACAO;
+		}
+		if(caminho.startsWith("/api/usuarios/") && (caminho.endsWith("/saldo") || caminho.endsWith("/resumo")))
+		{
+			return SALDO;
+		}
+		return "GET".equals(metodo) || "HEAD".equals(metodo) ? LEITURA : ESCRITA;
+	}
+
+}
@@ -0,0 +1,48 @@
+package com.alinembs.minhasfinancas.limite;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Um balde de tokens por usuário e grupo de endpoints. Os baldes ociosos saem da
+ * memória depois de {@code ociosidade}; um balde novo começa cheio.
+ */
+public class LimitadorRequisicoes {
+
+	private final Map<GrupoLimite, LimiteGrupo> limites;
+	private final Cache<String, BaldeTokens> baldes;
+	private final LongSupplier relogio;
+	
+	public LimitadorRequisicoes(Map<GrupoLimite, LimiteGrupo> limites, long tamanhoMaximo, Duration ociosidade, LongSupplier relogio) {
+		this.limites = new EnumMap<>(limites);
+		this.baldes = Caffeine.newBuilder()
+				.maximumSize(tamanhoMaximo)
+				.expireAfterAccess(ociosidade)
+				.build();
+		this.relogio = relogio;
+	}
+	
+	/** @return 0 se a requisição pode seguir, ou os nanos que o cliente deve esperar */
+	public long consumir(GrupoLimite grupo, String chave) {
+		LimiteGrupo limite = limites.get(grupo);
+		if(limite == null)
+		{
+			return 0;
+		}
+		long agora = relogio.getAsLong();
+		BaldeTokens balde = baldes.get(grupo.ordinal() + ":" + chave, k -> new BaldeTokens(agora));
+		return balde.consumir(agora, limite.getIntervalo(), limite.getCapacidade());
+	}
+	
+	public void registrarMetricas(MeterRegistry registry) {
+		registry.gauge("minhasfinancas.limite.baldes", baldes, c -> c.estimatedSize());
+	}
+	
+}
@@ -0,0 +1,74 @@
+package com.alinembs.minhasfinancas.limite;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Limites por grupo em {@code minhasfinancas.limite.<grupo>.capacidade} (rajada) e
+ * {@code minhasfinancas.limite.<grupo>.por-segundo} (reposição).
+ */
+@Configuration
+public class LimiteConfig {
+
+	private ProtecaoSobrecarga protecaoSobrecarga;
+	
+	@Bean
+	public LimitadorRequisicoes limitadorRequisicoes(Environment ambiente, MeterRegistry registry,
+			@Value("${minhasfinancas.limite.tamanho-maximo:100000}") long tamanhoMaximo,
+			@Value("${minhasfinancas.limite.ociosidade:10m}") Duration ociosidade) {
+		Map<GrupoLimite, LimiteGrupo> limites = new EnumMap<>(GrupoLimite.class);
+		for(GrupoLimite grupo : GrupoLimite.values())
+		{
+			String prefixo = "minhasfinancas.limite." + grupo.getPropriedade();
+			Integer capacidade = ambiente.getProperty(prefixo + ".capacidade", Integer.class);
+			Double porSegundo = ambiente.getProperty(prefixo + ".por-segundo", Double.class);
+			if(capacidade != null && porSegundo != null)
+			{
+				limites.put(grupo, new LimiteGrupo(capacidade, porSegundo));
+			}
+		}
+		LimitadorRequisicoes limitador = new LimitadorRequisicoes(limites, tamanhoMaximo, ociosidade, System::nanoTime);
+		limitador.registrarMetricas(registry);
+		return limitador;
+	}
+	
+	@Bean
+	public ProtecaoSobrecarga protecaoSobrecarga(MeterRegistry registry,
+			@Value("${minhasfinancas.limite.sobrecarga.espera-maxima:200ms}") Duration esperaMaxima,
+			@Value("${minhasfinancas.limite.sobrecarga.admissao-minima:0.1}") double admissaoMinima) {
+		protecaoSobrecarga = new ProtecaoSobrecarga(registry, esperaMaxima, admissaoMinima);
+		return protecaoSobrecarga;
+	}
+	
+	@Bean
+	public FilterRegistrationBean<LimiteRequisicoesFilter> filtroLimiteRequisicoes(LimitadorRequisicoes limitador,
+			ProtecaoSobrecarga protecao, MeterRegistry registry,
+			@Value("${minhasfinancas.limite.habilitado:true}") boolean habilitado) {
+		FilterRegistrationBean<LimiteRequisicoesFilter> registro = new FilterRegistrationBean<>(
+				new LimiteRequisicoesFilter(limitador, protecao, registry));
+		registro.addUrlPatterns("/api/*");
+		// Depois do token, que identifica o usuario, e antes de qualquer trabalho da requisicao.
+		registro.setOrder(1);
+		registro.setEnabled(habilitado);
+		return registro;
+	}
+	
+	@Scheduled(fixedDelayString = "${minhasfinancas.limite.sobrecarga.intervalo:PT1S}")
+	public void amostrarSobrecarga() {
+		if(protecaoSobrecarga != null)
+		{
+			protecaoSobrecarga.amostrar();
+		}
+	}
+	
+}
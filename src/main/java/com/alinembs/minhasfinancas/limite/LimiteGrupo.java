@@ -0,0 +1,15 @@
+package com.alinembs.minhasfinancas.limite;
+
+import lombok.Value;
+
+@Value
+public class LimiteGrupo {
+
+	int capacidade;
+	double porSegundo;
+	
+	long getIntervalo() {
+		return (long) (1_000_000_000L / porSegundo);
+	}
+	
+}
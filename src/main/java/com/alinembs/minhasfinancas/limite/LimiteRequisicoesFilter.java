@@ -0,0 +1,88 @@
+package com.alinembs.minhasfinancas.limite;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.alinembs.minhasfinancas.token.AutenticacaoTokenFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Aplica o {@link LimitadorRequisicoes} por usuário do token (ou, sem token, por IP)
+ * e o descarte da {@link ProtecaoSobrecarga}.
+ * Excesso do usuário recebe 429; leitura descartada por sobrecarga recebe 503.
+ */
+public class LimiteRequisicoesFilter extends OncePerRequestFilter {
+
+	private final LimitadorRequisicoes limitador;
+	private final ProtecaoSobrecarga protecao;
+	
+	private final Map<GrupoLimite, Counter> permitidas = new EnumMap<>(GrupoLimite.class);
+	private final Map<GrupoLimite, Counter> limitadas = new EnumMap<>(GrupoLimite.class);
+	private final Map<GrupoLimite, Counter> descartadas = new EnumMap<>(GrupoLimite.class);
+	
+	public LimiteRequisicoesFilter(LimitadorRequisicoes limitador, ProtecaoSobrecarga protecao, MeterRegistry registry) {
+		this.limitador = limitador;
+		this.protecao = protecao;
+		for(GrupoLimite grupo : GrupoLimite.values())
+		{
+			permitidas.put(grupo, contador(registry, grupo, "permitida"));
+			limitadas.put(grupo, contador(registry, grupo, "limitada"));
+			descartadas.put(grupo, contador(registry, grupo, "descartada"));
+		}
+	}
+	
+	private static Counter contador(MeterRegistry registry, GrupoLimite grupo, String decisao) {
+		return Counter.builder("minhasfinancas.limite.decisoes")
+				.tag("grupo", grupo.getPropriedade())
+				.tag("decisao", decisao)
+				.register(registry);
+	}
+	
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		String caminho = request.getRequestURI().substring(request.getContextPath().length());
+		GrupoLimite grupo = GrupoLimite.de(request.getMethod(), caminho);
+		
+		long espera = limitador.consumir(grupo, chave(request));
+		if(espera > 0)
+		{
+			limitadas.get(grupo).increment();
+			response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(espera + 999_999_999))));
+			response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "Limite de requisições excedido. Tente novamente mais tarde.");
+			return;
+		}
+		if(grupo.isDescartavel() && !protecao.admitir())
+		{
+			descartadas.get(grupo).increment();
+			response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+			response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Serviço sobrecarregado. Tente novamente em instantes.");
+			return;
+		}
+		permitidas.get(grupo).increment();
+		chain.doFilter(request, response);
+	}
+	
+	private String chave(HttpServletRequest request) {
+		Object autenticado = request.getAttribute(AutenticacaoTokenFilter.ATRIBUTO_USUARIO);
+		if(autenticado != null)
+		{
+			return autenticado.toString();
+		}
+		// O parametro usuario e escolhido pelo cliente; trocar de valor nao pode render um balde novo.
+		return "ip:" + request.getRemoteAddr();
+	}
+	
+}
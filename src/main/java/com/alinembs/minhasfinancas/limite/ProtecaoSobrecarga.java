@@ -0,0 +1,73 @@
+package com.alinembs.minhasfinancas.limite;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Descarte adaptativo de leituras. A cada amostra compara a espera média por uma conexão
+ * do Hikari ({@code hikaricp.connections.acquire}) com {@code esperaMaxima}: acima dela a
+ * fração admitida cai pela metade; abaixo, volta a subir aos poucos.
+ */
+@Slf4j
+public class ProtecaoSobrecarga {
+
+	static final String METRICA_ESPERA = "hikaricp.connections.acquire";
+	
+	private final MeterRegistry registry;
+	private final long esperaMaxima;
+	private final double admissaoMinima;
+	
+	private volatile double admissao = 1.0;
+	private double tempoLido;
+	private long contagemLida;
+	
+	public ProtecaoSobrecarga(MeterRegistry registry, Duration esperaMaxima, double admissaoMinima) {
+		this.registry = registry;
+		this.esperaMaxima = esperaMaxima.toNanos();
+		this.admissaoMinima = admissaoMinima;
+		registry.gauge("minhasfinancas.limite.admissao", this, ProtecaoSobrecarga::getAdmissao);
+	}
+	
+	public boolean admitir() {
+		double atual = admissao;
+		return atual >= 1.0 || ThreadLocalRandom.current().nextDouble() < atual;
+	}
+	
+	public double getAdmissao() {
+		return admissao;
+	}
+	
+	// Chamado pelo agendador; os timers do Hikari sao cumulativos, entao a media e da diferenca.
+	public synchronized void amostrar() {
+		double tempo = 0;
+		long contagem = 0;
+		for(Timer timer : registry.find(METRICA_ESPERA).timers())
+		{
+			tempo += timer.totalTime(TimeUnit.NANOSECONDS);
+			contagem += timer.count();
+		}
+		long novas = contagem - contagemLida;
+		double espera = novas > 0 ? (tempo - tempoLido) / novas : 0;
+		tempoLido = tempo;
+		contagemLida = contagem;
+		ajustar(espera);
+	}
+	
+	synchronized void ajustar(double esperaMedia) {
+		double anterior = admissao;
+		admissao = esperaMedia > esperaMaxima
+				? Math.max(admissaoMinima, anterior / 2)
+				: Math.min(1.0, anterior + 0.1);
+		if(admissao < 1.0 && admissao != anterior)
+		{
+			log.warn("Espera media por conexao de {} ms; admitindo {}% das leituras",
+					Math.round(esperaMedia / 1_000_000), Math.round(admissao * 100));
+		}
+	}
+	
+}
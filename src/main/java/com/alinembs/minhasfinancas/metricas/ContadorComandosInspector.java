@@ -0,0 +1,17 @@
+package com.alinembs.minhasfinancas.metricas;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Conta cada comando SQL preparado pelo Hibernate na requisição corrente. Um lote
+ * de INSERTs conta uma vez, já que é um único comando preparado.
+ */
+public class ContadorComandosInspector implements StatementInspector {
+
+	@Override
+	public String inspect(String sql) {
+		EstatisticasRequisicao.registrarComando(sql);
+		return sql;
+	}
+	
+}
@@ -0,0 +1,88 @@
+package com.alinembs.minhasfinancas.metricas;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Acompanha, pelo JFR, as threads virtuais que ficaram presas à thread de plataforma
+ * (por exemplo, em um bloco {@code synchronized} do driver JDBC) por mais que o
+ * limite configurado, publicando o tempo em {@code minhasfinancas.threads.fixadas}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "minhasfinancas.threads.virtuais.diagnostico-fixacao.habilitado", havingValue = "true")
+public class DiagnosticoFixacaoThreads implements SmartLifecycle {
+
+	static final String EVENTO = "jdk.VirtualThreadPinned";
+	
+	private final Timer fixacoes;
+	private final Duration limite;
+	private RecordingStream gravacao;
+	
+	public DiagnosticoFixacaoThreads(MeterRegistry registry,
+			@Value("${minhasfinancas.threads.virtuais.diagnostico-fixacao.limite:20ms}") Duration limite) {
+		this.fixacoes = Timer.builder("minhasfinancas.threads.fixadas")
+				.description("Tempo em que uma thread virtual ficou fixada na thread de plataforma")
+				.register(registry);
+		this.limite = limite;
+	}
+	
+	@Override
+	public void start() {
+		if(Runtime.version().feature() < 21)
+		{
+			log.info("Diagnostico de fixacao de threads virtuais ignorado: requer Java 21");
+			return;
+		}
+		gravacao = new RecordingStream();
+		gravacao.enable(EVENTO).withThreshold(limite).withStackTrace();
+		gravacao.onEvent(EVENTO, this::registrar);
+		gravacao.startAsync();
+	}
+	
+	private void registrar(RecordedEvent evento) {
+		fixacoes.record(evento.getDuration());
+		log.warn("Thread virtual fixada por {} ms em {}", evento.getDuration().toMillis(), origem(evento));
+	}
+	
+	// Primeiro quadro da aplicacao na pilha; sem ele, o quadro do topo.
+	private String origem(RecordedEvent evento) {
+		if(evento.getStackTrace() == null || evento.getStackTrace().getFrames().isEmpty())
+		{
+			return "?";
+		}
+		List<RecordedFrame> quadros = evento.getStackTrace().getFrames();
+		RecordedFrame escolhido = quadros.stream()
+				.filter( quadro -> quadro.getMethod().getType().getName().startsWith("com.alinembs."))
+				.findFirst()
+				.orElse(quadros.get(0));
+		return escolhido.getMethod().getType().getName() + "." + escolhido.getMethod().getName() + ":" + escolhido.getLineNumber();
+	}
+	
+	@Override
+	public void stop() {
+		if(gravacao != null)
+		{
+			gravacao.close();
+			gravacao = null;
+		}
+	}
+	
+	@Override
+	public boolean isRunning() {
+		return gravacao != null;
+	}
+	
+}
@@ -0,0 +1,17 @@
+package com.alinembs.minhasfinancas.metricas;
+
+import org.hibernate.Interceptor;
+import org.hibernate.type.Type;
+
+/**
+ * Conta as entidades hidratadas pelo Hibernate na requisição corrente.
+ */
+public class EstatisticasCarregamentoInterceptor implements Interceptor {
+
+	@Override
+	public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+		EstatisticasRequisicao.registrarCarregamento();
+		return false;
+	}
+	
+}
@@ -0,0 +1,116 @@
+package com.alinembs.minhasfinancas.metricas;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.alinembs.minhasfinancas.exception.OrcamentoSqlExcedidoException;
+
+import lombok.Getter;
+
+/**
+ * Contadores do Hibernate acumulados durante uma requisição HTTP. Ficam presos
+ * à thread da requisição; fora de uma requisição os registros são ignorados.
+ * <p>
+ * Cada comando SQL é contado pelo texto, o que permite apontar o comando mais
+ * repetido quando a requisição estoura o orçamento (sintoma típico de N+1).
+ */
+@Getter
+public class EstatisticasRequisicao {
+
+	/** Atributo da requisição onde as estatísticas ficam ao fim do processamento. */
+	public static final String ATRIBUTO = EstatisticasRequisicao.class.getName();
+	
+	private static final ThreadLocal<EstatisticasRequisicao> ATUAL = new ThreadLocal<>();
+	
+	private final int orcamento;
+	private final boolean falharAoExceder;
+	private final Map<String, Integer> comandos = new HashMap<>();
+	
+	private long consultas;
+	private long entidadesCarregadas;
+	private long acertosCache;
+	private long falhasCache;
+	
+	private EstatisticasRequisicao(int orcamento, boolean falharAoExceder) {
+		this.orcamento = orcamento;
+		this.falharAoExceder = falharAoExceder;
+	}
+	
+	/**
+	 * @param orcamento quantidade máxima de comandos SQL; zero desliga o controle
+	 * @param falharAoExceder se verdadeiro, o comando que estoura o orçamento lança
+	 *        {@link OrcamentoSqlExcedidoException}
+	 */
+	public static EstatisticasRequisicao iniciar(int orcamento, boolean falharAoExceder) {
+		EstatisticasRequisicao estatisticas = new EstatisticasRequisicao(orcamento, falharAoExceder);
+		ATUAL.set(estatisticas);
+		return estatisticas;
+	}
+	
+	// Devolve a thread as estatisticas de uma requisicao assincrona retomada em outro despacho.
+	static void retomar(EstatisticasRequisicao estatisticas) {
+		ATUAL.set(estatisticas);
+	}
+	
+	public static EstatisticasRequisicao atual() {
+		return ATUAL.get();
+	}
+	
+	public static void encerrar() {
+		ATUAL.remove();
+	}
+	
+	public boolean isOrcamentoExcedido() {
+		return orcamento > 0 && consultas > orcamento;
+	}
+	
+	public Map<String, Integer> getComandos() {
+		return Collections.unmodifiableMap(comandos);
+	}
+	
+	public Map.Entry<String, Integer> getComandoMaisRepetido() {
+		return comandos.entrySet().stream()
+				.max(Map.Entry.comparingByValue())
+				.orElse(null);
+	}
+	
+	static void registrarComando(String sql) {
+		EstatisticasRequisicao estatisticas = ATUAL.get();
+		if(estatisticas == null)
+		{
+			return;
+		}
+		estatisticas.consultas++;
+		estatisticas.comandos.merge(sql, 1, Integer::sum);
+		if(estatisticas.falharAoExceder && estatisticas.isOrcamentoExcedido())
+		{
+			throw new OrcamentoSqlExcedidoException("Requisição excedeu o orçamento de "
+					+ estatisticas.orcamento + " comandos SQL: " + sql);
+		}
+	}
+	
+	static void registrarCarregamento() {
+		EstatisticasRequisicao estatisticas = ATUAL.get();
+		if(estatisticas != null)
+		{
+			estatisticas.entidadesCarregadas++;
+		}
+	}
+	
+	static void registrarCache(boolean acerto) {
+		EstatisticasRequisicao estatisticas = ATUAL.get();
+		if(estatisticas != null)
+		{
+			if(acerto)
+			{
+				estatisticas.acertosCache++;
+			}
+			else
+			{
+				estatisticas.falhasCache++;
+			}
+		}
+	}
+	
+}
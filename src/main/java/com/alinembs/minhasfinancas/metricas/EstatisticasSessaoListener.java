@@ -0,0 +1,16 @@
+package com.alinembs.minhasfinancas.metricas;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Registrado em toda sessão pelo hibernate.session.events.auto; conta as leituras
+ * do cache de segundo nível da requisição corrente.
+ */
+public class EstatisticasSessaoListener extends BaseSessionEventListener {
+
+	@Override
+	public void cacheGetEnd(boolean hit) {
+		EstatisticasRequisicao.registrarCache(hit);
+	}
+	
+}
@@ -0,0 +1,48 @@
+package com.alinembs.minhasfinancas.metricas;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class MetricasConfig {
+
+	static final String[] ENDPOINTS_EM_STREAMING = { "/api/lancamentos/stream", "/api/lancamentos/export" };
+
+	@Bean
+	public TimedAspect timedAspect(MeterRegistry registry) {
+		return new TimedAspect(registry);
+	}
+	
+	@Bean
+	public HibernatePropertiesCustomizer estatisticasHibernate() {
+		return propriedades -> {
+			propriedades.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, EstatisticasSessaoListener.class.getName());
+			propriedades.put(AvailableSettings.INTERCEPTOR, new EstatisticasCarregamentoInterceptor());
+			propriedades.put(AvailableSettings.STATEMENT_INSPECTOR, new ContadorComandosInspector());
+		};
+	}
+	
+	@Bean
+	public WebMvcConfigurer metricasRequisicao(MeterRegistry registry,
+			@Value("${minhasfinancas.sql.orcamento-por-requisicao:0}") int orcamentoSql,
+			@Value("${minhasfinancas.sql.falhar-ao-exceder:false}") boolean falharAoExceder) {
+		return new WebMvcConfigurer() {
+			@Override
+			public void addInterceptors(InterceptorRegistry interceptors) {
+				// O corpo em streaming consulta o banco na thread da tarefa assincrona, fora do contador:
+				// esses endpoints ficam fora do orcamento em vez de aparecerem com uma contagem parcial.
+				interceptors.addInterceptor(new MetricasRequisicaoInterceptor(registry, orcamentoSql, falharAoExceder))
+						.excludePathPatterns(ENDPOINTS_EM_STREAMING);
+			}
+		};
+	}
+	
+}
@@ -0,0 +1,36 @@
+package com.alinembs.minhasfinancas.metricas;
+
+import org.aspectj.lang.annotation.AfterThrowing;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import com.alinembs.minhasfinancas.exception.ErroAutenticacao;
+import com.alinembs.minhasfinancas.exception.RegraNegocioException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Conta as exceções de negócio e de autenticação lançadas pelos serviços, por
+ * tipo e mensagem. As mensagens são fixas no código, então a cardinalidade é baixa.
+ */
+@Aspect
+@Component
+public class MetricasExcecoesAspect {
+
+	private final MeterRegistry registry;
+	
+	public MetricasExcecoesAspect(MeterRegistry registry) {
+		this.registry = registry;
+	}
+	
+	@AfterThrowing(pointcut = "execution(public * com.alinembs.minhasfinancas.service.*Service.*(..))", throwing = "e")
+	public void contar(RuntimeException e) {
+		if(e instanceof RegraNegocioException || e instanceof ErroAutenticacao)
+		{
+			registry.counter("minhasfinancas.excecoes",
+					"tipo", e.getClass().getSimpleName(),
+					"mensagem", String.valueOf(e.getMessage())).increment();
+		}
+	}
+	
+}
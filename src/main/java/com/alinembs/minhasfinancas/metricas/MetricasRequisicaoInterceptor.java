@@ -0,0 +1,107 @@
+package com.alinembs.minhasfinancas.metricas;
+
+import java.util.Map;
+
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Publica, por endpoint, quantos comandos SQL, entidades carregadas e leituras
+ * de cache cada requisição gerou, e avisa quando o orçamento de SQL é excedido.
+ * <p>
+ * Numa requisição assíncrona as estatísticas saem da thread quando o processamento
+ * concorrente começa e são retomadas no despacho seguinte. Os comandos executados
+ * em outra thread (o corpo de um {@code StreamingResponseBody}) não são contados.
+ */
+@Slf4j
+public class MetricasRequisicaoInterceptor implements AsyncHandlerInterceptor {
+
+	/** Atributo que guarda as estatísticas entre os despachos de uma requisição assíncrona. */
+	static final String ATRIBUTO_EM_ANDAMENTO = EstatisticasRequisicao.class.getName() + ".emAndamento";
+
+	private final MeterRegistry registry;
+	private final int orcamentoSql;
+	private final boolean falharAoExceder;
+	
+	public MetricasRequisicaoInterceptor(MeterRegistry registry, int orcamentoSql, boolean falharAoExceder) {
+		this.registry = registry;
+		this.orcamentoSql = orcamentoSql;
+		this.falharAoExceder = falharAoExceder;
+	}
+	
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		EstatisticasRequisicao emAndamento = (EstatisticasRequisicao) request.getAttribute(ATRIBUTO_EM_ANDAMENTO);
+		if(emAndamento != null)
+		{
+			request.removeAttribute(ATRIBUTO_EM_ANDAMENTO);
+			EstatisticasRequisicao.retomar(emAndamento);
+		}
+		else
+		{
+			EstatisticasRequisicao.iniciar(orcamentoSql, falharAoExceder);
+		}
+		return true;
+	}
+	
+	// A thread volta ao pool do container sem passar por afterCompletion.
+	@Override
+	public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		EstatisticasRequisicao estatisticas = EstatisticasRequisicao.atual();
+		EstatisticasRequisicao.encerrar();
+		if(estatisticas != null)
+		{
+			request.setAttribute(ATRIBUTO_EM_ANDAMENTO, estatisticas);
+		}
+	}
+	
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+		
+		EstatisticasRequisicao estatisticas = EstatisticasRequisicao.atual();
+		EstatisticasRequisicao.encerrar();
+		if(estatisticas == null)
+		{
+			return;
+		}
+		
+		request.setAttribute(EstatisticasRequisicao.ATRIBUTO, estatisticas);
+		
+		Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		String uri = padrao == null ? "UNKNOWN" : padrao.toString();
+		String metodo = request.getMethod();
+		
+		if(estatisticas.isOrcamentoExcedido())
+		{
+			Map.Entry<String, Integer> maisRepetido = estatisticas.getComandoMaisRepetido();
+			log.warn("{} {} executou {} comandos SQL (orcamento {}); mais repetido {}x: {}", metodo, uri,
+					estatisticas.getConsultas(), orcamentoSql, maisRepetido.getValue(), maisRepetido.getKey());
+			registry.counter("minhasfinancas.requisicao.orcamento.excedido", "uri", uri, "method", metodo).increment();
+		}
+		
+		DistributionSummary.builder("minhasfinancas.requisicao.consultas")
+				.tags("uri", uri, "method", metodo)
+				.register(registry)
+				.record(estatisticas.getConsultas());
+		DistributionSummary.builder("minhasfinancas.requisicao.entidades")
+				.tags("uri", uri, "method", metodo)
+				.register(registry)
+				.record(estatisticas.getEntidadesCarregadas());
+		Counter.builder("minhasfinancas.requisicao.cache")
+				.tags("uri", uri, "method", metodo, "resultado", "acerto")
+				.register(registry)
+				.increment(estatisticas.getAcertosCache());
+		Counter.builder("minhasfinancas.requisicao.cache")
+				.tags("uri", uri, "method", metodo, "resultado", "falha")
+				.register(registry)
+				.increment(estatisticas.getFalhasCache());
+	}
+	
+}
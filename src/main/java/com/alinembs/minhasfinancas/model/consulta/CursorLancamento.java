@@ -0,0 +1,45 @@
+package com.alinembs.minhasfinancas.model.consulta;
+
+import com.alinembs.minhasfinancas.exception.RegraNegocioException;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class CursorLancamento {
+
+	public static final CursorLancamento INICIO = new CursorLancamento(0, 0, 0l);
+	
+	private static final String SEPARADOR = "-";
+	
+	private Integer ano;
+	private Integer mes;
+	private Long id;
+	
+	public static CursorLancamento de(ResumoLancamento lancamento) {
+		return new CursorLancamento(lancamento.getAno(), lancamento.getMes(), lancamento.getId());
+	}
+	
+	public static CursorLancamento de(String valor) {
+		if(valor == null || valor.isBlank())
+		{
+			return INICIO;
+		}
+		String[] partes = valor.split(SEPARADOR);
+		if(partes.length != 3)
+		{
+			throw new RegraNegocioException("Cursor de paginação inválido.");
+		}
+		try {
+			return new CursorLancamento(Integer.valueOf(partes[0]), Integer.valueOf(partes[1]), Long.valueOf(partes[2]));
+		}catch(NumberFormatException e) {
+			throw new RegraNegocioException("Cursor de paginação inválido.");
+		}
+	}
+	
+	@Override
+	public String toString() {
+		return ano + SEPARADOR + mes + SEPARADOR + id;
+	}
+}
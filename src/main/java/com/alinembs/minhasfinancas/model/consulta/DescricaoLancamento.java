@@ -0,0 +1,20 @@
+package com.alinembs.minhasfinancas.model.consulta;
+
+import com.alinembs.minhasfinancas.model.entity.Lancamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class DescricaoLancamento {
+
+	private Long id;
+	private Long idUsuario;
+	private String descricao;
+	
+	public static DescricaoLancamento de(Lancamento lancamento) {
+		Long idUsuario = lancamento.getUsuario() == null ? null : lancamento.getUsuario().getId();
+		return new DescricaoLancamento(lancamento.getId(), idUsuario, lancamento.getDescricao());
+	}
+}
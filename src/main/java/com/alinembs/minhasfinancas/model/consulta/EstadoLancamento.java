@@ -0,0 +1,46 @@
+package com.alinembs.minhasfinancas.model.consulta;
+
+import java.math.BigDecimal;
+
+import com.alinembs.minhasfinancas.model.entity.Lancamento;
+import com.alinembs.minhasfinancas.model.entity.Usuario;
+import com.alinembs.minhasfinancas.model.enums.StatusLancamento;
+import com.alinembs.minhasfinancas.model.enums.TipoLancamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// Colunas do lancamento usadas numa troca de status, lidas sem carregar a entidade.
+@Data
+@AllArgsConstructor
+public class EstadoLancamento {
+
+	private Long id;
+	private String descricao;
+	private Integer mes;
+	private Integer ano;
+	private BigDecimal valor;
+	private TipoLancamento tipo;
+	private StatusLancamento status;
+	private Long idUsuario;
+	private long versao;
+	
+	public MovimentoLancamento getMovimento() {
+		return new MovimentoLancamento(idUsuario, ano, mes, tipo, status, valor);
+	}
+	
+	// Lancamento desanexado com o estado apos a troca, para resposta e auditoria.
+	public Lancamento comStatus(StatusLancamento novoStatus, long novaVersao) {
+		return Lancamento.builder()
+				.id(id)
+				.descricao(descricao)
+				.mes(mes)
+				.ano(ano)
+				.valor(valor)
+				.tipo(tipo)
+				.status(novoStatus)
+				.usuario(Usuario.builder().id(idUsuario).build())
+				.versao(novaVersao)
+				.build();
+	}
+}
@@ -0,0 +1,28 @@
+package com.alinembs.minhasfinancas.model.consulta;
+
+import java.math.BigDecimal;
+
+import com.alinembs.minhasfinancas.model.enums.StatusLancamento;
+import com.alinembs.minhasfinancas.model.enums.TipoLancamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FiltroLancamento {
+
+	private Long idUsuario;
+	private String descricao;
+	private Integer mes;
+	private Integer ano;
+	private TipoLancamento tipo;
+	private StatusLancamento status;
+	private BigDecimal valorMinimo;
+	private BigDecimal valorMaximo;
+	
+}
@@ -0,0 +1,36 @@
+package com.alinembs.minhasfinancas.model.consulta;
+
+import java.math.BigDecimal;
+
+import com.alinembs.minhasfinancas.model.entity.Lancamento;
+import com.alinembs.minhasfinancas.model.enums.StatusLancamento;
+import com.alinembs.minhasfinancas.model.enums.TipoLancamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class MovimentoLancamento {
+
+	private Long idUsuario;
+	private Integer ano;
+	private Integer mes;
+	private TipoLancamento tipo;
+	private StatusLancamento status;
+	private BigDecimal valor;
+	
+	public static MovimentoLancamento de(Lancamento lancamento) {
+		Long idUsuario = lancamento.getUsuario() == null ? null : lancamento.getUsuario().getId();
+		return new MovimentoLancamento(idUsuario, lancamento.getAno(), lancamento.getMes(),
+				lancamento.getTipo(), lancamento.getStatus(), lancamento.getValor());
+	}
+	
+	public boolean isCompleto() {
+		return idUsuario != null && tipo != null && valor != null;
+	}
+	
+	public boolean isCompletoNoPeriodo() {
+		return isCompleto() && ano != null && mes != null && status != null;
+	}
+}
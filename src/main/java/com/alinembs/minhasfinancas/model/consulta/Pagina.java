@@ -0,0 +1,15 @@
+package com.alinembs.minhasfinancas.model.consulta;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class Pagina<T> {
+
+	private List<T> conteudo;
+	private String proximo;
+	
+}
@@ -0,0 +1,48 @@
+package com.alinembs.minhasfinancas.model.consulta;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.alinembs.minhasfinancas.model.entity.ResumoMensalUsuario;
+
+import lombok.Data;
+
+/**
+ * Receitas, despesas e saldo de cada um dos doze meses do ano, abertos por status.
+ */
+@Data
+public class ResumoAnual {
+
+	private Integer ano;
+	private List<ResumoMes> meses = new ArrayList<>();
+	
+	public ResumoAnual(Integer ano) {
+		this.ano = ano;
+		for(int mes = 1; mes <= 12; mes++)
+		{
+			meses.add(new ResumoMes(mes));
+		}
+	}
+	
+	public BigDecimal getReceitas() {
+		return meses.stream().map(ResumoMes::getReceitas).reduce(BigDecimal.ZERO, BigDecimal::add);
+	}
+	
+	public BigDecimal getDespesas() {
+		return meses.stream().map(ResumoMes::getDespesas).reduce(BigDecimal.ZERO, BigDecimal::add);
+	}
+	
+	public BigDecimal getSaldo() {
+		return getReceitas().subtract(getDespesas());
+	}
+	
+	public static ResumoAnual de(Integer ano, List<ResumoMensalUsuario> linhas) {
+		ResumoAnual resumo = new ResumoAnual(ano);
+		for(ResumoMensalUsuario linha : linhas)
+		{
+			resumo.meses.get(linha.getMes() - 1).somar(linha.getStatus(), linha.getReceitas(), linha.getDespesas());
+		}
+		return resumo;
+	}
+}
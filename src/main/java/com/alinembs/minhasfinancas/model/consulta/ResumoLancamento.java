@@ -0,0 +1,31 @@
+package com.alinembs.minhasfinancas.model.consulta;
+
+import java.math.BigDecimal;
+
+import com.alinembs.minhasfinancas.model.entity.Lancamento;
+import com.alinembs.minhasfinancas.model.enums.StatusLancamento;
+import com.alinembs.minhasfinancas.model.enums.TipoLancamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// Visao de leitura do lancamento: apenas colunas da propria tabela, sem carregar o usuario.
+@Data
+@AllArgsConstructor
+public class ResumoLancamento {
+
+	private Long id;
+	private String descricao;
+	private Integer mes;
+	private Integer ano;
+	private BigDecimal valor;
+	private TipoLancamento tipo;
+	private StatusLancamento status;
+	private Long idUsuario;
+	
+	public static ResumoLancamento de(Lancamento lancamento) {
+		Long idUsuario = lancamento.getUsuario() == null ? null : lancamento.getUsuario().getId();
+		return new ResumoLancamento(lancamento.getId(), lancamento.getDescricao(), lancamento.getMes(), lancamento.getAno(),
+				lancamento.getValor(), lancamento.getTipo(), lancamento.getStatus(), idUsuario);
+	}
+}
@@ -0,0 +1,38 @@
+package com.alinembs.minhasfinancas.model.consulta;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.alinembs.minhasfinancas.model.enums.StatusLancamento;
+
+import lombok.Data;
+
+@Data
+public class ResumoMes {
+
+	private Integer mes;
+	private BigDecimal receitas = BigDecimal.ZERO;
+	private BigDecimal despesas = BigDecimal.ZERO;
+	private Map<StatusLancamento, Saldo> porStatus = new EnumMap<>(StatusLancamento.class);
+	
+	public ResumoMes(Integer mes) {
+		this.mes = mes;
+		for(StatusLancamento status : StatusLancamento.values())
+		{
+			porStatus.put(status, Saldo.zerado());
+		}
+	}
+	
+	public BigDecimal getSaldo() {
+		return receitas.subtract(despesas);
+	}
+	
+	void somar(StatusLancamento status, BigDecimal receitasStatus, BigDecimal despesasStatus) {
+		Saldo saldo = porStatus.get(status);
+		saldo.setReceitas(saldo.getReceitas().add(receitasStatus));
+		saldo.setDespesas(saldo.getDespesas().add(despesasStatus));
+		receitas = receitas.add(receitasStatus);
+		despesas = despesas.add(despesasStatus);
+	}
+}
@@ -0,0 +1,22 @@
+package com.alinembs.minhasfinancas.model.consulta;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class Saldo {
+
+	private BigDecimal receitas;
+	private BigDecimal despesas;
+	
+	public BigDecimal getSaldo() {
+		return receitas.subtract(despesas);
+	}
+	
+	public static Saldo zerado() {
+		return new Saldo(BigDecimal.ZERO, BigDecimal.ZERO);
+	}
+}
@@ -0,0 +1,75 @@
+package com.alinembs.minhasfinancas.model.entity;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import org.hibernate.annotations.Immutable;
+
+import com.alinembs.minhasfinancas.model.enums.OperacaoAuditoria;
+import com.alinembs.minhasfinancas.model.enums.StatusLancamento;
+import com.alinembs.minhasfinancas.model.enums.TipoLancamento;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Registro somente de inclusão das alterações de lançamentos. As linhas são
+ * gravadas em lote pelo {@code GravadorAuditoria}, via JDBC.
+ */
+@Entity
+@Immutable
+@Table(name = "auditoria_lancamento", schema = "financas", indexes = {
+		@Index(name = "idx_auditoria_lancamento", columnList = "id_lancamento, data_hora")
+})
+@Data
+@NoArgsConstructor
+public class AuditoriaLancamento {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "id")
+	private Long id;
+	
+	@Column(name = "operacao")
+	@Enumerated(value = EnumType.STRING)
+	private OperacaoAuditoria operacao;
+	
+	@Column(name = "id_lancamento")
+	private Long idLancamento;
+	
+	@Column(name = "id_usuario")
+	private Long idUsuario;
+	
+	@Column(name = "ano")
+	private Integer ano;
+	
+	@Column(name = "mes")
+	private Integer mes;
+	
+	@Column(name = "tipo")
+	@Enumerated(value = EnumType.STRING)
+	private TipoLancamento tipo;
+	
+	@Column(name = "status")
+	@Enumerated(value = EnumType.STRING)
+	private StatusLancamento status;
+	
+	@Column(name = "valor", precision = 16, scale = 2)
+	private BigDecimal valor;
+	
+	@Column(name = "descricao")
+	private String descricao;
+	
+	@Column(name = "data_hora")
+	private Instant dataHora;
+	
+}
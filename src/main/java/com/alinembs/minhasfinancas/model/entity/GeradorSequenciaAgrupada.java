@@ -0,0 +1,32 @@
+package com.alinembs.minhasfinancas.model.entity;
+
+import java.util.Properties;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+/**
+ * Gerador de ids por sequência com reserva de blocos (pooled/pooled-lo).
+ * O tamanho do bloco pode ser sobrescrito pela propriedade
+ * {@value #TAMANHO_ALOCACAO} e precisa coincidir com o INCREMENT BY da sequência.
+ */
+public class GeradorSequenciaAgrupada extends SequenceStyleGenerator {
+
+	public static final String TAMANHO_ALOCACAO = "minhasfinancas.id.tamanho-alocacao";
+	
+	@Override
+	public void configure(Type type, Properties parametros, ServiceRegistry serviceRegistry) throws MappingException {
+		
+		Object tamanho = serviceRegistry.requireService(ConfigurationService.class)
+				.getSettings().get(TAMANHO_ALOCACAO);
+		if(tamanho != null)
+		{
+			parametros.setProperty(INCREMENT_PARAM, tamanho.toString());
+		}
+		super.configure(type, parametros, serviceRegistry);
+	}
+	
+}
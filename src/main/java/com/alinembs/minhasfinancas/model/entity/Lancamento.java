@@ -3,6 +3,8 @@ package com.alinembs.minhasfinancas.model.entity;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import org.springframework.data.jpa.convert.threeten.Jsr310JpaConverters;
 
 import com.alinembs.minhasfinancas.model.enums.StatusLancamento;
@@ -13,19 +15,26 @@ import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
+// Os indices sao criados em db/migration/V2__saldo_usuario_e_indices_lancamento.sql; aqui servem apenas ao ddl-auto dos testes.
 @Entity
-@Table(name = "lancamento", schema = "financas")
+@Table(name = "lancamento", schema = "financas", indexes = {
+		@Index(name = "idx_lancamento_usuario_periodo", columnList = "id_usuario, ano, mes, id"),
+		@Index(name = "idx_lancamento_usuario_tipo_status", columnList = "id_usuario, tipo, status")
+})
 @Builder
 @Data
 @NoArgsConstructor
@@ -33,7 +42,12 @@ import lombok.NoArgsConstructor;
 public class Lancamento {
 	
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(generator = "lancamento_seq")
+	@GenericGenerator(name = "lancamento_seq", type = GeradorSequenciaAgrupada.class, parameters = {
+			@Parameter(name = "sequence_name", value = "lancamento_seq"),
+			@Parameter(name = "schema", value = "financas"),
+			@Parameter(name = "increment_size", value = "50")
+	})
 	@Column(name = "id")
 	private Long id;
 	@Column(name = "descricao")
@@ -44,8 +58,9 @@ public class Lancamento {
 	@Column(name = "ano")
 	private Integer ano;
 	
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "id_usuario")
+	@ToString.Exclude
 	private Usuario usuario;
 
 	@Column(name= "valor")
@@ -62,7 +77,11 @@ public class Lancamento {
 	@Column(name = "status")
 	@Enumerated(value = EnumType.STRING)
 	private StatusLancamento status;
-
+	
+	// Primitivo para que o save continue decidindo entre insert e merge pelo id.
+	@Version
+	@Column(name = "versao")
+	private long versao;
 
 	
 }
@@ -0,0 +1,47 @@
+package com.alinembs.minhasfinancas.model.entity;
+
+import java.time.Instant;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resposta guardada de uma requisição com {@code Idempotency-Key}. As linhas são
+ * lidas e gravadas via JDBC pelo {@code ArmazenamentoIdempotenciaPersistente}.
+ */
+@Entity
+@Immutable
+@Table(name = "requisicao_idempotente", schema = "financas", indexes = {
+		@Index(name = "idx_requisicao_idempotente_data_hora", columnList = "data_hora")
+})
+@Data
+@NoArgsConstructor
+public class RequisicaoIdempotente {
+
+	@Id
+	@Column(name = "chave", length = 300)
+	private String chave;
+	
+	@Column(name = "impressao", length = 64)
+	private String impressao;
+	
+	@Column(name = "status")
+	private Integer status;
+	
+	@Column(name = "tipo_conteudo")
+	private String tipoConteudo;
+	
+	@Column(name = "corpo", columnDefinition = "bytea")
+	private byte[] corpo;
+	
+	@Column(name = "data_hora")
+	private Instant dataHora;
+	
+}
@@ -0,0 +1,55 @@
+package com.alinembs.minhasfinancas.model.entity;
+
+import java.math.BigDecimal;
+
+import com.alinembs.minhasfinancas.model.enums.StatusLancamento;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Totais de receitas e despesas de um usuário por mês e status, mantidos a cada
+ * gravação de lançamento. A chave primária cobre a leitura de um ano inteiro.
+ */
+@Entity
+@Table(name = "resumo_mensal_usuario", schema = "financas")
+@IdClass(ResumoMensalUsuarioId.class)
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumoMensalUsuario {
+
+	@Id
+	@Column(name = "id_usuario")
+	private Long idUsuario;
+	
+	@Id
+	@Column(name = "ano")
+	private Integer ano;
+	
+	@Id
+	@Column(name = "mes")
+	private Integer mes;
+	
+	@Id
+	@Column(name = "status")
+	@Enumerated(value = EnumType.STRING)
+	private StatusLancamento status;
+	
+	@Column(name = "receitas", precision = 16, scale = 2)
+	private BigDecimal receitas;
+	
+	@Column(name = "despesas", precision = 16, scale = 2)
+	private BigDecimal despesas;
+	
+}
@@ -0,0 +1,23 @@
+package com.alinembs.minhasfinancas.model.entity;
+
+import java.io.Serializable;
+
+import com.alinembs.minhasfinancas.model.enums.StatusLancamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumoMensalUsuarioId implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+	
+	private Long idUsuario;
+	private Integer ano;
+	private Integer mes;
+	private StatusLancamento status;
+	
+}
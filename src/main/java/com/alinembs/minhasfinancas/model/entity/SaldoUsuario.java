@@ -0,0 +1,37 @@
+package com.alinembs.minhasfinancas.model.entity;
+
+import java.math.BigDecimal;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Tabela criada em db/migration/V2__saldo_usuario_e_indices_lancamento.sql; a chave primaria sustenta o insert-or-skip do saldo.
+@Entity
+@Table(name = "saldo_usuario", schema = "financas")
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SaldoUsuario {
+
+	@Id
+	@Column(name = "id_usuario")
+	private Long idUsuario;
+	
+	@Column(name = "receitas", precision = 16, scale = 2)
+	private BigDecimal receitas;
+	
+	@Column(name = "despesas", precision = 16, scale = 2)
+	private BigDecimal despesas;
+	
+	public BigDecimal getSaldo() {
+		return receitas.subtract(despesas);
+	}
+	
+}
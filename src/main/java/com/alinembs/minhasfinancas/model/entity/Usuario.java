@@ -1,11 +1,17 @@
 package com.alinembs.minhasfinancas.model.entity;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
+import com.alinembs.minhasfinancas.cache.CacheConfig;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
@@ -16,6 +22,8 @@ import lombok.NoArgsConstructor;
 
 @Entity
 @Table (name = "usuario" , schema = "financas")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.REGIAO_USUARIO)
 @Builder
 @Data
 @NoArgsConstructor
@@ -24,7 +32,12 @@ import lombok.NoArgsConstructor;
 public class Usuario {
 	@Id
 	@Column(name = "id") 
-	@GeneratedValue( strategy = GenerationType.IDENTITY) 
+	@GeneratedValue(generator = "usuario_seq")
+	@GenericGenerator(name = "usuario_seq", type = GeradorSequenciaAgrupada.class, parameters = {
+			@Parameter(name = "sequence_name", value = "usuario_seq"),
+			@Parameter(name = "schema", value = "financas"),
+			@Parameter(name = "increment_size", value = "50")
+	})
 	 private Long id;
 	@Column(name = "nome") 
 	
@@ -32,7 +45,7 @@ public class Usuario {
 	@Column(name = "email") 
 	
 	 private String email;
-	@Column(name = "senha") 
+	@Column(name = "senha", length = 100) 
 	@JsonIgnore
 	 private String senha;
 	
@@ -0,0 +1,6 @@
+package com.alinembs.minhasfinancas.model.enums;
+
+public enum OperacaoAuditoria {
+
+	INCLUSAO,ALTERACAO,EXCLUSAO
+}
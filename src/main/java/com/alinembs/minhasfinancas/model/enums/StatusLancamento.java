@@ -1,6 +1,17 @@
 package com.alinembs.minhasfinancas.model.enums;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum StatusLancamento {
 
-	PENDENTE,CANCELADO,EFETIVADO
+	PENDENTE,CANCELADO,EFETIVADO;
+	
+	/**
+	 * Status a partir dos quais um lançamento pode passar para este: qualquer outro,
+	 * como sempre foi. Só a versão do lançamento restringe a troca.
+	 */
+	public Set<StatusLancamento> getOrigensPermitidas() {
+		return EnumSet.complementOf(EnumSet.of(this));
+	}
 }
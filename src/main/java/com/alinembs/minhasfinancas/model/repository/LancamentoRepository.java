@@ -1,25 +1,97 @@
 package com.alinembs.minhasfinancas.model.repository;
 
-import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import com.alinembs.minhasfinancas.model.consulta.DescricaoLancamento;
+import com.alinembs.minhasfinancas.model.consulta.EstadoLancamento;
+import com.alinembs.minhasfinancas.model.consulta.MovimentoLancamento;
+import com.alinembs.minhasfinancas.model.consulta.ResumoLancamento;
 import com.alinembs.minhasfinancas.model.entity.Lancamento;
-import com.alinembs.minhasfinancas.model.enums.TipoLancamento;
+import com.alinembs.minhasfinancas.model.enums.StatusLancamento;
 
-public interface LancamentoRepository extends JpaRepository<Lancamento,Long> {
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+public interface LancamentoRepository extends JpaRepository<Lancamento,Long>, JpaSpecificationExecutor<Lancamento>, LancamentoRepositoryCustom {
 	
 //	@Query( value =
 //			" select sum(l.valor) from Lancamento l join l.usuario u"
 //			+ "where u.id =:idUsuario and l.tipo =:tipo group by u")
 
 
+// Le o estado gravado no banco, sem descarregar alteracoes pendentes da entidade gerenciada.
+@QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+@Query( value =
+	" select new com.alinembs.minhasfinancas.model.consulta.MovimentoLancamento(l.usuario.id, l.ano, l.mes, l.tipo, l.status, l.valor) "
+	+ "from Lancamento l where l.id = :id")
+	Optional<MovimentoLancamento> obterMovimentoPersistido( @Param("id") Long id);
+	
+@Query( value =
+	" select new com.alinembs.minhasfinancas.model.consulta.EstadoLancamento( "
+	+ "l.id, l.descricao, l.mes, l.ano, l.valor, l.tipo, l.status, l.usuario.id, l.versao) "
+	+ "from Lancamento l where l.id = :id")
+	Optional<EstadoLancamento> obterEstado( @Param("id") Long id);
+	
+// Troca condicional: so altera se ninguem gravou o lancamento desde a leitura da versao.
+@Modifying
+@Query( value =
+	" update Lancamento l set l.status = :status, l.versao = l.versao + 1 "
+	+ "where l.id = :id and l.versao = :versao and l.status in :origens")
+	int atualizarStatus( @Param("id") Long id, @Param("status") StatusLancamento status,
+			@Param("versao") long versao, @Param("origens") Collection<StatusLancamento> origens);
+	
+// Linhas de uma troca de status em lote, bloqueadas ate o fim da transacao para que o
+// UPDATE e os resumos enxerguem exatamente o mesmo status anterior. Traz so os ids.
+@Lock(LockModeType.PESSIMISTIC_WRITE)
+@Query( value =
+	" select l.id from Lancamento l "
+	+ "where l.usuario.id = :idUsuario and l.id in :ids and l.status in :origens")
+	List<Long> bloquearParaStatus( @Param("idUsuario") Long idUsuario, @Param("ids") Collection<Long> ids,
+			@Param("origens") Collection<StatusLancamento> origens);
+	
+// Valor dos lancamentos por periodo, tipo e status: a variacao dos resumos sem uma linha por lancamento.
+@Query( value =
+	" select new com.alinembs.minhasfinancas.model.consulta.MovimentoLancamento( "
+	+ "l.usuario.id, l.ano, l.mes, l.tipo, l.status, sum(l.valor)) "
+	+ "from Lancamento l where l.id in :ids "
+	+ "group by l.usuario.id, l.ano, l.mes, l.tipo, l.status")
+	List<MovimentoLancamento> agruparPorPeriodo( @Param("ids") Collection<Long> ids);
+	
+@Modifying
+@Query( value =
+	" update Lancamento l set l.status = :status, l.versao = l.versao + 1 "
+	+ "where l.id in :ids and l.status in :origens")
+	int atualizarStatus( @Param("ids") Collection<Long> ids, @Param("status") StatusLancamento status,
+			@Param("origens") Collection<StatusLancamento> origens);
+	
+@Query( value =
+	" select new com.alinembs.minhasfinancas.model.consulta.EstadoLancamento( "
+	+ "l.id, l.descricao, l.mes, l.ano, l.valor, l.tipo, l.status, l.usuario.id, l.versao) "
+	+ "from Lancamento l where l.id in :ids")
+	List<EstadoLancamento> obterEstados( @Param("ids") Collection<Long> ids);
+	
 @Query( value =
-	" select sum(l.valor) from Lancamento l join l.usuario u "
-	+ "where u.id =:idUsuario and l.tipo =:tipo")
-	BigDecimal obterSaldoPorTipoLancamentoeUsuario( @Param("idUsuario")Long idUsuario, @Param("tipo")TipoLancamento tipo);
+	" select new com.alinembs.minhasfinancas.model.consulta.ResumoLancamento( "
+	+ "l.id, l.descricao, l.mes, l.ano, l.valor, l.tipo, l.status, l.usuario.id) "
+	+ "from Lancamento l where l.id in :ids")
+	List<ResumoLancamento> obterResumos( @Param("ids") Collection<Long> ids);
 	
+@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+@Query( value =
+	" select new com.alinembs.minhasfinancas.model.consulta.DescricaoLancamento(l.id, l.usuario.id, l.descricao) "
+	+ "from Lancamento l")
+	Stream<DescricaoLancamento> percorrerDescricoes();
 
 }
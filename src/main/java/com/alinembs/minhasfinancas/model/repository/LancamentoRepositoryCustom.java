@@ -0,0 +1,32 @@
+package com.alinembs.minhasfinancas.model.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import com.alinembs.minhasfinancas.model.consulta.CursorLancamento;
+import com.alinembs.minhasfinancas.model.consulta.FiltroLancamento;
+import com.alinembs.minhasfinancas.model.consulta.MovimentoLancamento;
+import com.alinembs.minhasfinancas.model.consulta.ResumoLancamento;
+import com.alinembs.minhasfinancas.model.consulta.Saldo;
+import com.alinembs.minhasfinancas.model.enums.StatusLancamento;
+import com.alinembs.minhasfinancas.model.enums.TipoLancamento;
+
+public interface LancamentoRepositoryCustom {
+
+	List<ResumoLancamento> buscar(FiltroLancamento filtro);
+	
+	List<ResumoLancamento> buscarApos(FiltroLancamento filtro, CursorLancamento cursor, int limite);
+	
+	Stream<ResumoLancamento> percorrer(FiltroLancamento filtro);
+	
+	Saldo obterSaldoConsolidado(Long idUsuario, Integer ano, Integer mes, StatusLancamento status,
+			TipoLancamento receita, TipoLancamento despesa);
+	
+	List<Long> bloquearParaStatus(FiltroLancamento filtro, Collection<StatusLancamento> origens);
+	
+	List<MovimentoLancamento> agruparParaStatus(FiltroLancamento filtro, Collection<StatusLancamento> origens);
+	
+	int atualizarStatus(FiltroLancamento filtro, StatusLancamento status, Collection<StatusLancamento> origens);
+	
+}
@@ -0,0 +1,146 @@
+package com.alinembs.minhasfinancas.model.repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import com.alinembs.minhasfinancas.model.consulta.CursorLancamento;
+import com.alinembs.minhasfinancas.model.consulta.FiltroLancamento;
+import com.alinembs.minhasfinancas.model.consulta.MovimentoLancamento;
+import com.alinembs.minhasfinancas.model.consulta.ResumoLancamento;
+import com.alinembs.minhasfinancas.model.consulta.Saldo;
+import com.alinembs.minhasfinancas.model.entity.Lancamento;
+import com.alinembs.minhasfinancas.model.enums.StatusLancamento;
+import com.alinembs.minhasfinancas.model.enums.TipoLancamento;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+public class LancamentoRepositoryCustomImpl implements LancamentoRepositoryCustom {
+
+	private static final int TAMANHO_LOTE_LEITURA = 500;
+	
+	private EntityManager entityManager;
+	
+	public LancamentoRepositoryCustomImpl(EntityManager entityManager) {
+		this.entityManager = entityManager;
+	}
+	
+	@Override
+	public List<ResumoLancamento> buscar(FiltroLancamento filtro) {
+		return criarConsulta(LancamentoSpecifications.filtrar(filtro))
+				.getResultList();
+	}
+	
+	@Override
+	public List<ResumoLancamento> buscarApos(FiltroLancamento filtro, CursorLancamento cursor, int limite) {
+		Specification<Lancamento> especificacao = LancamentoSpecifications.filtrar(filtro)
+				.and(LancamentoSpecifications.apos(cursor));
+		return criarConsulta(especificacao)
+				.setMaxResults(limite)
+				.getResultList();
+	}
+	
+	@Override
+	public Stream<ResumoLancamento> percorrer(FiltroLancamento filtro) {
+		return criarConsulta(LancamentoSpecifications.filtrar(filtro))
+				.setHint(HibernateHints.HINT_FETCH_SIZE, TAMANHO_LOTE_LEITURA)
+				.getResultStream();
+	}
+	
+	// Receitas e despesas numa unica agregacao, com predicados so para ano, mes e status informados.
+	@Override
+	public Saldo obterSaldoConsolidado(Long idUsuario, Integer ano, Integer mes, StatusLancamento status,
+			TipoLancamento receita, TipoLancamento despesa) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Saldo> query = cb.createQuery(Saldo.class);
+		Root<Lancamento> root = query.from(Lancamento.class);
+		query.select(cb.construct(Saldo.class, somarTipo(root, cb, receita), somarTipo(root, cb, despesa)));
+		FiltroLancamento filtro = FiltroLancamento.builder()
+				.idUsuario(idUsuario)
+				.ano(ano)
+				.mes(mes)
+				.status(status)
+				.build();
+		query.where(LancamentoSpecifications.predicados(filtro, root, cb).toArray(new Predicate[0]));
+		return entityManager.createQuery(query).getSingleResult();
+	}
+	
+	private Expression<BigDecimal> somarTipo(Root<Lancamento> root, CriteriaBuilder cb, TipoLancamento tipo) {
+		Expression<BigDecimal> valorDoTipo = cb.<BigDecimal>selectCase()
+				.when(cb.equal(root.get("tipo"), tipo), root.<BigDecimal>get("valor"))
+				.otherwise(BigDecimal.ZERO);
+		return cb.coalesce(cb.sum(valorDoTipo), BigDecimal.ZERO);
+	}
+	
+	// Troca de status por filtro: bloqueio, agregacao e UPDATE com os mesmos predicados,
+	// gerados so para os criterios informados e sem lista de ids no comando.
+	@Override
+	public List<Long> bloquearParaStatus(FiltroLancamento filtro, Collection<StatusLancamento> origens) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Long> query = cb.createQuery(Long.class);
+		Root<Lancamento> root = query.from(Lancamento.class);
+		query.select(root.get("id"));
+		query.where(predicadosParaStatus(filtro, origens, root, cb));
+		return entityManager.createQuery(query)
+				.setLockMode(LockModeType.PESSIMISTIC_WRITE)
+				.getResultList();
+	}
+	
+	@Override
+	public List<MovimentoLancamento> agruparParaStatus(FiltroLancamento filtro, Collection<StatusLancamento> origens) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<MovimentoLancamento> query = cb.createQuery(MovimentoLancamento.class);
+		Root<Lancamento> root = query.from(Lancamento.class);
+		query.select(cb.construct(MovimentoLancamento.class,
+				root.get("usuario").get("id"), root.get("ano"), root.get("mes"),
+				root.get("tipo"), root.get("status"), cb.sum(root.<BigDecimal>get("valor"))));
+		query.where(predicadosParaStatus(filtro, origens, root, cb));
+		query.groupBy(root.get("usuario").get("id"), root.get("ano"), root.get("mes"), root.get("tipo"), root.get("status"));
+		return entityManager.createQuery(query).getResultList();
+	}
+	
+	@Override
+	public int atualizarStatus(FiltroLancamento filtro, StatusLancamento status, Collection<StatusLancamento> origens) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaUpdate<Lancamento> update = cb.createCriteriaUpdate(Lancamento.class);
+		Root<Lancamento> root = update.from(Lancamento.class);
+		update.set(root.<StatusLancamento>get("status"), status);
+		update.set(root.<Long>get("versao"), cb.sum(root.<Long>get("versao"), 1L));
+		update.where(predicadosParaStatus(filtro, origens, root, cb));
+		return entityManager.createQuery(update).executeUpdate();
+	}
+	
+	private Predicate[] predicadosParaStatus(FiltroLancamento filtro, Collection<StatusLancamento> origens,
+			Root<Lancamento> root, CriteriaBuilder cb) {
+		List<Predicate> predicados = LancamentoSpecifications.predicados(filtro, root, cb);
+		predicados.add(root.get("status").in(origens));
+		return predicados.toArray(new Predicate[0]);
+	}
+	
+	// Seleciona so as colunas do resumo; usuario.id vem da chave estrangeira, sem join com usuario.
+	private TypedQuery<ResumoLancamento> criarConsulta(Specification<Lancamento> especificacao) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<ResumoLancamento> query = cb.createQuery(ResumoLancamento.class);
+		Root<Lancamento> root = query.from(Lancamento.class);
+		query.select(cb.construct(ResumoLancamento.class,
+				root.get("id"), root.get("descricao"), root.get("mes"), root.get("ano"),
+				root.get("valor"), root.get("tipo"), root.get("status"), root.get("usuario").get("id")));
+		query.where(especificacao.toPredicate(root, query, cb));
+		query.orderBy(QueryUtils.toOrders(LancamentoSpecifications.ORDENACAO, root, cb));
+		return entityManager.createQuery(query);
+	}
+	
+}
@@ -0,0 +1,92 @@
+package com.alinembs.minhasfinancas.model.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.alinembs.minhasfinancas.model.consulta.CursorLancamento;
+import com.alinembs.minhasfinancas.model.consulta.FiltroLancamento;
+import com.alinembs.minhasfinancas.model.entity.Lancamento;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+public final class LancamentoSpecifications {
+
+	public static final Sort ORDENACAO = Sort.by("ano", "mes", "id");
+	
+	private static final char ESCAPE = '\\';
+	
+	private LancamentoSpecifications() {
+	}
+	
+	// Gera apenas os predicados informados, para que o indice (id_usuario, ano, mes, id) atenda a consulta.
+	public static Specification<Lancamento> filtrar(FiltroLancamento filtro) {
+		return (root, query, cb) -> cb.and(predicados(filtro, root, cb).toArray(new Predicate[0]));
+	}
+	
+	// Tambem usado fora de um CriteriaQuery, como no UPDATE em lote de status.
+	static List<Predicate> predicados(FiltroLancamento filtro, Root<Lancamento> root, CriteriaBuilder cb) {
+		List<Predicate> predicados = new ArrayList<>();
+		if(filtro.getIdUsuario() != null)
+		{
+			predicados.add(cb.equal(root.get("usuario").get("id"), filtro.getIdUsuario()));
+		}
+		if(filtro.getAno() != null)
+		{
+			predicados.add(cb.equal(root.get("ano"), filtro.getAno()));
+		}
+		if(filtro.getMes() != null)
+		{
+			predicados.add(cb.equal(root.get("mes"), filtro.getMes()));
+		}
+		if(filtro.getTipo() != null)
+		{
+			predicados.add(cb.equal(root.get("tipo"), filtro.getTipo()));
+		}
+		if(filtro.getStatus() != null)
+		{
+			predicados.add(cb.equal(root.get("status"), filtro.getStatus()));
+		}
+		if(filtro.getValorMinimo() != null)
+		{
+			predicados.add(cb.greaterThanOrEqualTo(root.get("valor"), filtro.getValorMinimo()));
+		}
+		if(filtro.getValorMaximo() != null)
+		{
+			predicados.add(cb.lessThanOrEqualTo(root.get("valor"), filtro.getValorMaximo()));
+		}
+		if(filtro.getDescricao() != null && !filtro.getDescricao().isBlank())
+		{
+			predicados.add(cb.like(cb.lower(root.get("descricao")), "%" + escaparCuringas(filtro.getDescricao().toLowerCase()) + "%", ESCAPE));
+		}
+		return predicados;
+	}
+	
+	// '%' e '_' digitados pelo usuario devem ser comparados literalmente.
+	static String escaparCuringas(String texto) {
+		StringBuilder escapado = new StringBuilder(texto.length());
+		for(int i = 0; i < texto.length(); i++)
+		{
+			char c = texto.charAt(i);
+			if(c == ESCAPE || c == '%' || c == '_')
+			{
+				escapado.append(ESCAPE);
+			}
+			escapado.append(c);
+		}
+		return escapado.toString();
+	}
+	
+	public static Specification<Lancamento> apos(CursorLancamento cursor) {
+		return (root, query, cb) -> cb.or(
+				cb.greaterThan(root.get("ano"), cursor.getAno()),
+				cb.and(cb.equal(root.get("ano"), cursor.getAno()), cb.or(
+						cb.greaterThan(root.get("mes"), cursor.getMes()),
+						cb.and(cb.equal(root.get("mes"), cursor.getMes()), cb.greaterThan(root.get("id"), cursor.getId())))));
+	}
+	
+}
@@ -0,0 +1,68 @@
+package com.alinembs.minhasfinancas.model.repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import com.alinembs.minhasfinancas.model.entity.ResumoMensalUsuario;
+import com.alinembs.minhasfinancas.model.entity.ResumoMensalUsuarioId;
+import com.alinembs.minhasfinancas.model.enums.StatusLancamento;
+import com.alinembs.minhasfinancas.model.enums.TipoLancamento;
+
+import jakarta.persistence.QueryHint;
+
+public interface ResumoMensalUsuarioRepository extends JpaRepository<ResumoMensalUsuario, ResumoMensalUsuarioId> {
+
+	@Modifying
+	@Query( value = 
+		" update ResumoMensalUsuario r set r.receitas = r.receitas + :receitas, r.despesas = r.despesas + :despesas "
+		+ "where r.idUsuario = :idUsuario and r.ano = :ano and r.mes = :mes and r.status = :status")
+	int acumular(@Param("idUsuario") Long idUsuario, @Param("ano") Integer ano, @Param("mes") Integer mes,
+			@Param("status") StatusLancamento status, @Param("receitas") BigDecimal receitas, @Param("despesas") BigDecimal despesas);
+	
+	List<ResumoMensalUsuario> findByIdUsuarioAndAnoOrderByMesAscStatusAsc(Long idUsuario, Integer ano);
+	
+	@Query( value =
+		" select new com.alinembs.minhasfinancas.model.entity.ResumoMensalUsuario( l.usuario.id, l.ano, l.mes, l.status, "
+		+ "sum(case when l.tipo = :receita then l.valor else 0 end), "
+		+ "sum(case when l.tipo = :despesa then l.valor else 0 end) ) "
+		+ "from Lancamento l where l.usuario.id = :idUsuario and l.ano = :ano and l.status is not null "
+		+ "group by l.usuario.id, l.ano, l.mes, l.status order by l.mes, l.status")
+	List<ResumoMensalUsuario> calcularPorAno(@Param("idUsuario") Long idUsuario, @Param("ano") Integer ano,
+			@Param("receita") TipoLancamento receita, @Param("despesa") TipoLancamento despesa);
+	
+	// Cria a linha do mes/status a partir dos lancamentos ja visiveis. Se outra transacao criou a
+	// mesma linha ao mesmo tempo, o INSERT espera o commit dela e nao insere nada (retorna 0).
+	// Declarar a tabela de lancamentos garante o flush dos lancamentos pendentes antes do SELECT.
+	@Modifying
+	@QueryHints({
+		@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "financas.resumo_mensal_usuario"),
+		@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "financas.lancamento")
+	})
+	@Query( nativeQuery = true, value =
+		" insert into financas.resumo_mensal_usuario (id_usuario, ano, mes, status, receitas, despesas) "
+		+ "select l.id_usuario, l.ano, l.mes, l.status, "
+		+ "coalesce(sum(case when l.tipo = 'RECEITA' then l.valor end), 0), "
+		+ "coalesce(sum(case when l.tipo = 'DESPESA' then l.valor end), 0) "
+		+ "from financas.lancamento l where l.id_usuario = :idUsuario and l.ano = :ano and l.mes = :mes and l.status = :status "
+		+ "group by l.id_usuario, l.ano, l.mes, l.status "
+		+ "on conflict do nothing")
+	int inserirCalculadosDoMes(@Param("idUsuario") Long idUsuario, @Param("ano") Integer ano,
+			@Param("mes") Integer mes, @Param("status") String status);
+	
+	@Modifying
+	@Query( value =
+		" insert into ResumoMensalUsuario (idUsuario, ano, mes, status, receitas, despesas) "
+		+ "select l.usuario.id, l.ano, l.mes, l.status, "
+		+ "sum(case when l.tipo = :receita then l.valor else 0 end), "
+		+ "sum(case when l.tipo = :despesa then l.valor else 0 end) "
+		+ "from Lancamento l where l.status is not null group by l.usuario.id, l.ano, l.mes, l.status")
+	int inserirCalculados(@Param("receita") TipoLancamento receita, @Param("despesa") TipoLancamento despesa);
+	
+}
@@ -0,0 +1,80 @@
+package com.alinembs.minhasfinancas.model.repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import com.alinembs.minhasfinancas.model.entity.SaldoUsuario;
+import com.alinembs.minhasfinancas.model.enums.TipoLancamento;
+
+import jakarta.persistence.QueryHint;
+
+public interface SaldoUsuarioRepository extends JpaRepository<SaldoUsuario, Long> {
+
+	@Modifying
+	@Query( value = 
+		" update SaldoUsuario s set s.receitas = s.receitas + :receitas, s.despesas = s.despesas + :despesas "
+		+ "where s.idUsuario = :idUsuario")
+	int acumular(@Param("idUsuario") Long idUsuario, @Param("receitas") BigDecimal receitas, @Param("despesas") BigDecimal despesas);
+	
+	@Query( value =
+		" select new com.alinembs.minhasfinancas.model.entity.SaldoUsuario( l.usuario.id, "
+		+ "sum(case when l.tipo = :receita then l.valor else 0 end), "
+		+ "sum(case when l.tipo = :despesa then l.valor else 0 end) ) "
+		+ "from Lancamento l where l.usuario.id = :idUsuario group by l.usuario.id")
+	List<SaldoUsuario> calcularPorUsuario(@Param("idUsuario") Long idUsuario,
+			@Param("receita") TipoLancamento receita, @Param("despesa") TipoLancamento despesa);
+	
+	// Cria a linha do usuario a partir dos lancamentos ja visiveis. Se outra transacao criou a
+	// mesma linha ao mesmo tempo, o INSERT espera o commit dela e nao insere nada (retorna 0).
+	// Os espacos declarados evitam que o SQL nativo limpe todo o cache de segundo nivel e
+	// garantem o flush dos lancamentos pendentes antes do SELECT.
+	@Modifying
+	@QueryHints({
+		@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "financas.saldo_usuario"),
+		@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "financas.lancamento")
+	})
+	@Query( nativeQuery = true, value =
+		" insert into financas.saldo_usuario (id_usuario, receitas, despesas) "
+		+ "select :idUsuario, "
+		+ "coalesce(sum(case when l.tipo = 'RECEITA' then l.valor end), 0), "
+		+ "coalesce(sum(case when l.tipo = 'DESPESA' then l.valor end), 0) "
+		+ "from financas.lancamento l where l.id_usuario = :idUsuario "
+		+ "on conflict do nothing")
+	int inserirCalculado(@Param("idUsuario") Long idUsuario);
+	
+	@Modifying
+	@QueryHints({
+		@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "financas.saldo_usuario"),
+		@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "financas.lancamento")
+	})
+	@Query( nativeQuery = true, value =
+		" update financas.saldo_usuario set "
+		+ "receitas = (select coalesce(sum(l.valor), 0) from financas.lancamento l where l.id_usuario = :idUsuario and l.tipo = 'RECEITA'), "
+		+ "despesas = (select coalesce(sum(l.valor), 0) from financas.lancamento l where l.id_usuario = :idUsuario and l.tipo = 'DESPESA') "
+		+ "where id_usuario = :idUsuario")
+	int atualizarCalculado(@Param("idUsuario") Long idUsuario);
+	
+	@Query( value =
+		" select new com.alinembs.minhasfinancas.model.entity.SaldoUsuario( l.usuario.id, "
+		+ "sum(case when l.tipo = :receita then l.valor else 0 end), "
+		+ "sum(case when l.tipo = :despesa then l.valor else 0 end) ) "
+		+ "from Lancamento l group by l.usuario.id")
+	List<SaldoUsuario> calcularTodos(@Param("receita") TipoLancamento receita, @Param("despesa") TipoLancamento despesa);
+	
+	@Modifying
+	@Query( value =
+		" insert into SaldoUsuario (idUsuario, receitas, despesas) "
+		+ "select l.usuario.id, "
+		+ "sum(case when l.tipo = :receita then l.valor else 0 end), "
+		+ "sum(case when l.tipo = :despesa then l.valor else 0 end) "
+		+ "from Lancamento l group by l.usuario.id")
+	int inserirCalculados(@Param("receita") TipoLancamento receita, @Param("despesa") TipoLancamento despesa);
+	
+}
@@ -3,14 +3,24 @@ package com.alinembs.minhasfinancas.model.repository;
 
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import com.alinembs.minhasfinancas.cache.CacheConfig;
 import com.alinembs.minhasfinancas.model.entity.Usuario;
 
+import jakarta.persistence.QueryHint;
+
 public interface UsuarioRepository extends JpaRepository<Usuario,Long>{
 	
+	// Resultados no cache de consultas; o Hibernate os invalida a cada escrita na tabela usuario.
+	@QueryHints({ @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+		@QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheConfig.REGIAO_CONSULTAS_USUARIO) })
 	boolean existsByEmail(String email);
 	
+	@QueryHints({ @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+		@QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheConfig.REGIAO_CONSULTAS_USUARIO) })
 	Optional<Usuario> findByEmail(String email);
 	
 	
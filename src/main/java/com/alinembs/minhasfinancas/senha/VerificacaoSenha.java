@@ -0,0 +1,15 @@
+package com.alinembs.minhasfinancas.senha;
+
+import lombok.Value;
+
+/** Resultado da conferência de uma senha; {@code recodificada} vem preenchida quando o hash gravado precisa ser trocado. */
+@Value
+public class VerificacaoSenha {
+
+	boolean valida;
+	String recodificada;
+	
+	public static VerificacaoSenha invalida() {
+		return new VerificacaoSenha(false, null);
+	}
+}
@@ -0,0 +1,120 @@
+package com.alinembs.minhasfinancas.senha;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.alinembs.minhasfinancas.exception.ErroSobrecarga;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Calcula e confere hashes BCrypt num pool próprio e limitado, fora das threads do
+ * Tomcat. Quando a fila enche, ou uma tarefa espera além do limite, a requisição é
+ * recusada com {@link ErroSobrecarga} em vez de acumular logins atrasados.
+ */
+@Component
+public class VerificadorSenhas {
+
+	private static final Pattern BCRYPT = Pattern.compile("\\A\\$2(a|y|b)?\\$\\d\\d\\$[./0-9A-Za-z]{53}");
+	
+	private final BCryptPasswordEncoder codificador;
+	private final ThreadPoolExecutor executor;
+	private final long esperaMaxima;
+	private final Timer verificacoes;
+	private final Counter rejeitadas;
+	
+	public VerificadorSenhas(MeterRegistry registry,
+			@Value("${minhasfinancas.senha.bcrypt.custo:10}") int custo,
+			@Value("${minhasfinancas.senha.threads:0}") int threads,
+			@Value("${minhasfinancas.senha.fila:64}") int fila,
+			@Value("${minhasfinancas.senha.espera-maxima:2s}") Duration esperaMaxima) {
+		this.codificador = new BCryptPasswordEncoder(custo);
+		int tamanhoPool = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+		AtomicInteger contador = new AtomicInteger();
+		this.executor = new ThreadPoolExecutor(tamanhoPool, tamanhoPool, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(fila), tarefa -> {
+					Thread thread = new Thread(tarefa, "senhas-" + contador.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}, new ThreadPoolExecutor.AbortPolicy());
+		this.esperaMaxima = esperaMaxima.toNanos();
+		this.verificacoes = Timer.builder("minhasfinancas.senhas.calculo")
+				.description("Tempo de calculo de um hash de senha, sem a espera na fila")
+				.register(registry);
+		this.rejeitadas = Counter.builder("minhasfinancas.senhas.rejeitadas")
+				.description("Calculos de senha recusados por fila cheia ou espera excessiva")
+				.register(registry);
+		Gauge.builder("minhasfinancas.senhas.fila", executor, e -> e.getQueue().size())
+				.description("Calculos de senha aguardando uma thread")
+				.register(registry);
+		Gauge.builder("minhasfinancas.senhas.ativas", executor, ThreadPoolExecutor::getActiveCount)
+				.description("Calculos de senha em execucao")
+				.register(registry);
+	}
+	
+	public CompletableFuture<String> codificar(String senha) {
+		return executar( () -> codificador.encode(senha));
+	}
+	
+	public CompletableFuture<VerificacaoSenha> verificar(String senha, String armazenada) {
+		return executar( () -> {
+			// Sem senha informada e credencial invalida (400), nao erro interno.
+			if(senha == null || armazenada == null)
+			{
+				return VerificacaoSenha.invalida();
+			}
+			if(!BCRYPT.matcher(armazenada).matches())
+			{
+				// Senha legada, gravada antes do hash: confere em tempo constante e ja devolve o hash.
+				boolean valida = MessageDigest.isEqual(armazenada.getBytes(StandardCharsets.UTF_8), senha.getBytes(StandardCharsets.UTF_8));
+				return valida ? new VerificacaoSenha(true, codificador.encode(senha)) : VerificacaoSenha.invalida();
+			}
+			if(!codificador.matches(senha, armazenada))
+			{
+				return VerificacaoSenha.invalida();
+			}
+			return new VerificacaoSenha(true, codificador.upgradeEncoding(armazenada) ? codificador.encode(senha) : null);
+		});
+	}
+	
+	private <T> CompletableFuture<T> executar(Supplier<T> calculo) {
+		long enfileirada = System.nanoTime();
+		try {
+			return CompletableFuture.supplyAsync( () -> {
+				// Quem esperou demais na fila provavelmente ja desistiu; nao gasta CPU com ele.
+				if(System.nanoTime() - enfileirada > esperaMaxima)
+				{
+					rejeitadas.increment();
+					throw new ErroSobrecarga("Muitas autenticações simultâneas. Tente novamente.");
+				}
+				return verificacoes.record(calculo);
+			}, executor);
+		}catch(RejectedExecutionException e) {
+			rejeitadas.increment();
+			return CompletableFuture.failedFuture(new ErroSobrecarga("Muitas autenticações simultâneas. Tente novamente."));
+		}
+	}
+	
+	@PreDestroy
+	public void encerrar() {
+		executor.shutdown();
+	}
+	
+}
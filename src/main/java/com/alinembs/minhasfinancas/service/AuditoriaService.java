@@ -0,0 +1,10 @@
+package com.alinembs.minhasfinancas.service;
+
+import com.alinembs.minhasfinancas.model.entity.Lancamento;
+import com.alinembs.minhasfinancas.model.enums.OperacaoAuditoria;
+
+public interface AuditoriaService {
+
+	void registrar(OperacaoAuditoria operacao, Lancamento lancamento);
+	
+}
@@ -0,0 +1,21 @@
+package com.alinembs.minhasfinancas.service;
+
+import java.util.List;
+
+import com.alinembs.minhasfinancas.model.consulta.DescricaoLancamento;
+
+public interface BuscaTextualService {
+
+	List<Long> pesquisar(Long idUsuario, String termo, int limite);
+	
+	void indexar(DescricaoLancamento lancamento);
+	
+	void remover(Long idLancamento);
+	
+	int reindexar();
+	
+	boolean isIndiceVazio();
+	
+	void confirmar();
+	
+}
@@ -1,20 +1,38 @@
 package com.alinembs.minhasfinancas.service;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+import com.alinembs.minhasfinancas.model.consulta.CursorLancamento;
+import com.alinembs.minhasfinancas.model.consulta.FiltroLancamento;
+import com.alinembs.minhasfinancas.model.consulta.Pagina;
+import com.alinembs.minhasfinancas.model.consulta.ResumoLancamento;
+import com.alinembs.minhasfinancas.model.consulta.Saldo;
 import com.alinembs.minhasfinancas.model.entity.Lancamento;
+import com.alinembs.minhasfinancas.model.entity.Usuario;
 import com.alinembs.minhasfinancas.model.enums.StatusLancamento;
+import com.alinembs.minhasfinancas.service.importacao.LinhaImportacao;
+import com.alinembs.minhasfinancas.service.importacao.ResultadoImportacao;
 
 public interface LancamentoService {
 	 Lancamento salvar(Lancamento lancamento);
+	 ResultadoImportacao importar(Usuario usuario, List<LinhaImportacao> linhas);
 	 Lancamento atualizar(Lancamento lancamento);
 	 void deletar(Lancamento lancamento);
-	 List<Lancamento> buscar(Lancamento lancamentoFiltro);
+	 List<ResumoLancamento> buscar(FiltroLancamento lancamentoFiltro);
+	 Pagina<ResumoLancamento> buscarPagina(FiltroLancamento lancamentoFiltro, CursorLancamento cursor, int tamanho);
+	 void percorrer(FiltroLancamento lancamentoFiltro, Consumer<ResumoLancamento> consumidor);
+	 List<ResumoLancamento> pesquisar(Long idUsuario, String termo, int limite);
 	 void atualizarStatus(Lancamento lancamento, StatusLancamento status);
+	 Optional<Lancamento> atualizarStatus(Long id, Long idUsuario, StatusLancamento status, Long versaoEsperada);
+	 int atualizarStatusEmLote(Long idUsuario, Collection<Long> ids, StatusLancamento status);
+	 int atualizarStatusEmLote(FiltroLancamento lancamentoFiltro, StatusLancamento status);
 	 void validar(Lancamento lancamento);
 	 Optional<Lancamento> obterPorId(Long id);
 	 BigDecimal obterSaldoPorUsuario(Long id);
+	 Saldo obterSaldo(Long idUsuario, Integer ano, Integer mes, StatusLancamento status);
 	 
 }
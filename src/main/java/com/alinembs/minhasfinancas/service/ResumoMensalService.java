@@ -0,0 +1,20 @@
+package com.alinembs.minhasfinancas.service;
+
+import java.util.List;
+
+import com.alinembs.minhasfinancas.model.consulta.MovimentoLancamento;
+import com.alinembs.minhasfinancas.model.consulta.ResumoAnual;
+
+public interface ResumoMensalService {
+
+	void registrarAlteracao(MovimentoLancamento anterior, MovimentoLancamento atual);
+	
+	void registrarMovimentos(List<MovimentoLancamento> movimentos);
+	
+	void registrarAlteracoes(List<MovimentoLancamento> anteriores, List<MovimentoLancamento> atuais);
+	
+	ResumoAnual obterResumoAnual(Long idUsuario, Integer ano);
+	
+	void reconstruir();
+	
+}
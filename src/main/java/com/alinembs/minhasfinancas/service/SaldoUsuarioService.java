@@ -0,0 +1,23 @@
+package com.alinembs.minhasfinancas.service;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.alinembs.minhasfinancas.model.consulta.MovimentoLancamento;
+import com.alinembs.minhasfinancas.model.entity.SaldoUsuario;
+
+public interface SaldoUsuarioService {
+
+	void registrarAlteracao(MovimentoLancamento anterior, MovimentoLancamento atual);
+	
+	void registrarMovimentos(List<MovimentoLancamento> movimentos);
+	
+	Optional<SaldoUsuario> obterPorUsuario(Long idUsuario);
+	
+	void recalcular(Long idUsuario);
+	
+	List<Long> verificarConsistencia();
+	
+	void reconstruir();
+	
+}
@@ -1,6 +1,7 @@
 package com.alinembs.minhasfinancas.service;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import com.alinembs.minhasfinancas.model.entity.Usuario;
 
@@ -8,8 +9,12 @@ public interface UsuarioService {
 
 	Usuario autenticar(String email, String senha);
 	
+	CompletableFuture<Usuario> autenticarAssincrono(String email, String senha);
+	
 	Usuario salvarUsuario(Usuario usuario);
 	
+	CompletableFuture<Usuario> salvarUsuarioAssincrono(Usuario usuario);
+	
 	void validarEmail(String email);
 	
 	Optional<Usuario> obterPorId(Long id);
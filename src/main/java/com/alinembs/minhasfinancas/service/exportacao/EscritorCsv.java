@@ -0,0 +1,66 @@
+package com.alinembs.minhasfinancas.service.exportacao;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import com.alinembs.minhasfinancas.model.consulta.ResumoLancamento;
+
+// CSV separado por ponto e virgula, com BOM para o Excel; o arquivo pode ser importado de volta pelo LeitorCsv.
+public class EscritorCsv implements EscritorExportacao {
+
+	static final String CABECALHO = "id;descricao;mes;ano;valor;tipo;status";
+	
+	private final Writer saida;
+	
+	public EscritorCsv(OutputStream saida) throws IOException {
+		this.saida = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+		this.saida.write('\uFEFF');
+		this.saida.write(CABECALHO);
+		this.saida.write("\r\n");
+	}
+	
+	@Override
+	public void escrever(ResumoLancamento lancamento) throws IOException {
+		saida.write(String.valueOf(lancamento.getId()));
+		saida.write(';');
+		saida.write(campo(lancamento.getDescricao()));
+		saida.write(';');
+		saida.write(String.valueOf(lancamento.getMes()));
+		saida.write(';');
+		saida.write(String.valueOf(lancamento.getAno()));
+		saida.write(';');
+		saida.write(lancamento.getValor() == null ? "" : lancamento.getValor().toPlainString());
+		saida.write(';');
+		saida.write(lancamento.getTipo() == null ? "" : lancamento.getTipo().name());
+		saida.write(';');
+		saida.write(lancamento.getStatus() == null ? "" : lancamento.getStatus().name());
+		saida.write("\r\n");
+	}
+	
+	private String campo(String valor) {
+		if(valor == null)
+		{
+			return "";
+		}
+		// Planilhas executam texto iniciado por estes caracteres como formula; o apostrofo o mantem como texto.
+		if(!valor.isEmpty() && "=+-@\t\r".indexOf(valor.charAt(0)) >= 0)
+		{
+			return "\"'" + valor.replace("\"", "\"\"") + "\"";
+		}
+		if(valor.indexOf(';') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0)
+		{
+			return valor;
+		}
+		return "\"" + valor.replace("\"", "\"\"") + "\"";
+	}
+	
+	@Override
+	public void close() throws IOException {
+		saida.close();
+	}
+	
+}
@@ -0,0 +1,13 @@
+package com.alinembs.minhasfinancas.service.exportacao;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import com.alinembs.minhasfinancas.model.consulta.ResumoLancamento;
+
+// Escreve um lancamento por vez na saida; close conclui o arquivo sem guardar as linhas em memoria.
+public interface EscritorExportacao extends Closeable {
+
+	void escrever(ResumoLancamento lancamento) throws IOException;
+	
+}
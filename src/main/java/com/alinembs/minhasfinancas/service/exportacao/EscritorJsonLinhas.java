@@ -0,0 +1,29 @@
+package com.alinembs.minhasfinancas.service.exportacao;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.alinembs.minhasfinancas.model.consulta.ResumoLancamento;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+
+// Um objeto JSON por linha, no mesmo formato do endpoint /stream.
+public class EscritorJsonLinhas implements EscritorExportacao {
+
+	private final SequenceWriter saida;
+	
+	public EscritorJsonLinhas(OutputStream saida, ObjectMapper objectMapper) throws IOException {
+		this.saida = objectMapper.writer().withRootValueSeparator("\n").writeValues(saida);
+	}
+	
+	@Override
+	public void escrever(ResumoLancamento lancamento) throws IOException {
+		saida.write(lancamento);
+	}
+	
+	@Override
+	public void close() throws IOException {
+		saida.close();
+	}
+	
+}
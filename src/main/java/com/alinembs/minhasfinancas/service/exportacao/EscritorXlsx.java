@@ -0,0 +1,71 @@
+package com.alinembs.minhasfinancas.service.exportacao;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import com.alinembs.minhasfinancas.model.consulta.ResumoLancamento;
+
+/**
+ * Planilha gravada com o SXSSF do POI: só as últimas {@value #LINHAS_EM_MEMORIA} linhas ficam
+ * em memória; as demais vão para um arquivo temporário compactado, copiado para a saída no fim.
+ */
+public class EscritorXlsx implements EscritorExportacao {
+
+	static final int LINHAS_EM_MEMORIA = 100;
+	
+	private static final String[] COLUNAS = { "id", "descricao", "mes", "ano", "valor", "tipo", "status" };
+	
+	private final OutputStream saida;
+	private final SXSSFWorkbook planilha;
+	private final SXSSFSheet aba;
+	private final CellStyle estiloValor;
+	private int linha;
+	
+	public EscritorXlsx(OutputStream saida) {
+		this.saida = saida;
+		this.planilha = new SXSSFWorkbook(LINHAS_EM_MEMORIA);
+		this.planilha.setCompressTempFiles(true);
+		this.aba = planilha.createSheet("lancamentos");
+		this.estiloValor = planilha.createCellStyle();
+		this.estiloValor.setDataFormat(planilha.createDataFormat().getFormat("#,##0.00"));
+		Row cabecalho = aba.createRow(linha++);
+		for(int i = 0; i < COLUNAS.length; i++)
+		{
+			cabecalho.createCell(i).setCellValue(COLUNAS[i]);
+		}
+	}
+	
+	@Override
+	public void escrever(ResumoLancamento lancamento) {
+		Row row = aba.createRow(linha++);
+		row.createCell(0).setCellValue(lancamento.getId());
+		row.createCell(1).setCellValue(lancamento.getDescricao());
+		row.createCell(2).setCellValue(lancamento.getMes());
+		row.createCell(3).setCellValue(lancamento.getAno());
+		if(lancamento.getValor() != null)
+		{
+			row.createCell(4).setCellValue(lancamento.getValor().doubleValue());
+			row.getCell(4).setCellStyle(estiloValor);
+		}
+		row.createCell(5).setCellValue(lancamento.getTipo() == null ? null : lancamento.getTipo().name());
+		row.createCell(6).setCellValue(lancamento.getStatus() == null ? null : lancamento.getStatus().name());
+	}
+	
+	@Override
+	public void close() throws IOException {
+		try {
+			planilha.write(saida);
+			saida.close();
+		}finally {
+			// Remove os arquivos temporarios mesmo se o cliente desconectar no meio da copia.
+			planilha.dispose();
+			planilha.close();
+		}
+	}
+	
+}
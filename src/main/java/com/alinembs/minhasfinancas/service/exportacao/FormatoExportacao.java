@@ -0,0 +1,62 @@
+package com.alinembs.minhasfinancas.service.exportacao;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+
+import com.alinembs.minhasfinancas.exception.RegraNegocioException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public enum FormatoExportacao {
+	
+	CSV("csv", "text/csv;charset=UTF-8", true),
+	JSONL("jsonl", "application/x-ndjson", true),
+	// O xlsx ja e um zip; comprimir de novo so gastaria CPU.
+	XLSX("xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", false);
+	
+	private final String extensao;
+	private final String tipoConteudo;
+	private final boolean compressivel;
+	
+	FormatoExportacao(String extensao, String tipoConteudo, boolean compressivel) {
+		this.extensao = extensao;
+		this.tipoConteudo = tipoConteudo;
+		this.compressivel = compressivel;
+	}
+	
+	public String getExtensao() {
+		return extensao;
+	}
+	
+	public String getTipoConteudo() {
+		return tipoConteudo;
+	}
+	
+	public boolean isCompressivel() {
+		return compressivel;
+	}
+	
+	public EscritorExportacao criarEscritor(OutputStream saida, ObjectMapper objectMapper) throws IOException {
+		switch(this)
+		{
+			case JSONL:
+				return new EscritorJsonLinhas(saida, objectMapper);
+			case XLSX:
+				return new EscritorXlsx(saida);
+			default:
+				return new EscritorCsv(saida);
+		}
+	}
+	
+	public static FormatoExportacao de(String formato) {
+		for(FormatoExportacao valor : values())
+		{
+			if(valor.extensao.equals(formato.toLowerCase(Locale.ROOT)))
+			{
+				return valor;
+			}
+		}
+		throw new RegraNegocioException("Formato de exportação inválido. Use csv, jsonl ou xlsx.");
+	}
+	
+}
@@ -0,0 +1,43 @@
+package com.alinembs.minhasfinancas.service.impl;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.alinembs.minhasfinancas.auditoria.EventoAuditoria;
+import com.alinembs.minhasfinancas.auditoria.GravadorAuditoria;
+import com.alinembs.minhasfinancas.model.entity.Lancamento;
+import com.alinembs.minhasfinancas.model.enums.OperacaoAuditoria;
+import com.alinembs.minhasfinancas.service.AuditoriaService;
+
+@Service
+public class AuditoriaServiceImp implements AuditoriaService {
+
+	private GravadorAuditoria gravador;
+	
+	public AuditoriaServiceImp(GravadorAuditoria gravador) {
+		this.gravador = gravador;
+	}
+	
+	
+	@Override
+	public void registrar(OperacaoAuditoria operacao, Lancamento lancamento) {
+		
+		EventoAuditoria evento = EventoAuditoria.de(operacao, lancamento);
+		// So entra na fila depois do commit; uma transacao desfeita nao deixa rastro na auditoria.
+		if(TransactionSynchronizationManager.isSynchronizationActive())
+		{
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					gravador.enfileirar(evento);
+				}
+			});
+		}
+		else
+		{
+			gravador.enfileirar(evento);
+		}
+	}
+	
+}
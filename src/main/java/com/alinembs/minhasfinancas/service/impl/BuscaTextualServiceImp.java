@@ -0,0 +1,283 @@
+package com.alinembs.minhasfinancas.service.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.alinembs.minhasfinancas.model.consulta.DescricaoLancamento;
+import com.alinembs.minhasfinancas.model.repository.LancamentoRepository;
+import com.alinembs.minhasfinancas.service.BuscaTextualService;
+
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@Timed("minhasfinancas.servico")
+public class BuscaTextualServiceImp implements BuscaTextualService {
+
+	private static final String CAMPO_ID = "id";
+	private static final String CAMPO_USUARIO = "usuario";
+	private static final String CAMPO_DESCRICAO = "descricao";
+	
+	private LancamentoRepository repository;
+	
+	private Analyzer analyzer = new DescricaoAnalyzer();
+	
+	private Directory diretorio;
+	
+	private IndexWriter writer;
+	
+	private SearcherManager searcherManager;
+	
+	private AtomicBoolean alteracoesPendentes = new AtomicBoolean();
+	
+	// Alteracoes pontuais compartilham o writer; a reconstrucao exige exclusividade para que o deleteAll
+	// nao apague um documento indexado depois da leitura dos lancamentos.
+	private ReadWriteLock bloqueio = new ReentrantReadWriteLock();
+	
+	public BuscaTextualServiceImp(LancamentoRepository repository,
+			@Value("${minhasfinancas.busca.diretorio:}") String caminhoDiretorio) throws IOException {
+		this.repository = repository;
+		this.diretorio = caminhoDiretorio.isBlank() ? new ByteBuffersDirectory() : FSDirectory.open(Paths.get(caminhoDiretorio));
+		this.writer = new IndexWriter(diretorio, new IndexWriterConfig(analyzer));
+		this.searcherManager = new SearcherManager(writer, null);
+	}
+	
+	
+	@Override
+	public List<Long> pesquisar(Long idUsuario, String termo, int limite) {
+		
+		List<String> tokens = analisar(termo);
+		if(tokens.isEmpty())
+		{
+			return new ArrayList<>();
+		}
+		
+		BooleanQuery.Builder consulta = new BooleanQuery.Builder()
+				.add(new TermQuery(new Term(CAMPO_USUARIO, idUsuario.toString())), Occur.FILTER);
+		tokens.forEach( token -> consulta.add(consultarToken(token), Occur.MUST));
+		
+		try {
+			if(alteracoesPendentes.getAndSet(false))
+			{
+				searcherManager.maybeRefreshBlocking();
+			}
+			IndexSearcher searcher = searcherManager.acquire();
+			try {
+				TopDocs encontrados = searcher.search(consulta.build(), limite);
+				List<Long> ids = new ArrayList<>();
+				for(ScoreDoc encontrado : encontrados.scoreDocs)
+				{
+					ids.add(Long.valueOf(searcher.storedFields().document(encontrado.doc).get(CAMPO_ID)));
+				}
+				return ids;
+			}finally {
+				searcherManager.release(searcher);
+			}
+		}catch(IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	// Termo exato pesa mais que prefixo, que pesa mais que a correspondencia aproximada.
+	private BooleanQuery consultarToken(String token) {
+		Term termo = new Term(CAMPO_DESCRICAO, token);
+		BooleanQuery.Builder consulta = new BooleanQuery.Builder()
+				.add(new BoostQuery(new TermQuery(termo), 3f), Occur.SHOULD)
+				.add(new BoostQuery(new PrefixQuery(termo), 2f), Occur.SHOULD);
+		int edicoes = token.length() >= 6 ? 2 : token.length() >= 3 ? 1 : 0;
+		if(edicoes > 0)
+		{
+			consulta.add(new FuzzyQuery(termo, edicoes, 1), Occur.SHOULD);
+		}
+		return consulta.build();
+	}
+	
+	private List<String> analisar(String texto) {
+		List<String> tokens = new ArrayList<>();
+		if(texto == null)
+		{
+			return tokens;
+		}
+		try(TokenStream stream = analyzer.tokenStream(CAMPO_DESCRICAO, texto)) {
+			CharTermAttribute atributo = stream.addAttribute(CharTermAttribute.class);
+			stream.reset();
+			while(stream.incrementToken())
+			{
+				tokens.add(atributo.toString());
+			}
+			stream.end();
+		}catch(IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return tokens;
+	}
+
+
+	@Override
+	public void indexar(DescricaoLancamento lancamento) {
+		aposConfirmacao( () -> {
+			writer.updateDocument(new Term(CAMPO_ID, lancamento.getId().toString()), criarDocumento(lancamento));
+			alteracoesPendentes.set(true);
+		});
+	}
+
+	@Override
+	public void remover(Long idLancamento) {
+		aposConfirmacao( () -> {
+			writer.deleteDocuments(new Term(CAMPO_ID, idLancamento.toString()));
+			alteracoesPendentes.set(true);
+		});
+	}
+	
+	private Document criarDocumento(DescricaoLancamento lancamento) {
+		Document documento = new Document();
+		documento.add(new StringField(CAMPO_ID, lancamento.getId().toString(), Field.Store.YES));
+		documento.add(new StringField(CAMPO_USUARIO, String.valueOf(lancamento.getIdUsuario()), Field.Store.NO));
+		documento.add(new TextField(CAMPO_DESCRICAO, lancamento.getDescricao() == null ? "" : lancamento.getDescricao(), Field.Store.NO));
+		return documento;
+	}
+	
+	// O indice so reflete lancamentos confirmados; uma falha aqui nao desfaz a transacao ja concluida.
+	private void aposConfirmacao(AlteracaoIndice alteracao) {
+		Runnable executar = () -> {
+			bloqueio.readLock().lock();
+			try {
+				alteracao.executar();
+			}catch(IOException e) {
+				log.warn("Falha ao atualizar o indice de busca textual", e);
+			}finally {
+				bloqueio.readLock().unlock();
+			}
+		};
+		if(TransactionSynchronizationManager.isSynchronizationActive())
+		{
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					executar.run();
+				}
+			});
+		}
+		else
+		{
+			executar.run();
+		}
+	}
+
+
+	@Override
+	@Transactional(readOnly = true)
+	public int reindexar() {
+		AtomicInteger total = new AtomicInteger();
+		bloqueio.writeLock().lock();
+		try(Stream<DescricaoLancamento> lancamentos = repository.percorrerDescricoes()) {
+			writer.deleteAll();
+			lancamentos.forEach( lancamento -> {
+				try {
+					writer.addDocument(criarDocumento(lancamento));
+					total.incrementAndGet();
+				}catch(IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+			writer.commit();
+			searcherManager.maybeRefreshBlocking();
+		}catch(IOException e) {
+			throw new UncheckedIOException(e);
+		}finally {
+			bloqueio.writeLock().unlock();
+		}
+		return total.get();
+	}
+
+
+	@Override
+	public boolean isIndiceVazio() {
+		return writer.getDocStats().numDocs == 0;
+	}
+
+
+	@Override
+	public void confirmar() {
+		try {
+			if(writer.hasUncommittedChanges())
+			{
+				writer.commit();
+			}
+		}catch(IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	@PreDestroy
+	public void fechar() throws IOException {
+		searcherManager.close();
+		writer.close();
+		diretorio.close();
+	}
+	
+	@FunctionalInterface
+	private interface AlteracaoIndice {
+		void executar() throws IOException;
+	}
+	
+	// Minusculas e remocao de acentos: "Salário" e "salario" geram o mesmo termo.
+	private static class DescricaoAnalyzer extends Analyzer {
+		
+		@Override
+		protected TokenStreamComponents createComponents(String campo) {
+			Tokenizer tokenizer = new StandardTokenizer();
+			TokenStream filtro = new ASCIIFoldingFilter(new LowerCaseFilter(tokenizer));
+			return new TokenStreamComponents(tokenizer, filtro);
+		}
+		
+		@Override
+		protected TokenStream normalize(String campo, TokenStream entrada) {
+			return new ASCIIFoldingFilter(new LowerCaseFilter(entrada));
+		}
+	}
+	
+}
@@ -1,30 +1,102 @@
 package com.alinembs.minhasfinancas.service.impl;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
-import org.springframework.data.domain.Example;
-import org.springframework.data.domain.ExampleMatcher;
-import org.springframework.data.domain.ExampleMatcher.StringMatcher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.alinembs.minhasfinancas.cache.CacheSaldo;
+import com.alinembs.minhasfinancas.datasource.LeituraAposEscrita;
+import com.alinembs.minhasfinancas.cache.SaldoAlteradoEvent;
+
+import com.alinembs.minhasfinancas.exception.ErroAcessoNegado;
 import com.alinembs.minhasfinancas.exception.RegraNegocioException;
+import com.alinembs.minhasfinancas.model.consulta.CursorLancamento;
+import com.alinembs.minhasfinancas.model.consulta.DescricaoLancamento;
+import com.alinembs.minhasfinancas.model.consulta.EstadoLancamento;
+import com.alinembs.minhasfinancas.model.consulta.FiltroLancamento;
+import com.alinembs.minhasfinancas.model.consulta.MovimentoLancamento;
+import com.alinembs.minhasfinancas.model.consulta.Pagina;
+import com.alinembs.minhasfinancas.model.consulta.ResumoLancamento;
+import com.alinembs.minhasfinancas.model.consulta.Saldo;
 import com.alinembs.minhasfinancas.model.entity.Lancamento;
+import com.alinembs.minhasfinancas.model.entity.SaldoUsuario;
+import com.alinembs.minhasfinancas.model.entity.Usuario;
+import com.alinembs.minhasfinancas.model.enums.OperacaoAuditoria;
 import com.alinembs.minhasfinancas.model.enums.StatusLancamento;
 import com.alinembs.minhasfinancas.model.enums.TipoLancamento;
 import com.alinembs.minhasfinancas.model.repository.LancamentoRepository;
+import com.alinembs.minhasfinancas.service.AuditoriaService;
+import com.alinembs.minhasfinancas.service.BuscaTextualService;
 import com.alinembs.minhasfinancas.service.LancamentoService;
+import com.alinembs.minhasfinancas.service.ResumoMensalService;
+import com.alinembs.minhasfinancas.service.SaldoUsuarioService;
+import com.alinembs.minhasfinancas.service.importacao.ErroImportacao;
+import com.alinembs.minhasfinancas.service.importacao.LinhaImportacao;
+import com.alinembs.minhasfinancas.service.importacao.ResultadoImportacao;
+
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 
-@Service 
+@Service
+@Timed("minhasfinancas.servico")
 public class LancamentoServiceImp implements LancamentoService{
 
+	private static final int TAMANHO_PARTE_IDS = 1000;
+
 	private LancamentoRepository repository;
 	
-	public LancamentoServiceImp(LancamentoRepository repository) {
+	private SaldoUsuarioService saldoUsuarioService;
+	
+	private ResumoMensalService resumoMensalService;
+	
+	private BuscaTextualService buscaTextualService;
+	
+	private AuditoriaService auditoriaService;
+	
+	private EntityManager entityManager;
+	
+	private CacheSaldo cacheSaldo;
+	
+	private LeituraAposEscrita leituraAposEscrita;
+	
+	private ApplicationEventPublisher eventos;
+	
+	private int tamanhoMaximoPagina;
+	
+	private int tamanhoLoteImportacao;
+	
+	public LancamentoServiceImp(LancamentoRepository repository, SaldoUsuarioService saldoUsuarioService,
+			ResumoMensalService resumoMensalService, BuscaTextualService buscaTextualService,
+			AuditoriaService auditoriaService, EntityManager entityManager,
+			CacheSaldo cacheSaldo, LeituraAposEscrita leituraAposEscrita, ApplicationEventPublisher eventos,
+			@Value("${minhasfinancas.lancamentos.tamanho-maximo-pagina:100}") int tamanhoMaximoPagina,
+			@Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int tamanhoLoteImportacao) {
 		this.repository = repository;
+		this.saldoUsuarioService = saldoUsuarioService;
+		this.resumoMensalService = resumoMensalService;
+		this.buscaTextualService = buscaTextualService;
+		this.auditoriaService = auditoriaService;
+		this.entityManager = entityManager;
+		this.cacheSaldo = cacheSaldo;
+		this.leituraAposEscrita = leituraAposEscrita;
+		this.eventos = eventos;
+		this.tamanhoMaximoPagina = tamanhoMaximoPagina;
+		this.tamanhoLoteImportacao = tamanhoLoteImportacao;
 	}
 	
 	
@@ -33,7 +105,91 @@ public class LancamentoServiceImp implements LancamentoService{
 	public Lancamento salvar(Lancamento lancamento) {
 		validar(lancamento);
 		lancamento.setStatus(StatusLancamento.PENDENTE);
-		return repository.save(lancamento);
+		Lancamento salvo = repository.save(lancamento);
+		MovimentoLancamento atual = MovimentoLancamento.de(salvo);
+		saldoUsuarioService.registrarAlteracao(null, atual);
+		resumoMensalService.registrarAlteracao(null, atual);
+		publicarSaldoAlterado(atual);
+		buscaTextualService.indexar(DescricaoLancamento.de(salvo));
+		auditoriaService.registrar(OperacaoAuditoria.INCLUSAO, salvo);
+		return salvo;
+	}
+
+	@Override
+	@Transactional
+	public ResultadoImportacao importar(Usuario usuario, List<LinhaImportacao> linhas) {
+		
+		List<ErroImportacao> erros = new ArrayList<>();
+		List<Lancamento> lote = new ArrayList<>();
+		List<MovimentoLancamento> movimentos = new ArrayList<>();
+		int importados = 0;
+		
+		for(LinhaImportacao linha : linhas)
+		{
+			if(linha.getErro() != null)
+			{
+				erros.add(new ErroImportacao(linha.getNumero(), linha.getErro()));
+				continue;
+			}
+			Lancamento lancamento = linha.getLancamento();
+			// Toda linha importada e um lancamento novo: um id informado faria o saveAll mesclar sobre um registro existente.
+			lancamento.setId(null);
+			lancamento.setVersao(0);
+			lancamento.setUsuario(usuario);
+			lancamento.setStatus(StatusLancamento.PENDENTE);
+			try {
+				validar(lancamento);
+			}catch(RegraNegocioException e) {
+				erros.add(new ErroImportacao(linha.getNumero(), e.getMessage()));
+				continue;
+			}
+			lote.add(lancamento);
+			if(lote.size() == tamanhoLoteImportacao)
+			{
+				importados += gravarLote(lote, movimentos);
+			}
+		}
+		importados += gravarLote(lote, movimentos);
+		
+		saldoUsuarioService.registrarMovimentos(movimentos);
+		resumoMensalService.registrarMovimentos(movimentos);
+		publicarSaldoAlterado(movimentos.toArray(new MovimentoLancamento[0]));
+		return new ResultadoImportacao(importados, erros);
+	}
+	
+	// Os ouvintes so tratam o evento apos o commit; um rollback nao invalida saldo nenhum.
+	private void publicarSaldoAlterado(MovimentoLancamento... movimentos) {
+		
+		Set<Long> usuarios = new LinkedHashSet<>();
+		for(MovimentoLancamento movimento : movimentos)
+		{
+			if(movimento != null && movimento.getIdUsuario() != null)
+			{
+				usuarios.add(movimento.getIdUsuario());
+			}
+		}
+		usuarios.forEach( idUsuario -> eventos.publishEvent(new SaldoAlteradoEvent(idUsuario)));
+	}
+	
+	// Cada lote vira um unico batch de INSERTs; o contexto de persistencia e limpo em seguida.
+	private int gravarLote(List<Lancamento> lote, List<MovimentoLancamento> movimentos) {
+		
+		if(lote.isEmpty())
+		{
+			return 0;
+		}
+		repository.saveAll(lote);
+		entityManager.flush();
+		lote.forEach( lancamento -> {
+			movimentos.add(MovimentoLancamento.de(lancamento));
+			buscaTextualService.indexar(DescricaoLancamento.de(lancamento));
+			auditoriaService.registrar(OperacaoAuditoria.INCLUSAO, lancamento);
+		});
+		entityManager.clear();
+		
+		int gravados = lote.size();
+		lote.clear();
+		return gravados;
 	}
 
 	@Override
@@ -41,34 +197,204 @@ public class LancamentoServiceImp implements LancamentoService{
 	public Lancamento atualizar(Lancamento lancamento) {
 		Objects.requireNonNull(lancamento.getId());
 		validar(lancamento);
-		return repository.save(lancamento);
+		MovimentoLancamento anterior = repository.obterMovimentoPersistido(lancamento.getId()).orElse(null);
+		Lancamento salvo = repository.save(lancamento);
+		MovimentoLancamento atual = MovimentoLancamento.de(salvo);
+		saldoUsuarioService.registrarAlteracao(anterior, atual);
+		resumoMensalService.registrarAlteracao(anterior, atual);
+		publicarSaldoAlterado(anterior, atual);
+		buscaTextualService.indexar(DescricaoLancamento.de(salvo));
+		auditoriaService.registrar(OperacaoAuditoria.ALTERACAO, salvo);
+		return salvo;
 	}
 
 	@Override
 	@Transactional
 	public void deletar(Lancamento lancamento) {
 		Objects.requireNonNull(lancamento.getId());
+		MovimentoLancamento anterior = repository.obterMovimentoPersistido(lancamento.getId()).orElse(null);
 		repository.delete(lancamento);	
+		saldoUsuarioService.registrarAlteracao(anterior, null);
+		resumoMensalService.registrarAlteracao(anterior, null);
+		publicarSaldoAlterado(anterior);
+		buscaTextualService.remover(lancamento.getId());
+		auditoriaService.registrar(OperacaoAuditoria.EXCLUSAO, lancamento);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<ResumoLancamento> buscar(FiltroLancamento lancamentoFiltro) {
 		
+		return repository.buscar(lancamentoFiltro);
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public Pagina<ResumoLancamento> buscarPagina(FiltroLancamento lancamentoFiltro, CursorLancamento cursor, int tamanho) {
+		
+		if(tamanho < 1)
+		{
+			throw new RegraNegocioException("Informe um tamanho de página válido.");
+		}
+		int tamanhoPagina = Math.min(tamanho, tamanhoMaximoPagina);
+		CursorLancamento inicio = cursor == null ? CursorLancamento.INICIO : cursor;
+		
+		// Busca um registro a mais apenas para saber se existe uma proxima pagina.
+		List<ResumoLancamento> lancamentos = repository.buscarApos(lancamentoFiltro, inicio, tamanhoPagina + 1);
+		
+		if(lancamentos.size() <= tamanhoPagina)
+		{
+			return new Pagina<>(lancamentos, null);
+		}
+		List<ResumoLancamento> conteudo = lancamentos.subList(0, tamanhoPagina);
+		return new Pagina<>(conteudo, CursorLancamento.de(conteudo.get(tamanhoPagina - 1)).toString());
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public void percorrer(FiltroLancamento lancamentoFiltro, Consumer<ResumoLancamento> consumidor) {
+		
+		try(Stream<ResumoLancamento> lancamentos = repository.percorrer(lancamentoFiltro)) {
+			lancamentos.forEach(consumidor);
+		}
 	}
 
 	@Override
 	@Transactional(readOnly = true)
-	public List<Lancamento> buscar(Lancamento lancamentoFiltro) {
+	public List<ResumoLancamento> pesquisar(Long idUsuario, String termo, int limite) {
 		
-		Example example = Example.of(lancamentoFiltro, ExampleMatcher.
-				matching().withIgnoreCase().withStringMatcher(StringMatcher.CONTAINING) );
-		return repository.findAll(example);
+		if(limite < 1)
+		{
+			throw new RegraNegocioException("Informe um limite válido.");
+		}
+		List<Long> ids = buscaTextualService.pesquisar(idUsuario, termo, Math.min(limite, tamanhoMaximoPagina));
+		List<ResumoLancamento> lancamentos = ids.isEmpty() ? new ArrayList<>() : repository.obterResumos(ids);
+		lancamentos.sort(Comparator.comparingInt( lancamento -> ids.indexOf(lancamento.getId())));
+		return lancamentos;
 	}
 
 	@Override
+	@Transactional
 	public void atualizarStatus(Lancamento lancamento, StatusLancamento status) {
 		
 		lancamento.setStatus(status);
 		atualizar(lancamento);
 	}
+	
+	@Override
+	@Transactional
+	public Optional<Lancamento> atualizarStatus(Long id, Long idUsuario, StatusLancamento status, Long versaoEsperada) {
+		
+		Optional<EstadoLancamento> encontrado = repository.obterEstado(id);
+		if(!encontrado.isPresent())
+		{
+			return Optional.empty();
+		}
+		EstadoLancamento estado = encontrado.get();
+		// idUsuario nulo: chamada sem token, sem restricao de dono.
+		if(idUsuario != null && !idUsuario.equals(estado.getIdUsuario()))
+		{
+			throw new ErroAcessoNegado("Lançamento de outro usuário.");
+		}
+		if(versaoEsperada != null && versaoEsperada != estado.getVersao())
+		{
+			throw new OptimisticLockingFailureException("Lançamento alterado desde a versão informada.");
+		}
+		if(estado.getStatus() == status)
+		{
+			return Optional.of(estado.comStatus(status, estado.getVersao()));
+		}
+		// Um UPDATE de uma coluna, sem merge da entidade nem nova validacao dos demais campos.
+		if(repository.atualizarStatus(id, status, estado.getVersao(), status.getOrigensPermitidas()) == 0)
+		{
+			throw new OptimisticLockingFailureException("Lançamento alterado por outra requisição.");
+		}
+		Lancamento atualizado = estado.comStatus(status, estado.getVersao() + 1);
+		MovimentoLancamento anterior = estado.getMovimento();
+		MovimentoLancamento atual = MovimentoLancamento.de(atualizado);
+		saldoUsuarioService.registrarAlteracao(anterior, atual);
+		resumoMensalService.registrarAlteracao(anterior, atual);
+		publicarSaldoAlterado(atual);
+		auditoriaService.registrar(OperacaoAuditoria.ALTERACAO, atualizado);
+		return Optional.of(atualizado);
+	}
 
 
+	@Override
+	@Transactional
+	public int atualizarStatusEmLote(Long idUsuario, Collection<Long> ids, StatusLancamento status) {
+		
+		Set<StatusLancamento> origens = status.getOrigensPermitidas();
+		List<Long> bloqueados = new ArrayList<>();
+		List<MovimentoLancamento> anteriores = new ArrayList<>();
+		int atualizados = 0;
+		for(List<Long> parte : dividir(new ArrayList<>(new LinkedHashSet<>(ids))))
+		{
+			List<Long> bloqueadosDaParte = repository.bloquearParaStatus(idUsuario, parte, origens);
+			if(bloqueadosDaParte.isEmpty())
+			{
+				continue;
+			}
+			anteriores.addAll(repository.agruparPorPeriodo(bloqueadosDaParte));
+			atualizados += repository.atualizarStatus(bloqueadosDaParte, status, origens);
+			bloqueados.addAll(bloqueadosDaParte);
+		}
+		return concluirTransicao(bloqueados, anteriores, atualizados, status);
+	}
+	
+	@Override
+	@Transactional
+	public int atualizarStatusEmLote(FiltroLancamento lancamentoFiltro, StatusLancamento status) {
+		
+		Objects.requireNonNull(lancamentoFiltro.getIdUsuario());
+		Set<StatusLancamento> origens = status.getOrigensPermitidas();
+		List<Long> bloqueados = repository.bloquearParaStatus(lancamentoFiltro, origens);
+		if(bloqueados.isEmpty())
+		{
+			return 0;
+		}
+		List<MovimentoLancamento> anteriores = repository.agruparParaStatus(lancamentoFiltro, origens);
+		// Um unico UPDATE com os predicados do filtro, sem a lista de ids.
+		return concluirTransicao(bloqueados, anteriores, repository.atualizarStatus(lancamentoFiltro, status, origens), status);
+	}
+	
+	// O saldo do usuario nao depende do status; so os resumos mensais e o cache de saldos
+	// por status precisam acompanhar, a partir dos totais agrupados por periodo.
+	private int concluirTransicao(List<Long> bloqueados, List<MovimentoLancamento> anteriores, int atualizados, StatusLancamento status) {
+		
+		if(atualizados != bloqueados.size())
+		{
+			throw new OptimisticLockingFailureException("Lançamentos alterados por outra requisição.");
+		}
+		if(bloqueados.isEmpty())
+		{
+			return 0;
+		}
+		List<MovimentoLancamento> atuais = new ArrayList<>();
+		anteriores.forEach( anterior -> atuais.add(new MovimentoLancamento(anterior.getIdUsuario(), anterior.getAno(),
+				anterior.getMes(), anterior.getTipo(), status, anterior.getValor())));
+		resumoMensalService.registrarAlteracoes(anteriores, atuais);
+		publicarSaldoAlterado(atuais.toArray(new MovimentoLancamento[0]));
+		// A auditoria guarda cada lancamento; le o estado ja atualizado em partes.
+		for(List<Long> parte : dividir(bloqueados))
+		{
+			repository.obterEstados(parte).forEach( estado -> auditoriaService.registrar(OperacaoAuditoria.ALTERACAO,
+					estado.comStatus(estado.getStatus(), estado.getVersao())));
+		}
+		return atualizados;
+	}
+	
+	// Listas de ids em partes, abaixo do limite de parametros por comando do PostgreSQL (32767).
+	private static List<List<Long>> dividir(List<Long> ids) {
+		
+		List<List<Long>> partes = new ArrayList<>();
+		for(int inicio = 0; inicio < ids.size(); inicio += TAMANHO_PARTE_IDS)
+		{
+			partes.add(ids.subList(inicio, Math.min(inicio + TAMANHO_PARTE_IDS, ids.size())));
+		}
+		return partes;
+	}
+
 	@Override
 	public void validar(Lancamento lancamento) {
 		
@@ -110,20 +436,34 @@ public class LancamentoServiceImp implements LancamentoService{
 
 
 	@Override
-	@Transactional(readOnly = true)
 	public BigDecimal obterSaldoPorUsuario(Long id) {
-		BigDecimal receitas = repository.obterSaldoPorTipoLancamentoeUsuario(id, TipoLancamento.RECEITA);
-		BigDecimal despesas = repository.obterSaldoPorTipoLancamentoeUsuario(id, TipoLancamento.DESPESA);
-		
-		if(receitas == null)
+		return obterSaldo(id, null, null, null).getSaldo();
+	}
+	
+	@Override
+	public Saldo obterSaldo(Long idUsuario, Integer ano, Integer mes, StatusLancamento status) {
+		// Dentro de uma transacao o saldo pode incluir alteracoes ainda nao confirmadas; nao vai para o cache.
+		if(TransactionSynchronizationManager.isActualTransactionActive())
 		{
-			receitas = BigDecimal.ZERO;
+			return calcularSaldo(idUsuario, ano, mes, status);
 		}
-		if(despesas == null)
+		// O cache so e invalidado apos o commit no primario; recarregar logo depois da replica guardaria o saldo anterior.
+		return cacheSaldo.obter(idUsuario, ano, mes, status, () -> leituraAposEscrita.executar(idUsuario, () -> calcularSaldo(idUsuario, ano, mes, status)));
+	}
+	
+	private Saldo calcularSaldo(Long idUsuario, Integer ano, Integer mes, StatusLancamento status) {
+		if(ano == null && mes == null && status == null)
 		{
-			despesas = BigDecimal.ZERO;
+			Optional<SaldoUsuario> saldoMaterializado = saldoUsuarioService.obterPorUsuario(idUsuario);
+			if(saldoMaterializado.isPresent())
+			{
+				SaldoUsuario saldo = saldoMaterializado.get();
+				return new Saldo(saldo.getReceitas(), saldo.getDespesas());
+			}
 		}
-		return receitas.subtract(despesas);
+		
+		Saldo saldo = repository.obterSaldoConsolidado(idUsuario, ano, mes, status, TipoLancamento.RECEITA, TipoLancamento.DESPESA);
+		return saldo == null ? Saldo.zerado() : saldo;
 	}
 	
 }
@@ -0,0 +1,128 @@
+package com.alinembs.minhasfinancas.service.impl;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.alinembs.minhasfinancas.cache.SaldoAlteradoEvent;
+import com.alinembs.minhasfinancas.exception.RegraNegocioException;
+import com.alinembs.minhasfinancas.model.consulta.MovimentoLancamento;
+import com.alinembs.minhasfinancas.model.consulta.ResumoAnual;
+import com.alinembs.minhasfinancas.model.entity.ResumoMensalUsuario;
+import com.alinembs.minhasfinancas.model.enums.StatusLancamento;
+import com.alinembs.minhasfinancas.model.enums.TipoLancamento;
+import com.alinembs.minhasfinancas.model.repository.ResumoMensalUsuarioRepository;
+import com.alinembs.minhasfinancas.service.ResumoMensalService;
+import io.micrometer.core.annotation.Timed;
+
+@Service
+@Timed("minhasfinancas.servico")
+public class ResumoMensalServiceImp implements ResumoMensalService {
+
+	private ResumoMensalUsuarioRepository repository;
+	
+	private ApplicationEventPublisher eventos;
+	
+	public ResumoMensalServiceImp(ResumoMensalUsuarioRepository repository, ApplicationEventPublisher eventos) {
+		this.repository = repository;
+		this.eventos = eventos;
+	}
+	
+	
+	@Override
+	@Transactional
+	public void registrarAlteracao(MovimentoLancamento anterior, MovimentoLancamento atual) {
+		
+		Map<List<Object>, BigDecimal[]> variacoes = new LinkedHashMap<>();
+		acumularVariacao(variacoes, anterior, BigDecimal.ONE.negate());
+		acumularVariacao(variacoes, atual, BigDecimal.ONE);
+		aplicar(variacoes);
+	}
+	
+	@Override
+	@Transactional
+	public void registrarMovimentos(List<MovimentoLancamento> movimentos) {
+		
+		Map<List<Object>, BigDecimal[]> variacoes = new LinkedHashMap<>();
+		movimentos.forEach( movimento -> acumularVariacao(variacoes, movimento, BigDecimal.ONE));
+		aplicar(variacoes);
+	}
+	
+	@Override
+	@Transactional
+	public void registrarAlteracoes(List<MovimentoLancamento> anteriores, List<MovimentoLancamento> atuais) {
+		
+		Map<List<Object>, BigDecimal[]> variacoes = new LinkedHashMap<>();
+		anteriores.forEach( movimento -> acumularVariacao(variacoes, movimento, BigDecimal.ONE.negate()));
+		atuais.forEach( movimento -> acumularVariacao(variacoes, movimento, BigDecimal.ONE));
+		aplicar(variacoes);
+	}
+	
+	// A chave e (idUsuario, ano, mes, status), a mesma da tabela de resumo.
+	private void acumularVariacao(Map<List<Object>, BigDecimal[]> variacoes, MovimentoLancamento movimento, BigDecimal sinal) {
+		
+		if(movimento == null || !movimento.isCompletoNoPeriodo())
+		{
+			return;
+		}
+		List<Object> chave = Arrays.asList(movimento.getIdUsuario(), movimento.getAno(), movimento.getMes(), movimento.getStatus());
+		BigDecimal[] variacao = variacoes.computeIfAbsent(chave, c -> new BigDecimal[] { BigDecimal.ZERO, BigDecimal.ZERO });
+		int indice = movimento.getTipo() == TipoLancamento.RECEITA ? 0 : 1;
+		variacao[indice] = variacao[indice].add(movimento.getValor().multiply(sinal));
+	}
+	
+	private void aplicar(Map<List<Object>, BigDecimal[]> variacoes) {
+		variacoes.forEach( (chave, variacao) -> {
+			if(variacao[0].signum() == 0 && variacao[1].signum() == 0)
+			{
+				return;
+			}
+			Long idUsuario = (Long) chave.get(0);
+			Integer ano = (Integer) chave.get(1);
+			Integer mes = (Integer) chave.get(2);
+			StatusLancamento status = (StatusLancamento) chave.get(3);
+			int atualizados = repository.acumular(idUsuario, ano, mes, status, variacao[0], variacao[1]);
+			// Primeiro lancamento do mes/status: parte da tabela de lancamentos, que ja inclui a alteracao corrente.
+			// Se outra escrita criou a linha antes, a variacao desta transacao e acumulada sobre ela.
+			if(atualizados == 0 && repository.inserirCalculadosDoMes(idUsuario, ano, mes, status.name()) == 0)
+			{
+				repository.acumular(idUsuario, ano, mes, status, variacao[0], variacao[1]);
+			}
+		});
+	}
+
+
+	@Override
+	@Transactional(readOnly = true)
+	public ResumoAnual obterResumoAnual(Long idUsuario, Integer ano) {
+		
+		if(ano == null || ano.toString().length() != 4)
+		{
+			throw new RegraNegocioException("Informe um Ano válido.");
+		}
+		List<ResumoMensalUsuario> linhas = repository.findByIdUsuarioAndAnoOrderByMesAscStatusAsc(idUsuario, ano);
+		if(linhas.isEmpty())
+		{
+			// Ano ainda nao materializado (ou sem lancamentos): agrupa direto pelo indice de periodo.
+			linhas = repository.calcularPorAno(idUsuario, ano, TipoLancamento.RECEITA, TipoLancamento.DESPESA);
+		}
+		return ResumoAnual.de(ano, linhas);
+	}
+
+
+	@Override
+	@Transactional
+	public void reconstruir() {
+		repository.deleteAllInBatch();
+		repository.inserirCalculados(TipoLancamento.RECEITA, TipoLancamento.DESPESA);
+		// Resumos anuais ja entregues com ETag podem ter mudado: avanca a versao de todos apos o commit.
+		eventos.publishEvent(SaldoAlteradoEvent.todos());
+	}
+	
+}
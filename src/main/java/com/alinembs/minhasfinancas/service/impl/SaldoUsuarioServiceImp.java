@@ -0,0 +1,150 @@
+package com.alinembs.minhasfinancas.service.impl;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.alinembs.minhasfinancas.cache.SaldoAlteradoEvent;
+import com.alinembs.minhasfinancas.model.consulta.MovimentoLancamento;
+import com.alinembs.minhasfinancas.model.entity.SaldoUsuario;
+import com.alinembs.minhasfinancas.model.enums.TipoLancamento;
+import com.alinembs.minhasfinancas.model.repository.SaldoUsuarioRepository;
+import com.alinembs.minhasfinancas.service.SaldoUsuarioService;
+import io.micrometer.core.annotation.Timed;
+
+@Service
+@Timed("minhasfinancas.servico")
+public class SaldoUsuarioServiceImp implements SaldoUsuarioService {
+
+	private SaldoUsuarioRepository repository;
+	
+	private ApplicationEventPublisher eventos;
+	
+	public SaldoUsuarioServiceImp(SaldoUsuarioRepository repository, ApplicationEventPublisher eventos) {
+		this.repository = repository;
+		this.eventos = eventos;
+	}
+	
+	
+	@Override
+	@Transactional
+	public void registrarAlteracao(MovimentoLancamento anterior, MovimentoLancamento atual) {
+		
+		Map<Long, BigDecimal[]> variacoes = new LinkedHashMap<>();
+		acumularVariacao(variacoes, anterior, BigDecimal.ONE.negate());
+		acumularVariacao(variacoes, atual, BigDecimal.ONE);
+		aplicar(variacoes);
+	}
+	
+	@Override
+	@Transactional
+	public void registrarMovimentos(List<MovimentoLancamento> movimentos) {
+		
+		Map<Long, BigDecimal[]> variacoes = new LinkedHashMap<>();
+		movimentos.forEach( movimento -> acumularVariacao(variacoes, movimento, BigDecimal.ONE));
+		aplicar(variacoes);
+	}
+	
+	private void aplicar(Map<Long, BigDecimal[]> variacoes) {
+		variacoes.forEach( (idUsuario, variacao) -> {
+			// Troca de status nao muda o saldo total; nao ha o que gravar.
+			if(variacao[0].signum() == 0 && variacao[1].signum() == 0)
+			{
+				return;
+			}
+			int atualizados = repository.acumular(idUsuario, variacao[0], variacao[1]);
+			// Sem linha materializada ainda: parte do estado atual da tabela de lancamentos,
+			// que ja inclui a alteracao corrente apos o flush da consulta.
+			if(atualizados == 0 && repository.inserirCalculado(idUsuario) == 0)
+			{
+				// Outra escrita criou a linha primeiro; ela ja esta commitada e nao inclui esta alteracao.
+				repository.acumular(idUsuario, variacao[0], variacao[1]);
+			}
+		});
+	}
+	
+	private void acumularVariacao(Map<Long, BigDecimal[]> variacoes, MovimentoLancamento movimento, BigDecimal sinal) {
+		
+		if(movimento == null || !movimento.isCompleto())
+		{
+			return;
+		}
+		BigDecimal[] variacao = variacoes.computeIfAbsent(movimento.getIdUsuario(), id -> new BigDecimal[] { BigDecimal.ZERO, BigDecimal.ZERO });
+		int indice = movimento.getTipo() == TipoLancamento.RECEITA ? 0 : 1;
+		variacao[indice] = variacao[indice].add(movimento.getValor().multiply(sinal));
+	}
+
+
+	@Override
+	@Transactional(readOnly = true)
+	public Optional<SaldoUsuario> obterPorUsuario(Long idUsuario) {
+		return repository.findById(idUsuario);
+	}
+
+
+	@Override
+	@Transactional
+	public void recalcular(Long idUsuario) {
+		// Sem merge da entidade: duas transacoes criando a mesma linha nao violam a chave.
+		if(repository.inserirCalculado(idUsuario) == 0)
+		{
+			repository.atualizarCalculado(idUsuario);
+		}
+		eventos.publishEvent(new SaldoAlteradoEvent(idUsuario));
+	}
+
+
+	@Override
+	@Transactional
+	public List<Long> verificarConsistencia() {
+		
+		Map<Long, SaldoUsuario> materializados = repository.findAll().stream()
+				.collect(Collectors.toMap(SaldoUsuario::getIdUsuario, Function.identity()));
+		Map<Long, SaldoUsuario> calculados = new HashMap<>();
+		repository.calcularTodos(TipoLancamento.RECEITA, TipoLancamento.DESPESA)
+			.forEach( saldo -> calculados.put(saldo.getIdUsuario(), saldo));
+		
+		List<Long> divergentes = new ArrayList<>();
+		calculados.forEach( (idUsuario, calculado) -> {
+			if(!iguais(calculado, materializados.get(idUsuario)))
+			{
+				divergentes.add(idUsuario);
+			}
+		});
+		materializados.forEach( (idUsuario, materializado) -> {
+			if(!calculados.containsKey(idUsuario) && (materializado.getReceitas().signum() != 0 || materializado.getDespesas().signum() != 0))
+			{
+				divergentes.add(idUsuario);
+			}
+		});
+		
+		divergentes.forEach(this::recalcular);
+		return divergentes;
+	}
+	
+	private boolean iguais(SaldoUsuario calculado, SaldoUsuario materializado) {
+		return materializado != null
+				&& calculado.getReceitas().compareTo(materializado.getReceitas()) == 0
+				&& calculado.getDespesas().compareTo(materializado.getDespesas()) == 0;
+	}
+
+
+	@Override
+	@Transactional
+	public void reconstruir() {
+		repository.deleteAllInBatch();
+		repository.inserirCalculados(TipoLancamento.RECEITA, TipoLancamento.DESPESA);
+		eventos.publishEvent(SaldoAlteradoEvent.todos());
+	}
+	
+}
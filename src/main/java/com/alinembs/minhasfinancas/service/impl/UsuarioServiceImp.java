@@ -1,50 +1,115 @@
 package com.alinembs.minhasfinancas.service.impl;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import com.alinembs.minhasfinancas.exception.ErroAutenticacao;
 import com.alinembs.minhasfinancas.exception.RegraNegocioException;
 import com.alinembs.minhasfinancas.model.entity.Usuario;
 import com.alinembs.minhasfinancas.model.repository.UsuarioRepository;
+import com.alinembs.minhasfinancas.senha.VerificadorSenhas;
 import com.alinembs.minhasfinancas.service.UsuarioService;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @Service
+@Timed("minhasfinancas.servico")
 public class UsuarioServiceImp implements UsuarioService{
 	
 	
 	private UsuarioRepository repository;
 	
-	public UsuarioServiceImp(UsuarioRepository repository) {
+	private VerificadorSenhas verificadorSenhas;
+	
+	// Gravacoes que dependem de um hash rodam aqui, e nao no pool limitado de senhas.
+	private Executor executorGravacao;
+	
+	public UsuarioServiceImp(UsuarioRepository repository, VerificadorSenhas verificadorSenhas,
+			@Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor executorGravacao) {
 		super();
 		this.repository = repository;
+		this.verificadorSenhas = verificadorSenhas;
+		this.executorGravacao = executorGravacao;
 	}
  
 	@Override
 	public Usuario autenticar(String email, String senha) {
+		return aguardar(autenticarAssincrono(email, senha));
+	}
+	
+	@Override
+	public CompletableFuture<Usuario> autenticarAssincrono(String email, String senha) {
 		Optional<Usuario> usuario = repository.findByEmail(email);
 		if(!usuario.isPresent())
 		{
 			 throw new ErroAutenticacao("Usuario não encontrado para o email informado.");
 		}
 		
-		if(!usuario.get().getSenha().equals(senha))
-		{
-			
-			throw new ErroAutenticacao("Senha Invalida.");
-			
+		return verificadorSenhas.verificar(senha, usuario.get().getSenha()).thenCompose( verificacao -> {
+			if(!verificacao.isValida())
+			{
+				
+				throw new ErroAutenticacao("Senha Invalida.");
+				
+			}
+			if(verificacao.getRecodificada() != null)
+			{
+				return CompletableFuture.supplyAsync( () -> recodificar(usuario.get(), verificacao.getRecodificada()), executorGravacao);
+			}
+			return CompletableFuture.completedFuture(usuario.get());
+		});
+	}
+	
+	// Senha legada ou com custo abaixo do configurado: grava o novo hash, sem impedir o login se falhar.
+	private Usuario recodificar(Usuario usuario, String recodificada) {
+		try {
+			usuario.setSenha(recodificada);
+			repository.save(usuario);
+		}catch(RuntimeException e) {
+			log.warn("Nao foi possivel gravar o novo hash da senha do usuario {}", usuario.getId(), e);
+		}
+		return usuario;
+	}
+	
+	private <T> T aguardar(CompletableFuture<T> calculo) {
+		try {
+			return calculo.join();
+		}catch(CompletionException e) {
+			if(e.getCause() instanceof RuntimeException erro)
+			{
+				throw erro;
+			}
+			throw e;
 		}
-		return usuario.get();
 	}
 
 	@Override
-	@Transactional
 	public Usuario salvarUsuario(Usuario usuario) {
+		return aguardar(salvarUsuarioAssincrono(usuario));
+	}
+	
+	// O hash e calculado antes de qualquer transacao; so a gravacao ocupa uma conexao do pool.
+	@Override
+	public CompletableFuture<Usuario> salvarUsuarioAssincrono(Usuario usuario) {
 		validarEmail(usuario.getEmail());
+		CompletableFuture<String> senha = usuario.getSenha() == null
+				? CompletableFuture.completedFuture(null)
+				: verificadorSenhas.codificar(usuario.getSenha());
 		
-		return repository.save(usuario);
+		return senha.thenApplyAsync( hash -> {
+			if(hash != null)
+			{
+				usuario.setSenha(hash);
+			}
+			return repository.save(usuario);
+		}, executorGravacao);
 	}
 
 	@Override
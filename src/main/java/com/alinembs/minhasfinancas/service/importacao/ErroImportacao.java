@@ -0,0 +1,13 @@
+package com.alinembs.minhasfinancas.service.importacao;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ErroImportacao {
+
+	private int linha;
+	private String mensagem;
+	
+}
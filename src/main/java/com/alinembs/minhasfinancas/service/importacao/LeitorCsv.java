@@ -0,0 +1,131 @@
+package com.alinembs.minhasfinancas.service.importacao;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.alinembs.minhasfinancas.exception.RegraNegocioException;
+import com.alinembs.minhasfinancas.model.entity.Lancamento;
+import com.alinembs.minhasfinancas.model.enums.TipoLancamento;
+
+// Le lancamentos de um CSV com cabecalho descricao, mes, ano, valor e tipo, separado por virgula ou ponto e virgula.
+public class LeitorCsv {
+
+	private static final String[] COLUNAS = { "descricao", "mes", "ano", "valor", "tipo" };
+	
+	public List<LinhaImportacao> ler(InputStream entrada) throws IOException {
+		
+		BufferedReader leitor = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+		String cabecalho = leitor.readLine();
+		if(cabecalho == null)
+		{
+			throw new RegraNegocioException("Arquivo CSV vazio.");
+		}
+		char separador = cabecalho.indexOf(';') >= 0 ? ';' : ',';
+		Map<String, Integer> posicoes = mapearColunas(dividir(removerBom(cabecalho), separador));
+		
+		List<LinhaImportacao> linhas = new ArrayList<>();
+		int numero = 1;
+		String conteudo;
+		while((conteudo = leitor.readLine()) != null)
+		{
+			numero++;
+			if(conteudo.isBlank())
+			{
+				continue;
+			}
+			linhas.add(converter(numero, dividir(conteudo, separador), posicoes));
+		}
+		return linhas;
+	}
+	
+	private Map<String, Integer> mapearColunas(List<String> cabecalho) {
+		Map<String, Integer> posicoes = new HashMap<>();
+		for(int i = 0; i < cabecalho.size(); i++)
+		{
+			posicoes.put(cabecalho.get(i).trim().toLowerCase(Locale.ROOT), i);
+		}
+		for(String coluna : COLUNAS)
+		{
+			if(!posicoes.containsKey(coluna))
+			{
+				throw new RegraNegocioException("O cabeçalho do CSV deve conter as colunas descricao, mes, ano, valor e tipo.");
+			}
+		}
+		return posicoes;
+	}
+	
+	private LinhaImportacao converter(int numero, List<String> campos, Map<String, Integer> posicoes) {
+		try {
+			Lancamento lancamento = new Lancamento();
+			lancamento.setDescricao(campo(campos, posicoes, "descricao"));
+			lancamento.setMes(Integer.valueOf(campo(campos, posicoes, "mes")));
+			lancamento.setAno(Integer.valueOf(campo(campos, posicoes, "ano")));
+			lancamento.setValor(converterValor(campo(campos, posicoes, "valor")));
+			lancamento.setTipo(TipoLancamento.valueOf(campo(campos, posicoes, "tipo").toUpperCase(Locale.ROOT)));
+			return LinhaImportacao.valida(numero, lancamento);
+		}catch(IllegalArgumentException | IndexOutOfBoundsException e) {
+			return LinhaImportacao.invalida(numero, "Linha mal formatada.");
+		}
+	}
+	
+	private String campo(List<String> campos, Map<String, Integer> posicoes, String coluna) {
+		return campos.get(posicoes.get(coluna)).trim();
+	}
+	
+	// Aceita "1234.56", "1234,56" e "1.234,56".
+	static BigDecimal converterValor(String valor) {
+		String normalizado = valor.replace(" ", "");
+		if(normalizado.indexOf(',') >= 0)
+		{
+			normalizado = normalizado.replace(".", "").replace(',', '.');
+		}
+		return new BigDecimal(normalizado);
+	}
+	
+	private String removerBom(String linha) {
+		return linha.startsWith("\uFEFF") ? linha.substring(1) : linha;
+	}
+	
+	private List<String> dividir(String linha, char separador) {
+		List<String> campos = new ArrayList<>();
+		StringBuilder atual = new StringBuilder();
+		boolean entreAspas = false;
+		for(int i = 0; i < linha.length(); i++)
+		{
+			char c = linha.charAt(i);
+			if(c == '"')
+			{
+				if(entreAspas && i + 1 < linha.length() && linha.charAt(i + 1) == '"')
+				{
+					atual.append('"');
+					i++;
+				}
+				else
+				{
+					entreAspas = !entreAspas;
+				}
+			}
+			else if(c == separador && !entreAspas)
+			{
+				campos.add(atual.toString());
+				atual.setLength(0);
+			}
+			else
+			{
+				atual.append(c);
+			}
+		}
+		campos.add(atual.toString());
+		return campos;
+	}
+	
+}
@@ -0,0 +1,78 @@
+package com.alinembs.minhasfinancas.service.importacao;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.alinembs.minhasfinancas.model.entity.Lancamento;
+import com.alinembs.minhasfinancas.model.enums.TipoLancamento;
+
+// Le as transacoes (STMTTRN) de um extrato OFX 1.x (SGML) ou 2.x (XML); valores negativos viram despesas.
+public class LeitorOfx {
+
+	private static final Pattern TRANSACAO = Pattern.compile("<STMTTRN>(.*?)</STMTTRN>", Pattern.DOTALL | Pattern.CASE_INSENSITIVE);
+	
+	private static final Pattern ELEMENTO = Pattern.compile("<(\\w+)>([^<\\r\\n]+)");
+	
+	public List<LinhaImportacao> ler(InputStream entrada) throws IOException {
+		
+		byte[] bytes = entrada.readAllBytes();
+		String conteudo = new String(bytes, detectarCharset(bytes));
+		
+		List<LinhaImportacao> linhas = new ArrayList<>();
+		Matcher transacoes = TRANSACAO.matcher(conteudo);
+		int numero = 0;
+		while(transacoes.find())
+		{
+			numero++;
+			linhas.add(converter(numero, lerElementos(transacoes.group(1))));
+		}
+		return linhas;
+	}
+	
+	private Map<String, String> lerElementos(String transacao) {
+		Map<String, String> elementos = new HashMap<>();
+		Matcher matcher = ELEMENTO.matcher(transacao);
+		while(matcher.find())
+		{
+			elementos.put(matcher.group(1).toUpperCase(Locale.ROOT), matcher.group(2).trim());
+		}
+		return elementos;
+	}
+	
+	private LinhaImportacao converter(int numero, Map<String, String> elementos) {
+		String valor = elementos.get("TRNAMT");
+		String data = elementos.get("DTPOSTED");
+		if(valor == null || data == null || data.length() < 6)
+		{
+			return LinhaImportacao.invalida(numero, "Transação sem valor ou data.");
+		}
+		try {
+			BigDecimal quantia = LeitorCsv.converterValor(valor);
+			Lancamento lancamento = new Lancamento();
+			lancamento.setDescricao(elementos.getOrDefault("MEMO", elementos.get("NAME")));
+			lancamento.setAno(Integer.valueOf(data.substring(0, 4)));
+			lancamento.setMes(Integer.valueOf(data.substring(4, 6)));
+			lancamento.setValor(quantia.abs());
+			lancamento.setTipo(quantia.signum() < 0 ? TipoLancamento.DESPESA : TipoLancamento.RECEITA);
+			return LinhaImportacao.valida(numero, lancamento);
+		}catch(NumberFormatException e) {
+			return LinhaImportacao.invalida(numero, "Transação mal formatada.");
+		}
+	}
+	
+	private Charset detectarCharset(byte[] bytes) {
+		String cabecalho = new String(bytes, 0, Math.min(bytes.length, 512), StandardCharsets.US_ASCII);
+		return cabecalho.contains("CHARSET:1252") ? Charset.forName("windows-1252") : StandardCharsets.UTF_8;
+	}
+	
+}
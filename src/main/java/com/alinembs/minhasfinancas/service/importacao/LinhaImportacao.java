@@ -0,0 +1,24 @@
+package com.alinembs.minhasfinancas.service.importacao;
+
+import com.alinembs.minhasfinancas.model.entity.Lancamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class LinhaImportacao {
+
+	private int numero;
+	private Lancamento lancamento;
+	private String erro;
+	
+	public static LinhaImportacao valida(int numero, Lancamento lancamento) {
+		return new LinhaImportacao(numero, lancamento, null);
+	}
+	
+	public static LinhaImportacao invalida(int numero, String erro) {
+		return new LinhaImportacao(numero, null, erro);
+	}
+	
+}
@@ -0,0 +1,15 @@
+package com.alinembs.minhasfinancas.service.importacao;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ResultadoImportacao {
+
+	private int importados;
+	private List<ErroImportacao> erros;
+	
+}
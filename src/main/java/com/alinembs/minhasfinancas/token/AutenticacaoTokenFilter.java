@@ -0,0 +1,66 @@
+package com.alinembs.minhasfinancas.token;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Confere o token {@code Authorization: Bearer} e deixa o id do usuário no atributo
+ * {@link #ATRIBUTO_USUARIO}, sem consultar o banco. Token inválido ou vencido recebe 401;
+ * a falta de token só é recusada quando {@code minhasfinancas.token.obrigatorio=true}.
+ */
+public class AutenticacaoTokenFilter extends OncePerRequestFilter {
+
+	public static final String ATRIBUTO_USUARIO = AutenticacaoTokenFilter.class.getName() + ".usuario";
+	
+	private static final String PREFIXO = "Bearer ";
+	
+	private final EmissorTokens emissor;
+	private final boolean obrigatorio;
+	
+	public AutenticacaoTokenFilter(EmissorTokens emissor, boolean obrigatorio) {
+		this.emissor = emissor;
+		this.obrigatorio = obrigatorio;
+	}
+	
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		String autorizacao = request.getHeader(HttpHeaders.AUTHORIZATION);
+		if(autorizacao == null || !autorizacao.startsWith(PREFIXO))
+		{
+			if(obrigatorio && !isPublico(request))
+			{
+				response.sendError(HttpStatus.UNAUTHORIZED.value(), "Informe o token de acesso.");
+				return;
+			}
+			chain.doFilter(request, response);
+			return;
+		}
+		Optional<Long> idUsuario = emissor.verificar(autorizacao.substring(PREFIXO.length()).trim());
+		if(!idUsuario.isPresent())
+		{
+			response.sendError(HttpStatus.UNAUTHORIZED.value(), "Token de acesso inválido ou expirado.");
+			return;
+		}
+		request.setAttribute(ATRIBUTO_USUARIO, idUsuario.get());
+		chain.doFilter(request, response);
+	}
+	
+	// Cadastro e login sao as unicas chamadas feitas antes de existir um token.
+	private boolean isPublico(HttpServletRequest request) {
+		String caminho = request.getRequestURI().substring(request.getContextPath().length());
+		return HttpMethod.POST.matches(request.getMethod())
+				&& (caminho.equals("/api/usuarios") || caminho.equals("/api/usuarios/autenticar"));
+	}
+	
+}
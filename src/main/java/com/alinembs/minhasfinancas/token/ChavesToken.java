@@ -0,0 +1,21 @@
+package com.alinembs.minhasfinancas.token;
+
+import java.util.Map;
+
+import lombok.Value;
+
+/** Chaves HMAC conhecidas, por identificador, e a usada para assinar novos tokens. */
+@Value
+public class ChavesToken {
+
+	String atual;
+	Map<String, byte[]> chaves;
+	
+	public byte[] obter(String id) {
+		return chaves.get(id);
+	}
+	
+	public byte[] getChaveAtual() {
+		return chaves.get(atual);
+	}
+}
@@ -0,0 +1,155 @@
+package com.alinembs.minhasfinancas.token;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Emite e confere tokens assinados com HMAC-SHA256, no formato
+ * {@code idUsuario.expiracao.idChave.assinatura}. A conferência é feita só em memória.
+ * As chaves podem vir de um arquivo relido periodicamente, para que uma nova chave
+ * entre em uso e uma antiga deixe de valer sem reiniciar a aplicação.
+ */
+@Slf4j
+public class EmissorTokens {
+
+	static final String ALGORITMO = "HmacSHA256";
+	
+	private static final Base64.Encoder CODIFICADOR = Base64.getUrlEncoder().withoutPadding();
+	
+	private final Duration validade;
+	private final Clock relogio;
+	private final Path arquivoChaves;
+	
+	private volatile ChavesToken chaves;
+	private volatile FileTime modificacaoLida;
+	
+	public EmissorTokens(ChavesToken chaves, Path arquivoChaves, Duration validade, Clock relogio) {
+		this.chaves = chaves;
+		this.arquivoChaves = arquivoChaves;
+		this.validade = validade;
+		this.relogio = relogio;
+		recarregar();
+		if(this.chaves == null || this.chaves.getChaveAtual() == null)
+		{
+			log.warn("Nenhuma chave de token configurada; usando uma chave aleatoria que nao sobrevive a reinicios");
+			byte[] aleatoria = new byte[32];
+			new SecureRandom().nextBytes(aleatoria);
+			this.chaves = new ChavesToken("local", Map.of("local", aleatoria));
+		}
+	}
+	
+	public TokenEmitido emitir(Long idUsuario) {
+		ChavesToken vigentes = chaves;
+		Instant expiraEm = relogio.instant().plus(validade);
+		String conteudo = idUsuario + "." + expiraEm.getEpochSecond() + "." + vigentes.getAtual();
+		return new TokenEmitido(conteudo + "." + assinar(vigentes.getChaveAtual(), conteudo), expiraEm);
+	}
+	
+	/** @return o id do usuário, se o token for íntegro, de uma chave conhecida e ainda válido. */
+	public Optional<Long> verificar(String token) {
+		int ultimoPonto = token.lastIndexOf('.');
+		if(ultimoPonto < 0)
+		{
+			return Optional.empty();
+		}
+		String conteudo = token.substring(0, ultimoPonto);
+		String[] partes = conteudo.split("\\.");
+		if(partes.length != 3)
+		{
+			return Optional.empty();
+		}
+		byte[] chave = chaves.obter(partes[2]);
+		if(chave == null)
+		{
+			return Optional.empty();
+		}
+		byte[] esperada = assinar(chave, conteudo).getBytes(StandardCharsets.US_ASCII);
+		if(!MessageDigest.isEqual(esperada, token.substring(ultimoPonto + 1).getBytes(StandardCharsets.US_ASCII)))
+		{
+			return Optional.empty();
+		}
+		try {
+			if(relogio.instant().getEpochSecond() >= Long.parseLong(partes[1]))
+			{
+				return Optional.empty();
+			}
+			return Optional.of(Long.valueOf(partes[0]));
+		}catch(NumberFormatException e) {
+			return Optional.empty();
+		}
+	}
+	
+	/**
+	 * Relê o arquivo de chaves se ele mudou desde a última leitura. Formato:
+	 * {@code atual=<id>} e uma linha {@code chave.<id>=<base64>} por chave aceita.
+	 */
+	public void recarregar() {
+		if(arquivoChaves == null || !Files.exists(arquivoChaves))
+		{
+			return;
+		}
+		try {
+			FileTime modificacao = Files.getLastModifiedTime(arquivoChaves);
+			if(modificacao.equals(modificacaoLida))
+			{
+				return;
+			}
+			Properties propriedades = new Properties();
+			try(InputStream entrada = Files.newInputStream(arquivoChaves)) {
+				propriedades.load(entrada);
+			}
+			Map<String, String> codificadas = new LinkedHashMap<>();
+			propriedades.stringPropertyNames().stream()
+					.filter( nome -> nome.startsWith("chave."))
+					.forEach( nome -> codificadas.put(nome.substring("chave.".length()), propriedades.getProperty(nome)));
+			ChavesToken lidas = lerChaves(propriedades.getProperty("atual"), codificadas);
+			if(lidas.getChaveAtual() == null)
+			{
+				log.error("Arquivo de chaves {} sem a chave atual; mantendo as chaves anteriores", arquivoChaves);
+				return;
+			}
+			chaves = lidas;
+			modificacaoLida = modificacao;
+			log.info("Chaves de token recarregadas de {}: {} (atual {})", arquivoChaves, lidas.getChaves().keySet(), lidas.getAtual());
+		}catch(IOException | IllegalArgumentException e) {
+			log.error("Nao foi possivel ler o arquivo de chaves {}; mantendo as chaves anteriores", arquivoChaves, e);
+		}
+	}
+	
+	public static ChavesToken lerChaves(String atual, Map<String, String> codificadas) {
+		Map<String, byte[]> chaves = new LinkedHashMap<>();
+		codificadas.forEach( (id, valor) -> chaves.put(id, Base64.getDecoder().decode(valor.trim())));
+		return new ChavesToken(atual, chaves);
+	}
+	
+	private static String assinar(byte[] chave, String conteudo) {
+		try {
+			Mac mac = Mac.getInstance(ALGORITMO);
+			mac.init(new SecretKeySpec(chave, ALGORITMO));
+			return CODIFICADOR.encodeToString(mac.doFinal(conteudo.getBytes(StandardCharsets.US_ASCII)));
+		}catch(GeneralSecurityException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+	
+}
@@ -0,0 +1,71 @@
+package com.alinembs.minhasfinancas.token;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Tokens de acesso. As chaves vêm de {@code minhasfinancas.token.chave.<id>} ou, para
+ * trocá-las sem reiniciar, do arquivo em {@code minhasfinancas.token.arquivo-chaves}.
+ */
+@Configuration
+public class TokenConfig {
+
+	private EmissorTokens emissorTokens;
+	
+	@Bean
+	public EmissorTokens emissorTokens(Environment ambiente,
+			@Value("${minhasfinancas.token.chave-atual:}") String chaveAtual,
+			@Value("${minhasfinancas.token.arquivo-chaves:}") String arquivoChaves,
+			@Value("${minhasfinancas.token.validade:12h}") Duration validade) {
+		Map<String, String> chaves = Binder.get(ambiente)
+				.bind("minhasfinancas.token.chave", Bindable.mapOf(String.class, String.class))
+				.orElse(Map.of());
+		emissorTokens = new EmissorTokens(EmissorTokens.lerChaves(chaveAtual, chaves),
+				arquivoChaves.isEmpty() ? null : Path.of(arquivoChaves), validade, Clock.systemUTC());
+		return emissorTokens;
+	}
+	
+	@Bean
+	public FilterRegistrationBean<AutenticacaoTokenFilter> filtroAutenticacao(EmissorTokens emissorTokens,
+			@Value("${minhasfinancas.token.obrigatorio:false}") boolean obrigatorio) {
+		FilterRegistrationBean<AutenticacaoTokenFilter> registro = new FilterRegistrationBean<>(
+				new AutenticacaoTokenFilter(emissorTokens, obrigatorio));
+		registro.addUrlPatterns("/api/*");
+		// Antes do filtro de idempotencia, que separa as chaves por usuario.
+		registro.setOrder(0);
+		return registro;
+	}
+	
+	@Bean
+	public WebMvcConfigurer usuarioAutenticado() {
+		return new WebMvcConfigurer() {
+			@Override
+			public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+				resolvers.add(new UsuarioAutenticadoResolver());
+			}
+		};
+	}
+	
+	@Scheduled(fixedDelayString = "${minhasfinancas.token.recarga-chaves:PT30S}")
+	public void recarregarChaves() {
+		if(emissorTokens != null)
+		{
+			emissorTokens.recarregar();
+		}
+	}
+	
+}
@@ -0,0 +1,12 @@
+package com.alinembs.minhasfinancas.token;
+
+import java.time.Instant;
+
+import lombok.Value;
+
+@Value
+public class TokenEmitido {
+
+	String token;
+	Instant expiraEm;
+}
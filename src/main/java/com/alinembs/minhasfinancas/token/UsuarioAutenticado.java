@@ -0,0 +1,16 @@
+package com.alinembs.minhasfinancas.token;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Recebe no controlador o id do usuário do token da requisição, ou {@code null}
+ * quando a requisição não trouxe token.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface UsuarioAutenticado {
+
+}
@@ -0,0 +1,23 @@
+package com.alinembs.minhasfinancas.token;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+public class UsuarioAutenticadoResolver implements HandlerMethodArgumentResolver {
+
+	@Override
+	public boolean supportsParameter(MethodParameter parameter) {
+		return parameter.hasParameterAnnotation(UsuarioAutenticado.class) && parameter.getParameterType() == Long.class;
+	}
+	
+	@Override
+	public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+			NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+		return webRequest.getAttribute(AutenticacaoTokenFilter.ATRIBUTO_USUARIO, RequestAttributes.SCOPE_REQUEST);
+	}
+	
+}
@@ -0,0 +1,12 @@
+CREATE TABLE IF NOT EXISTS financas.saldo_usuario
+(
+  id_usuario bigint NOT NULL PRIMARY KEY REFERENCES financas.usuario (id),
+  receitas numeric(16,2) NOT NULL DEFAULT 0,
+  despesas numeric(16,2) NOT NULL DEFAULT 0
+);
+
+CREATE INDEX IF NOT EXISTS idx_lancamento_usuario_periodo
+  ON financas.lancamento (id_usuario, ano, mes, id);
+
+CREATE INDEX IF NOT EXISTS idx_lancamento_usuario_tipo_status
+  ON financas.lancamento (id_usuario, tipo, status);
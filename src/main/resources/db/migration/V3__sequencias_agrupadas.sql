@@ -0,0 +1,11 @@
+-- Sequências com INCREMENT BY igual ao tamanho de alocação do Hibernate (pooled-lo).
+-- Cada sequência começa depois do maior id existente, preservando os registros atuais.
+
+CREATE SEQUENCE IF NOT EXISTS financas.usuario_seq INCREMENT BY ${tamanho_alocacao};
+SELECT setval('financas.usuario_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM financas.usuario), false);
+
+CREATE SEQUENCE IF NOT EXISTS financas.lancamento_seq INCREMENT BY ${tamanho_alocacao};
+SELECT setval('financas.lancamento_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM financas.lancamento), false);
+
+ALTER TABLE financas.usuario ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE financas.lancamento ALTER COLUMN id DROP DEFAULT;
@@ -0,0 +1,18 @@
+CREATE TABLE IF NOT EXISTS financas.resumo_mensal_usuario
+(
+  id_usuario bigint NOT NULL REFERENCES financas.usuario (id),
+  ano integer NOT NULL,
+  mes integer NOT NULL,
+  status character varying(20) CHECK ( status IN ('PENDENTE', 'CANCELADO', 'EFETIVADO') ) NOT NULL,
+  receitas numeric(16,2) NOT NULL DEFAULT 0,
+  despesas numeric(16,2) NOT NULL DEFAULT 0,
+  PRIMARY KEY (id_usuario, ano, mes, status)
+);
+
+INSERT INTO financas.resumo_mensal_usuario (id_usuario, ano, mes, status, receitas, despesas)
+SELECT id_usuario, ano, mes, status,
+  COALESCE(SUM(CASE WHEN tipo = 'RECEITA' THEN valor END), 0),
+  COALESCE(SUM(CASE WHEN tipo = 'DESPESA' THEN valor END), 0)
+FROM financas.lancamento
+GROUP BY id_usuario, ano, mes, status
+ON CONFLICT DO NOTHING;
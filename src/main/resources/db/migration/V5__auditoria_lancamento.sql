@@ -0,0 +1,17 @@
+CREATE TABLE IF NOT EXISTS financas.auditoria_lancamento
+(
+  id bigserial NOT NULL PRIMARY KEY,
+  operacao character varying(20) CHECK ( operacao IN ('INCLUSAO', 'ALTERACAO', 'EXCLUSAO') ) NOT NULL,
+  id_lancamento bigint NOT NULL,
+  id_usuario bigint,
+  ano integer,
+  mes integer,
+  tipo character varying(20),
+  status character varying(20),
+  valor numeric(16,2),
+  descricao character varying(100),
+  data_hora timestamp with time zone NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_auditoria_lancamento
+  ON financas.auditoria_lancamento (id_lancamento, data_hora);
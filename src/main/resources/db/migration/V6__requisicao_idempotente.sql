@@ -0,0 +1,12 @@
+CREATE TABLE IF NOT EXISTS financas.requisicao_idempotente
+(
+  chave character varying(300) NOT NULL PRIMARY KEY,
+  impressao character(64) NOT NULL,
+  status integer NOT NULL,
+  tipo_conteudo character varying(255),
+  corpo bytea NOT NULL,
+  data_hora timestamp with time zone NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_requisicao_idempotente_data_hora
+  ON financas.requisicao_idempotente (data_hora);
@@ -0,0 +1,2 @@
+ALTER TABLE financas.usuario
+  ALTER COLUMN senha TYPE character varying(100);
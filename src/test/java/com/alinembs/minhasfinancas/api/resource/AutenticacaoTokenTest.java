@@ -0,0 +1,135 @@
+package com.alinembs.minhasfinancas.api.resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.alinembs.minhasfinancas.metricas.EstatisticasRequisicao;
+import com.alinembs.minhasfinancas.model.entity.Lancamento;
+import com.alinembs.minhasfinancas.model.entity.Usuario;
+import com.alinembs.minhasfinancas.model.enums.TipoLancamento;
+import com.alinembs.minhasfinancas.service.LancamentoService;
+import com.alinembs.minhasfinancas.service.UsuarioService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+public class AutenticacaoTokenTest {
+
+	@Autowired
+	MockMvc mvc;
+	
+	@Autowired
+	UsuarioService usuarioService;
+	
+	@Autowired
+	LancamentoService lancamentoService;
+	
+	@Autowired
+	ObjectMapper objectMapper;
+	
+	Usuario usuario;
+	Usuario outro;
+	Lancamento lancamentoDoOutro;
+	String token;
+	
+	@BeforeEach
+	public void setUp() throws Exception {
+		String email = "token" + System.nanoTime() + "@email.com";
+		usuario = usuarioService.salvarUsuario(Usuario.builder().nome("usuario").email(email).senha("senha").build());
+		outro = usuarioService.salvarUsuario(Usuario.builder().nome("outro").email("outro" + email).senha("senha").build());
+		lancamentoDoOutro = lancamentoService.salvar(Lancamento.builder()
+				.descricao("lancamento")
+				.ano(2024)
+				.mes(1)
+				.valor(BigDecimal.TEN)
+				.tipo(TipoLancamento.RECEITA)
+				.usuario(outro)
+				.build());
+		
+		MvcResult login = mvc.perform(MockMvcRequestBuilders.post("/api/usuarios/autenticar")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"email\":\"" + email + "\",\"senha\":\"senha\"}"))
+				.andReturn();
+		String resposta = mvc.perform(MockMvcRequestBuilders.asyncDispatch(login))
+				.andExpect(MockMvcResultMatchers.status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		JsonNode corpo = objectMapper.readTree(resposta);
+		token = corpo.get("token").asText();
+	}
+	
+	@Test
+	public void deveBuscarOsLancamentosDoUsuarioDoTokenSemConsultarOUsuario() throws Exception {
+		
+		//execucao
+		MvcResult resultado = mvc.perform(MockMvcRequestBuilders.get("/api/lancamentos")
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+				.andExpect(MockMvcResultMatchers.status().isOk())
+				.andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(0))
+				.andReturn();
+		
+		//verificacao
+		EstatisticasRequisicao estatisticas = (EstatisticasRequisicao) resultado.getRequest()
+				.getAttribute(EstatisticasRequisicao.ATRIBUTO);
+		assertThat(estatisticas.getConsultas()).isEqualTo(1);
+	}
+	
+	@Test
+	public void deveRecusarTokenInvalido() throws Exception {
+		
+		mvc.perform(MockMvcRequestBuilders.get("/api/lancamentos")
+				.param("usuario", usuario.getId().toString())
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + token + "x"))
+				.andExpect(MockMvcResultMatchers.status().isUnauthorized());
+	}
+	
+	@Test
+	public void naoDeveAcessarDadosDeOutroUsuario() throws Exception {
+		
+		mvc.perform(MockMvcRequestBuilders.get("/api/lancamentos")
+				.param("usuario", outro.getId().toString())
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+				.andExpect(MockMvcResultMatchers.status().isForbidden());
+		mvc.perform(MockMvcRequestBuilders.get("/api/lancamentos/" + lancamentoDoOutro.getId())
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+				.andExpect(MockMvcResultMatchers.status().isForbidden());
+		mvc.perform(MockMvcRequestBuilders.put("/api/lancamentos/" + lancamentoDoOutro.getId() + "/atualizar-status")
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"status\":\"EFETIVADO\"}"))
+				.andExpect(MockMvcResultMatchers.status().isForbidden());
+		mvc.perform(MockMvcRequestBuilders.get("/api/usuarios/" + outro.getId() + "/saldo")
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+				.andExpect(MockMvcResultMatchers.status().isForbidden());
+	}
+	
+	@Test
+	public void deveCriarLancamentoParaOUsuarioDoToken() throws Exception {
+		
+		mvc.perform(MockMvcRequestBuilders.post("/api/lancamentos")
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"descricao\":\"novo\",\"ano\":2024,\"mes\":2,\"valor\":5,\"tipo\":\"DESPESA\"}"))
+				.andExpect(MockMvcResultMatchers.status().isCreated())
+				.andExpect(MockMvcResultMatchers.jsonPath("idUsuario").value(usuario.getId()));
+	}
+	
+}
@@ -0,0 +1,241 @@
+package com.alinembs.minhasfinancas.api.resource;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import com.alinembs.minhasfinancas.api.dto.LancamentoDTO;
+import com.alinembs.minhasfinancas.metricas.EstatisticasRequisicao;
+import com.alinembs.minhasfinancas.model.entity.Lancamento;
+import com.alinembs.minhasfinancas.model.entity.Usuario;
+import com.alinembs.minhasfinancas.model.enums.TipoLancamento;
+import com.alinembs.minhasfinancas.service.LancamentoService;
+import com.alinembs.minhasfinancas.service.UsuarioService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Fixa a quantidade de comandos SQL de cada endpoint; um aumento aqui costuma
+ * ser um N+1 novo. O usuario vem do cache de segundo nivel, sem SELECT.
+ */
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ConsultasSqlPorEndpointTest {
+
+	@Autowired
+	MockMvc mvc;
+	
+	@Autowired
+	UsuarioService usuarioService;
+	
+	@Autowired
+	LancamentoService lancamentoService;
+	
+	@Autowired
+	ObjectMapper objectMapper;
+	
+	Usuario usuario;
+	Lancamento lancamento;
+	
+	@BeforeEach
+	public void setUp() {
+		usuario = usuarioService.salvarUsuario(Usuario.builder()
+				.nome("usuario")
+				.email("consultas" + System.nanoTime() + "@email.com")
+				.senha("senha")
+				.build());
+		for(int i = 1; i <= 3; i++)
+		{
+			lancamento = lancamentoService.salvar(Lancamento.builder()
+					.descricao("lancamento " + i)
+					.ano(2024)
+					.mes(i)
+					.valor(BigDecimal.TEN)
+					.tipo(TipoLancamento.RECEITA)
+					.usuario(usuario)
+					.build());
+		}
+	}
+	
+	private long consultas(MockHttpServletRequestBuilder request) throws Exception {
+		MvcResult resultado = mvc.perform(request).andReturn();
+		EstatisticasRequisicao estatisticas = (EstatisticasRequisicao) resultado.getRequest()
+				.getAttribute(EstatisticasRequisicao.ATRIBUTO);
+		return estatisticas.getConsultas();
+	}
+	
+	private String json(LancamentoDTO dto) throws Exception {
+		return objectMapper.writeValueAsString(dto);
+	}
+	
+	private LancamentoDTO dto() {
+		return LancamentoDTO.builder()
+				.descricao("novo")
+				.ano(2024)
+				.mes(5)
+				.valor(BigDecimal.ONE)
+				.tipo("DESPESA")
+				.usuario(usuario.getId())
+				.build();
+	}
+	
+	@Test
+	public void deveBuscarLancamentosComUmaConsulta() throws Exception {
+		
+		//execucao
+		long consultas = consultas(MockMvcRequestBuilders.get("/api/lancamentos")
+				.param("usuario", usuario.getId().toString()));
+		
+		//verificacao
+		assertThat(consultas).isEqualTo(1);
+	}
+	
+	@Test
+	public void deveBuscarPaginaComUmaConsulta() throws Exception {
+		
+		//execucao
+		long consultas = consultas(MockMvcRequestBuilders.get("/api/lancamentos/pagina")
+				.param("usuario", usuario.getId().toString()));
+		
+		//verificacao
+		assertThat(consultas).isEqualTo(1);
+	}
+	
+	@Test
+	public void devePesquisarLancamentosComUmaConsulta() throws Exception {
+		
+		//execucao
+		long consultas = consultas(MockMvcRequestBuilders.get("/api/lancamentos/pesquisa")
+				.param("usuario", usuario.getId().toString())
+				.param("termo", "lancamento"));
+		
+		//verificacao
+		assertThat(consultas).isEqualTo(1);
+	}
+	
+	@Test
+	public void deveObterSaldoComUmaConsulta() throws Exception {
+		
+		//execucao
+		long consultas = consultas(MockMvcRequestBuilders.get("/api/usuarios/" + usuario.getId() + "/saldo"));
+		
+		//verificacao
+		assertThat(consultas).isEqualTo(1);
+	}
+	
+	@Test
+	public void deveObterResumoAnualComUmaConsulta() throws Exception {
+		
+		//execucao
+		long consultas = consultas(MockMvcRequestBuilders.get("/api/usuarios/" + usuario.getId() + "/resumo")
+				.param("ano", "2024"));
+		
+		//verificacao
+		assertThat(consultas).isEqualTo(1);
+	}
+	
+	@Test
+	public void deveResponderNaoModificadoSemConsultasEnquantoOsDadosNaoMudam() throws Exception {
+		
+		//cenario
+		MvcResult primeira = mvc.perform(MockMvcRequestBuilders.get("/api/lancamentos")
+				.param("usuario", usuario.getId().toString())).andReturn();
+		String etag = primeira.getResponse().getHeader(HttpHeaders.ETAG);
+		
+		//execucao
+		long consultas = consultas(MockMvcRequestBuilders.get("/api/lancamentos")
+				.param("usuario", usuario.getId().toString())
+				.header(HttpHeaders.IF_NONE_MATCH, etag));
+		MvcResult saldo = mvc.perform(MockMvcRequestBuilders.get("/api/usuarios/" + usuario.getId() + "/saldo")
+				.header(HttpHeaders.IF_NONE_MATCH, etag)).andReturn();
+		mvc.perform(MockMvcRequestBuilders.post("/api/lancamentos")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(json(dto())));
+		MvcResult aposEscrita = mvc.perform(MockMvcRequestBuilders.get("/api/lancamentos")
+				.param("usuario", usuario.getId().toString())
+				.header(HttpHeaders.IF_NONE_MATCH, etag)).andReturn();
+		
+		//verificacao
+		assertThat(primeira.getResponse().getStatus()).isEqualTo(200);
+		assertThat(etag).isNotNull();
+		assertThat(consultas).isZero();
+		assertThat(saldo.getResponse().getStatus()).isEqualTo(304);
+		assertThat(aposEscrita.getResponse().getStatus()).isEqualTo(200);
+		assertThat(aposEscrita.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+	}
+	
+	@Test
+	public void deveSalvarLancamentoEmMesNovoComQuatroComandos() throws Exception {
+		
+		//execucao
+		long consultas = consultas(MockMvcRequestBuilders.post("/api/lancamentos")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(json(dto())));
+		
+		//verificacao
+		assertThat(consultas).isEqualTo(4);
+	}
+	
+	@Test
+	public void deveAtualizarLancamentoComCincoComandos() throws Exception {
+		
+		//execucao
+		long consultas = consultas(MockMvcRequestBuilders.put("/api/lancamentos/" + lancamento.getId())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(json(dto())));
+		
+		//verificacao
+		assertThat(consultas).isEqualTo(5);
+	}
+	
+	@Test
+	public void deveDeletarLancamentoComCincoComandos() throws Exception {
+		
+		//execucao
+		long consultas = consultas(MockMvcRequestBuilders.delete("/api/lancamentos/" + lancamento.getId()));
+		
+		//verificacao
+		assertThat(consultas).isEqualTo(5);
+	}
+	
+	@Test
+	public void deveAtualizarStatusComCincoComandos() throws Exception {
+		
+		//execucao
+		long consultas = consultas(MockMvcRequestBuilders.put("/api/lancamentos/" + lancamento.getId() + "/atualizar-status")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"status\":\"EFETIVADO\"}"));
+		
+		//verificacao
+		assertThat(consultas).isEqualTo(5);
+	}
+	
+	@Test
+	public void deveAtualizarStatusDoAnoEmLoteComTrezeComandos() throws Exception {
+		
+		//execucao
+		// Bloqueio dos ids, agregacao, um UPDATE e a leitura para a auditoria; os resumos custam por mes, nao por lancamento.
+		long consultas = consultas(MockMvcRequestBuilders.put("/api/lancamentos/atualizar-status")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"usuario\":" + usuario.getId() + ",\"ano\":2024,\"status\":\"EFETIVADO\"}"));
+		
+		//verificacao
+		assertThat(consultas).isEqualTo(13);
+	}
+	
+}
@@ -0,0 +1,124 @@
+package com.alinembs.minhasfinancas.api.resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.alinembs.minhasfinancas.metricas.EstatisticasRequisicao;
+import com.alinembs.minhasfinancas.model.entity.Lancamento;
+import com.alinembs.minhasfinancas.model.entity.Usuario;
+import com.alinembs.minhasfinancas.model.enums.TipoLancamento;
+import com.alinembs.minhasfinancas.service.LancamentoService;
+import com.alinembs.minhasfinancas.service.UsuarioService;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ExportacaoLancamentosTest {
+
+	@Autowired
+	MockMvc mvc;
+	
+	@Autowired
+	UsuarioService usuarioService;
+	
+	@Autowired
+	LancamentoService lancamentoService;
+	
+	Usuario usuario;
+	
+	@BeforeEach
+	public void setUp() {
+		usuario = usuarioService.salvarUsuario(Usuario.builder()
+				.nome("usuario")
+				.email("exportacao" + System.nanoTime() + "@email.com")
+				.senha("senha")
+				.build());
+		for(int i = 1; i <= 3; i++)
+		{
+			lancamentoService.salvar(Lancamento.builder()
+					.descricao("lancamento " + i)
+					.ano(2024)
+					.mes(i)
+					.valor(BigDecimal.TEN)
+					.tipo(TipoLancamento.RECEITA)
+					.usuario(usuario)
+					.build());
+		}
+	}
+	
+	private MvcResult exportar(MockHttpServletRequestBuilder requisicao) throws Exception {
+		MvcResult resultado = mvc.perform(requisicao).andReturn();
+		return mvc.perform(MockMvcRequestBuilders.asyncDispatch(resultado)).andReturn();
+	}
+	
+	@Test
+	public void deveExportarCsvComprimidoQuandoOClienteAceitaGzip() throws Exception {
+		
+		//execucao
+		MvcResult resultado = exportar(MockMvcRequestBuilders.get("/api/lancamentos/export")
+				.param("usuario", usuario.getId().toString())
+				.param("ano", "2024")
+				.header(HttpHeaders.ACCEPT_ENCODING, "br;q=1.0, gzip;q=0.8"));
+		
+		//verificacao
+		assertThat(resultado.getResponse().getStatus()).isEqualTo(200);
+		assertThat(resultado.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+		assertThat(resultado.getResponse().getHeader(HttpHeaders.CONTENT_DISPOSITION)).contains("lancamentos-2024.csv");
+		byte[] comprimido = resultado.getResponse().getContentAsByteArray();
+		String csv = new String(new GZIPInputStream(new ByteArrayInputStream(comprimido)).readAllBytes(), StandardCharsets.UTF_8);
+		assertThat(csv.split("\r\n")).hasSize(4);
+		assertThat(csv).contains(";lancamento 3;3;2024;10.00;RECEITA;PENDENTE");
+		// Fora do orcamento de SQL: o corpo consulta o banco na thread da tarefa assincrona.
+		assertThat(resultado.getRequest().getAttribute(EstatisticasRequisicao.ATRIBUTO)).isNull();
+	}
+	
+	@Test
+	public void naoDeveComprimirAPlanilhaNemORecusadoPeloCliente() throws Exception {
+		
+		//execucao
+		MvcResult xlsx = exportar(MockMvcRequestBuilders.get("/api/lancamentos/export")
+				.param("usuario", usuario.getId().toString())
+				.param("formato", "xlsx")
+				.header(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+		MvcResult jsonl = exportar(MockMvcRequestBuilders.get("/api/lancamentos/export")
+				.param("usuario", usuario.getId().toString())
+				.param("formato", "jsonl")
+				.header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, identity"));
+		
+		//verificacao
+		assertThat(xlsx.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+		assertThat(xlsx.getResponse().getContentAsByteArray()).startsWith('P', 'K');
+		assertThat(jsonl.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+		assertThat(jsonl.getResponse().getContentAsString().split("\n")).hasSize(3);
+	}
+	
+	@Test
+	public void deveRecusarFormatoDesconhecido() throws Exception {
+		
+		mvc.perform(MockMvcRequestBuilders.get("/api/lancamentos/export")
+				.param("usuario", usuario.getId().toString())
+				.param("formato", "pdf"))
+				.andExpect(MockMvcResultMatchers.status().isBadRequest());
+	}
+	
+}
@@ -1,5 +1,12 @@
 package com.alinembs.minhasfinancas.api.resource;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
@@ -11,16 +18,27 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
 import com.alinembs.minhasfinancas.api.dto.UsuarioDTO;
+import com.alinembs.minhasfinancas.cache.VersaoDadosUsuario;
+import com.alinembs.minhasfinancas.datasource.LeituraAposEscrita;
 import com.alinembs.minhasfinancas.exception.ErroAutenticacao;
+import com.alinembs.minhasfinancas.exception.ErroSobrecarga;
 import com.alinembs.minhasfinancas.exception.RegraNegocioException;
+import com.alinembs.minhasfinancas.model.consulta.ResumoAnual;
+import com.alinembs.minhasfinancas.model.consulta.Saldo;
+import com.alinembs.minhasfinancas.model.entity.ResumoMensalUsuario;
 import com.alinembs.minhasfinancas.model.entity.Usuario;
+import com.alinembs.minhasfinancas.model.enums.StatusLancamento;
 import com.alinembs.minhasfinancas.service.LancamentoService;
+import com.alinembs.minhasfinancas.service.ResumoMensalService;
 import com.alinembs.minhasfinancas.service.UsuarioService;
+import com.alinembs.minhasfinancas.token.EmissorTokens;
+import com.alinembs.minhasfinancas.token.TokenEmitido;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 @ExtendWith( SpringExtension.class )
@@ -41,6 +59,18 @@ public class UsuarioResourceTest {
 	@MockBean
 	LancamentoService lancamentoService;
 	
+	@MockBean
+	ResumoMensalService resumoMensalService;
+	
+	@MockBean
+	EmissorTokens emissorTokens;
+	
+	@MockBean
+	VersaoDadosUsuario versaoDados;
+	
+	@MockBean
+	LeituraAposEscrita leituraAposEscrita;
+	
 	@Test
 	public void deveAutentaticarUmUsuario() throws Exception
 	{
@@ -51,7 +81,8 @@ public class UsuarioResourceTest {
 		UsuarioDTO dto = UsuarioDTO.builder().email(email).senha(senha).build();
 		Usuario usuario = Usuario.builder().id(1l).email(email).senha(senha).build();
 		
-		Mockito.when(service.autenticar(email, senha)).thenReturn(usuario);
+		Mockito.when(service.autenticarAssincrono(email, senha)).thenReturn(CompletableFuture.completedFuture(usuario));
+		Mockito.when(emissorTokens.emitir(1l)).thenReturn(new TokenEmitido("1.1700000000.k1.assinatura", Instant.ofEpochSecond(1700000000)));
 		String json = new ObjectMapper().writeValueAsString(dto);
 	
 		//verificacao
@@ -62,8 +93,11 @@ public class UsuarioResourceTest {
 		.content(json);
 		
 		
-		mvc.perform(requisicao)
+		MvcResult resultado = mvc.perform(requisicao).andReturn();
+		mvc.perform(MockMvcRequestBuilders.asyncDispatch(resultado))
 		.andExpect(MockMvcResultMatchers.status().isOk())
+		.andExpect(MockMvcResultMatchers.jsonPath("token").value("1.1700000000.k1.assinatura"))
+		.andExpect(MockMvcResultMatchers.jsonPath("senha").doesNotExist())
 		.andExpect(MockMvcResultMatchers.jsonPath("id").value(usuario.getId()))
 		.andExpect(MockMvcResultMatchers.jsonPath("nome").value(usuario.getNome()))
 		.andExpect(MockMvcResultMatchers.jsonPath("email").value(usuario.getEmail()))
@@ -82,7 +116,7 @@ public class UsuarioResourceTest {
 		UsuarioDTO dto = UsuarioDTO.builder().email(email).senha(senha).build();
 		Usuario usuario = Usuario.builder().id(1l).email(email).senha(senha).build();
 		
-		Mockito.when(service.autenticar(email, senha)).thenThrow(ErroAutenticacao.class);
+		Mockito.when(service.autenticarAssincrono(email, senha)).thenThrow(ErroAutenticacao.class);
 		String json = new ObjectMapper().writeValueAsString(dto);
 	
 		//verificacao
@@ -93,7 +127,8 @@ public class UsuarioResourceTest {
 		.content(json);
 		
 		
-		mvc.perform(requisicao)
+		MvcResult resultado = mvc.perform(requisicao).andReturn();
+		mvc.perform(MockMvcRequestBuilders.asyncDispatch(resultado))
 		.andExpect(MockMvcResultMatchers.status().isBadRequest())
 		
 		;
@@ -101,6 +136,27 @@ public class UsuarioResourceTest {
 		 
 	}
 	
+	@Test
+	public void deveRetornarServicoIndisponivelQuandoOPoolDeSenhasEstiverCheio() throws Exception
+	{
+		//cenario
+		UsuarioDTO dto = UsuarioDTO.builder().email("usuario@email.com").senha("123").build();
+		Mockito.when(service.autenticarAssincrono("usuario@email.com", "123"))
+			.thenReturn(CompletableFuture.failedFuture(new ErroSobrecarga("Muitas autenticações simultâneas. Tente novamente.")));
+		
+		//execucao
+		MvcResult resultado = mvc.perform(MockMvcRequestBuilders.post(API.concat("/autenticar"))
+				.accept(JSON)
+				.contentType(JSON)
+				.content(new ObjectMapper().writeValueAsString(dto)))
+				.andReturn();
+		
+		//verificacao
+		mvc.perform(MockMvcRequestBuilders.asyncDispatch(resultado))
+		.andExpect(MockMvcResultMatchers.status().isServiceUnavailable())
+		.andExpect(MockMvcResultMatchers.header().string("Retry-After", "1"));
+	}
+	
 	@Test
 	public void deveCriarUmusuario() throws Exception
 	{
@@ -111,7 +167,7 @@ public class UsuarioResourceTest {
 		UsuarioDTO dto = UsuarioDTO.builder().email(email).senha(senha).build();
 		Usuario usuario = Usuario.builder().id(1l).email(email).senha(senha).build();
 		
-		Mockito.when(service.salvarUsuario(Mockito.any(Usuario.class))).thenReturn(usuario);
+		Mockito.when(service.salvarUsuarioAssincrono(Mockito.any(Usuario.class))).thenReturn(CompletableFuture.completedFuture(usuario));
 		String json = new ObjectMapper().writeValueAsString(dto);
 	
 		//verificacao
@@ -121,7 +177,8 @@ public class UsuarioResourceTest {
 		contentType(JSON)
 		.content(json);
 		
-		mvc.perform(requisicao)
+		MvcResult resultado = mvc.perform(requisicao).andReturn();
+		mvc.perform(MockMvcRequestBuilders.asyncDispatch(resultado))
 		.andExpect(MockMvcResultMatchers.status().isCreated())
 		.andExpect(MockMvcResultMatchers.jsonPath("id").value(usuario.getId()))
 		.andExpect(MockMvcResultMatchers.jsonPath("nome").value(usuario.getNome()))
@@ -142,7 +199,7 @@ public class UsuarioResourceTest {
 		UsuarioDTO dto = UsuarioDTO.builder().email(email).senha(senha).build();
 
 		
-		Mockito.when(service.salvarUsuario(Mockito.any(Usuario.class))).thenThrow(RegraNegocioException.class);;
+		Mockito.when(service.salvarUsuarioAssincrono(Mockito.any(Usuario.class))).thenThrow(RegraNegocioException.class);;
 		String json = new ObjectMapper().writeValueAsString(dto);
 	
 		//verificacao
@@ -152,12 +209,70 @@ public class UsuarioResourceTest {
 		contentType(JSON)
 		.content(json);
 		
-		mvc.perform(requisicao)
+		MvcResult resultado = mvc.perform(requisicao).andReturn();
+		mvc.perform(MockMvcRequestBuilders.asyncDispatch(resultado))
 		.andExpect(MockMvcResultMatchers.status().isBadRequest())
 		;
 		
 		 
 	}
+
+	@Test
+	public void deveObterReceitasDespesasESaldoDoUsuario() throws Exception
+	{
+		//cenario
+		Usuario usuario = Usuario.builder().id(1l).build();
+		Mockito.when(service.obterPorId(1l)).thenReturn(Optional.of(usuario));
+		Mockito.when(lancamentoService.obterSaldo(1l, 2024, null, StatusLancamento.EFETIVADO))
+			.thenReturn(new Saldo(BigDecimal.valueOf(100), BigDecimal.valueOf(30)));
+		
+		//verificacao
+		MockHttpServletRequestBuilder requisicao = MockMvcRequestBuilders
+		.get(API.concat("/1/saldo"))
+		.param("ano", "2024")
+		.param("status", "EFETIVADO")
+		.accept(JSON);
+		
+		mvc.perform(requisicao)
+		.andExpect(MockMvcResultMatchers.status().isOk())
+		.andExpect(MockMvcResultMatchers.jsonPath("receitas").value(100))
+		.andExpect(MockMvcResultMatchers.jsonPath("despesas").value(30))
+		.andExpect(MockMvcResultMatchers.jsonPath("saldo").value(70))
+		;
+	}
+	
+	@Test
+	public void deveRetornarNotFoundAoObterSaldoDeUsuarioInexistente() throws Exception
+	{
+		//cenario
+		Mockito.when(service.obterPorId(1l)).thenReturn(Optional.empty());
+		
+		//verificacao
+		mvc.perform(MockMvcRequestBuilders.get(API.concat("/1/saldo")).accept(JSON))
+		.andExpect(MockMvcResultMatchers.status().isNotFound())
+		;
+	}
 	
+	@Test
+	public void deveObterOResumoMensalDoAno() throws Exception
+	{
+		//cenario
+		Usuario usuario = Usuario.builder().id(1l).build();
+		Mockito.when(service.obterPorId(1l)).thenReturn(Optional.of(usuario));
+		Mockito.when(resumoMensalService.obterResumoAnual(1l, 2024)).thenReturn(ResumoAnual.de(2024, Arrays.asList(
+				new ResumoMensalUsuario(1l, 2024, 3, StatusLancamento.EFETIVADO, BigDecimal.valueOf(100), BigDecimal.valueOf(30)))));
+		Mockito.when(leituraAposEscrita.executar(Mockito.eq(1l), Mockito.any()))
+			.thenAnswer( invocacao -> invocacao.getArgument(1, Supplier.class).get());
+		
+		//verificacao
+		mvc.perform(MockMvcRequestBuilders.get(API.concat("/1/resumo")).param("ano", "2024").accept(JSON))
+		.andExpect(MockMvcResultMatchers.status().isOk())
+		.andExpect(MockMvcResultMatchers.jsonPath("meses.length()").value(12))
+		.andExpect(MockMvcResultMatchers.jsonPath("meses[2].saldo").value(70))
+		.andExpect(MockMvcResultMatchers.jsonPath("meses[2].porStatus.EFETIVADO.receitas").value(100))
+		.andExpect(MockMvcResultMatchers.jsonPath("meses[2].porStatus.PENDENTE.saldo").value(0))
+		.andExpect(MockMvcResultMatchers.jsonPath("saldo").value(70))
+		;
+	}
 	
 }
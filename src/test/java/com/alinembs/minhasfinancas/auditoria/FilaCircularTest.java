@@ -0,0 +1,86 @@
+package com.alinembs.minhasfinancas.auditoria;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class FilaCircularTest {
+
+	@Test
+	public void deveArredondarACapacidadeParaPotenciaDeDois()
+	{
+		assertThat(new FilaCircular<>(1000).capacidade()).isEqualTo(1024);
+		assertThat(new FilaCircular<>(1024).capacidade()).isEqualTo(1024);
+	}
+	
+	@Test
+	public void deveRecusarElementosQuandoCheiaERetirarNaOrdem()
+	{
+		FilaCircular<Integer> fila = new FilaCircular<>(4);
+		for(int i = 0; i < 4; i++)
+		{
+			assertThat(fila.oferecer(i)).isTrue();
+		}
+		
+		assertThat(fila.oferecer(4)).isFalse();
+		assertThat(fila.retirar()).isEqualTo(0);
+		assertThat(fila.oferecer(4)).isTrue();
+		assertThat(List.of(fila.retirar(), fila.retirar(), fila.retirar(), fila.retirar())).containsExactly(1, 2, 3, 4);
+		assertThat(fila.retirar()).isNull();
+		assertThat(fila.tamanho()).isZero();
+	}
+	
+	@Test
+	public void deveEntregarCadaElementoUmaUnicaVezComVariosProdutores() throws Exception
+	{
+		FilaCircular<Integer> fila = new FilaCircular<>(64);
+		int produtores = 4;
+		int porProdutor = 20000;
+		CountDownLatch largada = new CountDownLatch(1);
+		List<Thread> threads = new ArrayList<>();
+		for(int p = 0; p < produtores; p++)
+		{
+			int base = p * porProdutor;
+			Thread thread = new Thread(() -> {
+				try {
+					largada.await();
+				}catch(InterruptedException e) {
+					return;
+				}
+				for(int i = 0; i < porProdutor; i++)
+				{
+					while(!fila.oferecer(base + i))
+					{
+						Thread.onSpinWait();
+					}
+				}
+			});
+			thread.start();
+			threads.add(thread);
+		}
+		
+		largada.countDown();
+		Set<Integer> recebidos = new HashSet<>();
+		while(recebidos.size() < produtores * porProdutor)
+		{
+			Integer elemento = fila.retirar();
+			if(elemento != null)
+			{
+				assertThat(recebidos.add(elemento)).isTrue();
+			}
+		}
+		for(Thread thread : threads)
+		{
+			thread.join();
+		}
+		
+		assertThat(fila.retirar()).isNull();
+	}
+	
+}
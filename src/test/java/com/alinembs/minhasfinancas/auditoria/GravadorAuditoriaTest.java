@@ -0,0 +1,116 @@
+package com.alinembs.minhasfinancas.auditoria;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.alinembs.minhasfinancas.model.enums.OperacaoAuditoria;
+import com.alinembs.minhasfinancas.model.enums.StatusLancamento;
+import com.alinembs.minhasfinancas.model.enums.TipoLancamento;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import static org.assertj.core.api.Assertions.*;
+
+public class GravadorAuditoriaTest {
+
+	JdbcTemplate jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+	SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	GravadorAuditoria gravador;
+	
+	private GravadorAuditoria criar(int capacidade, int lote, Duration intervalo) {
+		gravador = new GravadorAuditoria(jdbcTemplate, registry, capacidade, lote, intervalo, Duration.ofMillis(10));
+		return gravador;
+	}
+	
+	private EventoAuditoria evento(long idLancamento) {
+		return new EventoAuditoria(OperacaoAuditoria.INCLUSAO, idLancamento, 1l, 2024, 2,
+				TipoLancamento.RECEITA, StatusLancamento.PENDENTE, BigDecimal.TEN, "lancamento", Instant.now());
+	}
+	
+	@SuppressWarnings("unchecked")
+	private List<List<Object[]>> lotesGravados() {
+		ArgumentCaptor<List<Object[]>> lotes = ArgumentCaptor.forClass(List.class);
+		Mockito.verify(jdbcTemplate, Mockito.atLeast(0)).batchUpdate(Mockito.eq(GravadorAuditoria.INSERT), lotes.capture());
+		return lotes.getAllValues();
+	}
+	
+	@AfterEach
+	public void encerrar() {
+		if(gravador != null)
+		{
+			gravador.stop();
+		}
+	}
+	
+	@Test
+	public void deveGravarEmLoteQuandoOLoteEncher()
+	{
+		//cenario
+		criar(64, 10, Duration.ofHours(1)).start();
+		
+		//execucao
+		for(long i = 1; i <= 10; i++)
+		{
+			gravador.enfileirar(evento(i));
+		}
+		
+		//verificacao
+		Mockito.verify(jdbcTemplate, Mockito.timeout(5000)).batchUpdate(Mockito.eq(GravadorAuditoria.INSERT), Mockito.<List<Object[]>>argThat( lote -> lote.size() == 10));
+	}
+	
+	@Test
+	public void deveGravarOLoteIncompletoAposOIntervalo()
+	{
+		//cenario
+		criar(64, 100, Duration.ofMillis(50)).start();
+		
+		//execucao
+		gravador.enfileirar(evento(1));
+		
+		//verificacao
+		Mockito.verify(jdbcTemplate, Mockito.timeout(5000)).batchUpdate(Mockito.eq(GravadorAuditoria.INSERT), Mockito.<List<Object[]>>argThat( lote -> lote.size() == 1));
+	}
+	
+	@Test
+	public void deveGravarOQueRestouNaFilaAoEncerrar()
+	{
+		//cenario
+		criar(64, 100, Duration.ofHours(1)).start();
+		for(long i = 1; i <= 5; i++)
+		{
+			gravador.enfileirar(evento(i));
+		}
+		
+		//execucao
+		gravador.stop();
+		
+		//verificacao
+		assertThat(lotesGravados()).flatExtracting( lote -> lote).hasSize(5);
+		assertThat(gravador.getPendentes()).isZero();
+	}
+	
+	@Test
+	public void deveDescartarQuandoAFilaContinuarCheia()
+	{
+		//cenario
+		criar(2, 100, Duration.ofHours(1));
+		gravador.enfileirar(evento(1));
+		gravador.enfileirar(evento(2));
+		
+		//execucao
+		boolean aceito = gravador.enfileirar(evento(3));
+		
+		//verificacao
+		assertThat(aceito).isFalse();
+		assertThat(registry.get("minhasfinancas.auditoria.descartados").counter().count()).isEqualTo(1);
+		assertThat(registry.get("minhasfinancas.auditoria.fila").gauge().value()).isEqualTo(2);
+	}
+	
+}
@@ -0,0 +1,63 @@
+package com.alinembs.minhasfinancas.cache;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+import com.alinembs.minhasfinancas.model.consulta.Saldo;
+import com.alinembs.minhasfinancas.model.enums.StatusLancamento;
+import static org.assertj.core.api.Assertions.*;
+
+public class CacheSaldoLocalTest {
+
+	CacheSaldoLocal cache = new CacheSaldoLocal(100, Duration.ofMinutes(5));
+	
+	AtomicInteger calculos = new AtomicInteger();
+	
+	private Supplier<Saldo> calculo(long receitas) {
+		return () -> {
+			calculos.incrementAndGet();
+			return new Saldo(BigDecimal.valueOf(receitas), BigDecimal.ZERO);
+		};
+	}
+	
+	@Test
+	public void deveCalcularOSaldoUmaUnicaVezPorFiltro()
+	{
+		cache.obter(1l, null, null, null, calculo(10));
+		Saldo saldo = cache.obter(1l, null, null, null, calculo(20));
+		cache.obter(1l, 2024, 2, StatusLancamento.EFETIVADO, calculo(30));
+		
+		assertThat(saldo.getSaldo()).isEqualByComparingTo(BigDecimal.valueOf(10));
+		assertThat(calculos.get()).isEqualTo(2);
+	}
+	
+	@Test
+	public void deveDescartarTodosOsFiltrosDoUsuarioInvalidado()
+	{
+		cache.obter(1l, null, null, null, calculo(10));
+		cache.obter(1l, 2024, 2, null, calculo(10));
+		cache.obter(2l, null, null, null, calculo(10));
+		
+		cache.invalidar(1l);
+		
+		assertThat(cache.obter(1l, null, null, null, calculo(20)).getSaldo()).isEqualByComparingTo(BigDecimal.valueOf(20));
+		assertThat(cache.obter(1l, 2024, 2, null, calculo(20)).getSaldo()).isEqualByComparingTo(BigDecimal.valueOf(20));
+		assertThat(cache.obter(2l, null, null, null, calculo(20)).getSaldo()).isEqualByComparingTo(BigDecimal.valueOf(10));
+	}
+	
+	@Test
+	public void naoDeveGuardarOSaldoCalculadoDuranteUmaInvalidacao()
+	{
+		cache.obter(1l, null, null, null, () -> {
+			cache.invalidar(1l);
+			return new Saldo(BigDecimal.valueOf(10), BigDecimal.ZERO);
+		});
+		
+		assertThat(cache.obter(1l, null, null, null, calculo(20)).getSaldo()).isEqualByComparingTo(BigDecimal.valueOf(20));
+	}
+	
+}
@@ -0,0 +1,107 @@
+package com.alinembs.minhasfinancas.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+public class VersaoDadosUsuarioLocalTest {
+
+	@Test
+	public void deveMudarOEtagSomenteDoUsuarioAlterado()
+	{
+		//cenario
+		VersaoDadosUsuarioLocal versoes = new VersaoDadosUsuarioLocal(100);
+		String usuario1 = versoes.etag(1l);
+		String usuario2 = versoes.etag(2l);
+		
+		//execucao
+		versoes.avancar(1l);
+		
+		//verificacao
+		assertThat(versoes.etag(1l)).isNotEqualTo(usuario1);
+		assertThat(versoes.etag(2l)).isEqualTo(usuario2);
+	}
+	
+	@Test
+	public void deveMudarOEtagDeTodosAoAvancarTodos()
+	{
+		//cenario
+		VersaoDadosUsuarioLocal versoes = new VersaoDadosUsuarioLocal(100);
+		versoes.avancar(1l);
+		String usuario1 = versoes.etag(1l);
+		String usuario2 = versoes.etag(2l);
+		
+		//execucao
+		versoes.avancarTodos();
+		
+		//verificacao
+		assertThat(versoes.etag(1l)).isNotEqualTo(usuario1);
+		assertThat(versoes.etag(2l)).isNotEqualTo(usuario2);
+	}
+	
+	@Test
+	public void naoDeveRepetirUmEtagDepoisDoDespejo()
+	{
+		//cenario
+		VersaoDadosUsuarioLocal versoes = new VersaoDadosUsuarioLocal(10);
+		Set<String> entregues = new HashSet<>();
+		
+		//execucao
+		for(long i = 0; i < 1000; i++)
+		{
+			long usuario = i % 50;
+			String anterior = versoes.etag(usuario);
+			versoes.avancar(usuario);
+			String atual = versoes.etag(usuario);
+			
+			//verificacao
+			assertThat(atual).isNotEqualTo(anterior);
+			assertThat(entregues.add(usuario + ":" + atual)).isTrue();
+			entregues.add(usuario + ":" + anterior);
+		}
+	}
+	
+	@Test
+	public void deveGuardarOInstanteDaUltimaEscritaDeCadaUsuario()
+	{
+		//cenario
+		Instant inicio = Instant.parse("2024-03-01T12:00:00Z");
+		AtomicReference<Instant> agora = new AtomicReference<>(inicio);
+		Clock relogio = new Clock() {
+			@Override
+			public Instant instant() {
+				return agora.get();
+			}
+			@Override
+			public ZoneId getZone() {
+				return ZoneOffset.UTC;
+			}
+			@Override
+			public Clock withZone(ZoneId zona) {
+				return this;
+			}
+		};
+		VersaoDadosUsuarioLocal versoes = new VersaoDadosUsuarioLocal(100, relogio);
+		
+		//execucao
+		agora.set(inicio.plusSeconds(30));
+		versoes.avancar(1l);
+		agora.set(inicio.plusSeconds(60));
+		Instant semEscrita = versoes.ultimaEscrita(2l);
+		versoes.avancarTodos();
+		
+		//verificacao
+		assertThat(semEscrita).isEqualTo(inicio);
+		assertThat(versoes.ultimaEscrita(1l)).isEqualTo(inicio.plusSeconds(60));
+		assertThat(versoes.ultimaEscrita(2l)).isEqualTo(inicio.plusSeconds(60));
+	}
+	
+}
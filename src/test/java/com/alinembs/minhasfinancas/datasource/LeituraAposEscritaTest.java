@@ -0,0 +1,47 @@
+package com.alinembs.minhasfinancas.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.Test;
+
+import com.alinembs.minhasfinancas.cache.VersaoDadosUsuarioLocal;
+
+public class LeituraAposEscritaTest {
+
+	static final Instant INICIO = Instant.parse("2024-03-01T12:00:00Z");
+	
+	static Clock em(Instant instante) {
+		return Clock.fixed(instante, ZoneOffset.UTC);
+	}
+	
+	@Test
+	public void deveLerDoPrimarioSomenteDentroDoAtrasoDaReplicaAposAEscritaDoUsuario()
+	{
+		//cenario
+		VersaoDadosUsuarioLocal versoes = new VersaoDadosUsuarioLocal(100, em(INICIO.minusSeconds(60)));
+		VersaoDadosUsuarioLocal escrita = new VersaoDadosUsuarioLocal(100, em(INICIO));
+		Duration atraso = Duration.ofSeconds(5);
+		
+		//execucao
+		versoes.avancar(1l);
+		escrita.avancar(1l);
+		boolean semEscritaRecente = new LeituraAposEscrita(versoes, atraso, em(INICIO)).executar(1l, LeituraPrimaria::isAtiva);
+		boolean logoAposEscrita = new LeituraAposEscrita(escrita, atraso, em(INICIO.plusSeconds(1))).executar(1l, LeituraPrimaria::isAtiva);
+		boolean depoisDoAtraso = new LeituraAposEscrita(escrita, atraso, em(INICIO.plusSeconds(5))).executar(1l, LeituraPrimaria::isAtiva);
+		boolean outroUsuario = new LeituraAposEscrita(escrita, atraso, em(INICIO.plusSeconds(1))).executar(2l, LeituraPrimaria::isAtiva);
+		
+		//verificacao
+		assertThat(semEscritaRecente).isFalse();
+		assertThat(logoAposEscrita).isTrue();
+		assertThat(depoisDoAtraso).isFalse();
+		// Sem entrada vale o inicio do processo, que tambem foi ha 1s.
+		assertThat(outroUsuario).isTrue();
+		assertThat(LeituraPrimaria.isAtiva()).isFalse();
+	}
+	
+}
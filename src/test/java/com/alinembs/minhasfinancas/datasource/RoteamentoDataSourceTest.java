@@ -0,0 +1,94 @@
+package com.alinembs.minhasfinancas.datasource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.alinembs.minhasfinancas.model.repository.UsuarioRepository;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import static org.assertj.core.api.Assertions.*;
+
+// A replica aponta para o mesmo H2 do perfil de teste; o que muda e o pool que atende cada transacao.
+@SpringBootTest(properties = {
+		"minhasfinancas.datasource.replica.jdbc-url=${spring.datasource.url}",
+		"minhasfinancas.datasource.replica.username=${spring.datasource.username}",
+		"minhasfinancas.datasource.replica.password=${spring.datasource.password}",
+		"minhasfinancas.datasource.replica.pool-name=replica",
+		"spring.datasource.hikari.pool-name=primario"
+})
+@ActiveProfiles("test")
+public class RoteamentoDataSourceTest {
+
+	@Autowired
+	PlatformTransactionManager transactionManager;
+	
+	@Autowired
+	UsuarioRepository usuarioRepository;
+	
+	@Autowired
+	@Qualifier("dataSourcePrimario")
+	HikariDataSource primario;
+	
+	@Autowired
+	@Qualifier("dataSourceReplica")
+	HikariDataSource replica;
+	
+	@Autowired
+	MeterRegistry registry;
+	
+	// Pool com uma conexao ativa enquanto a transacao executa uma consulta.
+	private HikariDataSource poolDaTransacao(boolean somenteLeitura) {
+		TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+		transacao.setReadOnly(somenteLeitura);
+		return transacao.execute( status -> {
+			usuarioRepository.count();
+			if(replica.getHikariPoolMXBean().getActiveConnections() == 1)
+			{
+				return replica;
+			}
+			return primario.getHikariPoolMXBean().getActiveConnections() == 1 ? primario : null;
+		});
+	}
+	
+	@Test
+	public void deveEnviarTransacoesSomenteLeituraParaAReplica() {
+		
+		//execucao
+		HikariDataSource leitura = poolDaTransacao(true);
+		HikariDataSource escrita = poolDaTransacao(false);
+		
+		//verificacao
+		assertThat(leitura).isSameAs(replica);
+		assertThat(escrita).isSameAs(primario);
+	}
+	
+	@Test
+	public void deveLerDoPrimarioQuandoARespostaDependeDaVersaoDoPrimario() {
+		
+		//execucao
+		HikariDataSource leitura = LeituraPrimaria.executar( () -> poolDaTransacao(true));
+		HikariDataSource depois = poolDaTransacao(true);
+		
+		//verificacao
+		assertThat(leitura).isSameAs(primario);
+		assertThat(depois).isSameAs(replica);
+	}
+	
+	@Test
+	public void devePublicarAsMetricasDeCadaPool() {
+		
+		//execucao
+		poolDaTransacao(true);
+		
+		//verificacao
+		assertThat(registry.find("hikaricp.connections.max").tag("pool", "primario").gauge()).isNotNull();
+		assertThat(registry.find("hikaricp.connections.max").tag("pool", "replica").gauge()).isNotNull();
+	}
+	
+}
@@ -0,0 +1,212 @@
+package com.alinembs.minhasfinancas.idempotencia;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import static org.assertj.core.api.Assertions.*;
+
+public class IdempotenciaFilterTest {
+
+	AtomicInteger execucoes = new AtomicInteger();
+	
+	IdempotenciaFilter filtro = new IdempotenciaFilter(
+			new ArmazenamentoIdempotenciaLocal(100, Duration.ofMinutes(1)), Duration.ofSeconds(5), 64, new SimpleMeterRegistry());
+	
+	// Devolve 201 com o corpo recebido, como o salvar de lancamentos.
+	FilterChain controlador = (request, response) -> {
+		int execucao = execucoes.incrementAndGet();
+		byte[] corpo = request.getInputStream().readAllBytes();
+		response.setContentType("application/json");
+		((HttpServletResponse) response).setStatus(201);
+		response.getOutputStream().write(("{\"id\":" + execucao + ",\"recebido\":" + new String(corpo, StandardCharsets.UTF_8) + "}").getBytes(StandardCharsets.UTF_8));
+	};
+	
+	private MockHttpServletRequest requisicao(String chave, String corpo) {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/lancamentos");
+		request.setContentType("application/json");
+		request.setContent(corpo.getBytes(StandardCharsets.UTF_8));
+		if(chave != null)
+		{
+			request.addHeader(IdempotenciaFilter.CABECALHO, chave);
+		}
+		return request;
+	}
+	
+	private MockHttpServletResponse executar(MockHttpServletRequest request, FilterChain chain) throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filtro.doFilter(request, response, chain);
+		return response;
+	}
+	
+	@Test
+	public void deveRepetirARespostaSemExecutarNovamente() throws Exception
+	{
+		//cenario
+		MockHttpServletResponse primeira = executar(requisicao("abc", "{\"valor\":10}"), controlador);
+		
+		//execucao
+		MockHttpServletResponse repeticao = executar(requisicao("abc", "{\"valor\":10}"), controlador);
+		
+		//verificacao
+		assertThat(execucoes).hasValue(1);
+		assertThat(primeira.getStatus()).isEqualTo(201);
+		assertThat(primeira.getContentAsString()).isEqualTo("{\"id\":1,\"recebido\":{\"valor\":10}}");
+		assertThat(repeticao.getStatus()).isEqualTo(201);
+		assertThat(repeticao.getContentAsString()).isEqualTo(primeira.getContentAsString());
+		assertThat(repeticao.getHeader(IdempotenciaFilter.CABECALHO_REPETICAO)).isEqualTo("true");
+	}
+	
+	@Test
+	public void deveExecutarNormalmenteSemOCabecalho() throws Exception
+	{
+		//execucao
+		executar(requisicao(null, "{}"), controlador);
+		executar(requisicao(null, "{}"), controlador);
+		
+		//verificacao
+		assertThat(execucoes).hasValue(2);
+	}
+	
+	@Test
+	public void deveRecusarAMesmaChaveComOutroCorpo() throws Exception
+	{
+		//cenario
+		executar(requisicao("abc", "{\"valor\":10}"), controlador);
+		
+		//execucao
+		MockHttpServletResponse response = executar(requisicao("abc", "{\"valor\":20}"), controlador);
+		
+		//verificacao
+		assertThat(execucoes).hasValue(1);
+		assertThat(response.getStatus()).isEqualTo(422);
+	}
+	
+	@Test
+	public void deveExecutarNovamenteAposErroDoServidor() throws Exception
+	{
+		//cenario
+		executar(requisicao("abc", "{}"), (request, response) -> {
+			execucoes.incrementAndGet();
+			((HttpServletResponse) response).setStatus(503);
+		});
+		
+		//execucao
+		MockHttpServletResponse response = executar(requisicao("abc", "{}"), controlador);
+		
+		//verificacao
+		assertThat(execucoes).hasValue(2);
+		assertThat(response.getStatus()).isEqualTo(201);
+	}
+	
+	@Test
+	public void deveAgruparRequisicoesSimultaneasNumaUnicaExecucao() throws Exception
+	{
+		//cenario
+		CountDownLatch emExecucao = new CountDownLatch(1);
+		CountDownLatch liberar = new CountDownLatch(1);
+		FilterChain lento = (request, response) -> {
+			emExecucao.countDown();
+			try {
+				liberar.await(5, TimeUnit.SECONDS);
+			}catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			controlador.doFilter(request, response);
+		};
+		ExecutorService executor = Executors.newFixedThreadPool(3);
+		
+		//execucao
+		Future<MockHttpServletResponse> primeira = executor.submit(() -> executar(requisicao("abc", "{}"), lento));
+		emExecucao.await(5, TimeUnit.SECONDS);
+		Future<MockHttpServletResponse> segunda = executor.submit(() -> executar(requisicao("abc", "{}"), lento));
+		Future<MockHttpServletResponse> terceira = executor.submit(() -> executar(requisicao("abc", "{}"), lento));
+		Thread.sleep(100);
+		liberar.countDown();
+		
+		//verificacao
+		assertThat(primeira.get().getStatus()).isEqualTo(201);
+		assertThat(segunda.get().getContentAsString()).isEqualTo(primeira.get().getContentAsString());
+		assertThat(terceira.get().getContentAsString()).isEqualTo(primeira.get().getContentAsString());
+		assertThat(terceira.get().getHeader(IdempotenciaFilter.CABECALHO_REPETICAO)).isEqualTo("true");
+		assertThat(execucoes).hasValue(1);
+		executor.shutdown();
+	}
+	
+	@Test
+	public void deveRecusarCorpoAcimaDoTamanhoMaximo() throws Exception
+	{
+		//cenario
+		String corpo = "{\"descricao\":\"" + "x".repeat(80) + "\"}";
+		HttpServletRequestWrapper semTamanhoDeclarado = new HttpServletRequestWrapper(requisicao("def", corpo)) {
+			@Override
+			public long getContentLengthLong() {
+				return -1;
+			}
+		};
+		MockHttpServletResponse semTamanho = new MockHttpServletResponse();
+		
+		//execucao
+		MockHttpServletResponse declarado = executar(requisicao("abc", corpo), controlador);
+		filtro.doFilter(semTamanhoDeclarado, semTamanho, controlador);
+		
+		//verificacao
+		assertThat(declarado.getStatus()).isEqualTo(413);
+		assertThat(semTamanho.getStatus()).isEqualTo(413);
+		assertThat(execucoes).hasValue(0);
+	}
+	
+	@Test
+	public void deveEntregarOCorpoAoLeitorAssincrono() throws Exception
+	{
+		//cenario
+		StringBuilder lido = new StringBuilder();
+		FilterChain assincrono = (request, response) -> {
+			ServletInputStream entrada = request.getInputStream();
+			entrada.setReadListener(new ReadListener() {
+				@Override
+				public void onDataAvailable() throws IOException {
+					while(entrada.isReady() && !entrada.isFinished())
+					{
+						lido.append((char) entrada.read());
+					}
+				}
+				
+				@Override
+				public void onAllDataRead() {
+					lido.append('|');
+				}
+				
+				@Override
+				public void onError(Throwable t) {
+					lido.append("erro");
+				}
+			});
+			((HttpServletResponse) response).setStatus(201);
+		};
+		
+		//execucao
+		MockHttpServletResponse response = executar(requisicao("abc", "{}"), assincrono);
+		
+		//verificacao
+		assertThat(response.getStatus()).isEqualTo(201);
+		assertThat(lido.toString()).isEqualTo("{}|");
+	}
+	
+}
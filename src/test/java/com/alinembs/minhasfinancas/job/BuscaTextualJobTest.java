@@ -0,0 +1,39 @@
+package com.alinembs.minhasfinancas.job;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.boot.DefaultApplicationArguments;
+
+import com.alinembs.minhasfinancas.service.BuscaTextualService;
+
+public class BuscaTextualJobTest {
+
+	BuscaTextualService service = Mockito.mock(BuscaTextualService.class);
+	
+	@Test
+	public void deveReindexarUmIndiceExistenteQuandoPedidoNaInicializacao()
+	{
+		//cenario
+		BuscaTextualJob job = new BuscaTextualJob(service, new DefaultApplicationArguments("--reindexar"));
+		
+		//execucao
+		job.indexarNaInicializacao();
+		
+		//verificacao
+		Mockito.verify(service).reindexar();
+	}
+	
+	@Test
+	public void naoDeveReindexarUmIndiceExistenteSemOArgumento()
+	{
+		//cenario
+		BuscaTextualJob job = new BuscaTextualJob(service, new DefaultApplicationArguments());
+		
+		//execucao
+		job.indexarNaInicializacao();
+		
+		//verificacao
+		Mockito.verify(service, Mockito.never()).reindexar();
+	}
+	
+}
@@ -0,0 +1,113 @@
+package com.alinembs.minhasfinancas.limite;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+public class LimitadorRequisicoesTest {
+
+	AtomicLong agora = new AtomicLong(0);
+	
+	// Rajada de 3 e um token a cada 100 ms.
+	LimitadorRequisicoes limitador = new LimitadorRequisicoes(
+			Map.of(GrupoLimite.LEITURA, new LimiteGrupo(3, 10)), 1000, Duration.ofMinutes(1), agora::get);
+	
+	@Test
+	public void devePermitirARajadaELimitarOExcesso()
+	{
+		//execucao
+		long primeira = limitador.consumir(GrupoLimite.LEITURA, "1");
+		limitador.consumir(GrupoLimite.LEITURA, "1");
+		long terceira = limitador.consumir(GrupoLimite.LEITURA, "1");
+		long quarta = limitador.consumir(GrupoLimite.LEITURA, "1");
+		
+		//verificacao
+		assertThat(primeira).isZero();
+		assertThat(terceira).isZero();
+		assertThat(quarta).isEqualTo(Duration.ofMillis(100).toNanos());
+	}
+	
+	@Test
+	public void deveReporOsTokensComOTempo()
+	{
+		//cenario
+		for(int i = 0; i < 3; i++)
+		{
+			limitador.consumir(GrupoLimite.LEITURA, "1");
+		}
+		
+		//execucao
+		agora.addAndGet(Duration.ofMillis(100).toNanos());
+		long aposReposicao = limitador.consumir(GrupoLimite.LEITURA, "1");
+		long seguinte = limitador.consumir(GrupoLimite.LEITURA, "1");
+		
+		//verificacao
+		assertThat(aposReposicao).isZero();
+		assertThat(seguinte).isPositive();
+	}
+	
+	@Test
+	public void deveSepararOsUsuariosEIgnorarGruposSemLimite()
+	{
+		//cenario
+		for(int i = 0; i < 3; i++)
+		{
+			limitador.consumir(GrupoLimite.LEITURA, "1");
+		}
+		
+		//execucao
+		long outroUsuario = limitador.consumir(GrupoLimite.LEITURA, "2");
+		long semLimite = limitador.consumir(GrupoLimite.ESCRITA, "1");
+		
+		//verificacao
+		assertThat(limitador.consumir(GrupoLimite.LEITURA, "1")).isPositive();
+		assertThat(outroUsuario).isZero();
+		assertThat(semLimite).isZero();
+	}
+	
+	@Test
+	public void naoDevePermitirMaisQueACapacidadeComAcessosConcorrentes() throws Exception
+	{
+		//cenario
+		LimitadorRequisicoes grande = new LimitadorRequisicoes(
+				Map.of(GrupoLimite.ESCRITA, new LimiteGrupo(500, 1)), 1000, Duration.ofMinutes(1), agora::get);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		List<Callable<Integer>> tarefas = new ArrayList<>();
+		for(int t = 0; t < 8; t++)
+		{
+			tarefas.add( () -> {
+				int permitidas = 0;
+				for(int i = 0; i < 200; i++)
+				{
+					if(grande.consumir(GrupoLimite.ESCRITA, "1") == 0)
+					{
+						permitidas++;
+					}
+				}
+				return permitidas;
+			});
+		}
+		
+		//execucao
+		int total = 0;
+		for(Future<Integer> resultado : executor.invokeAll(tarefas))
+		{
+			total += resultado.get();
+		}
+		executor.shutdown();
+		
+		//verificacao
+		assertThat(total).isEqualTo(500);
+	}
+	
+}
@@ -0,0 +1,123 @@
+package com.alinembs.minhasfinancas.limite;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.alinembs.minhasfinancas.token.AutenticacaoTokenFilter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+
+public class LimiteRequisicoesFilterTest {
+
+	SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	
+	AtomicInteger execucoes = new AtomicInteger();
+	
+	FilterChain controlador = (request, response) -> execucoes.incrementAndGet();
+	
+	ProtecaoSobrecarga protecao = new ProtecaoSobrecarga(registry, Duration.ofMillis(100), 0);
+	
+	LimiteRequisicoesFilter filtro = new LimiteRequisicoesFilter(
+			new LimitadorRequisicoes(Map.of(GrupoLimite.LEITURA, new LimiteGrupo(2, 1),
+					GrupoLimite.ESCRITA, new LimiteGrupo(100, 100)), 1000, Duration.ofMinutes(1), System::nanoTime),
+			protecao, registry);
+	
+	private MockHttpServletResponse executar(String metodo, Long usuario) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest(metodo, "/api/lancamentos");
+		request.setAttribute(AutenticacaoTokenFilter.ATRIBUTO_USUARIO, usuario);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filtro.doFilter(request, response, controlador);
+		return response;
+	}
+	
+	private double decisoes(String grupo, String decisao) {
+		return registry.get("minhasfinancas.limite.decisoes").tag("grupo", grupo).tag("decisao", decisao).counter().count();
+	}
+	
+	@Test
+	public void deveResponder429QuandoOUsuarioExcedeOLimite() throws Exception
+	{
+		//cenario
+		executar("GET", 1l);
+		executar("GET", 1l);
+		
+		//execucao
+		MockHttpServletResponse excedida = executar("GET", 1l);
+		MockHttpServletResponse outroUsuario = executar("GET", 2l);
+		
+		//verificacao
+		assertThat(excedida.getStatus()).isEqualTo(429);
+		assertThat(excedida.getHeader("Retry-After")).isEqualTo("1");
+		assertThat(outroUsuario.getStatus()).isEqualTo(200);
+		assertThat(execucoes).hasValue(3);
+		assertThat(decisoes("leitura", "permitida")).isEqualTo(3);
+		assertThat(decisoes("leitura", "limitada")).isEqualTo(1);
+	}
+	
+	@Test
+	public void deveLimitarPorIpQuemNaoTemTokenMesmoTrocandoOParametroUsuario() throws Exception
+	{
+		//execucao
+		MockHttpServletResponse[] respostas = new MockHttpServletResponse[3];
+		for(int i = 0; i < respostas.length; i++)
+		{
+			MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/lancamentos");
+			request.setParameter("usuario", String.valueOf(i + 1));
+			respostas[i] = new MockHttpServletResponse();
+			filtro.doFilter(request, respostas[i], controlador);
+		}
+		
+		//verificacao
+		assertThat(respostas[1].getStatus()).isEqualTo(200);
+		assertThat(respostas[2].getStatus()).isEqualTo(429);
+		assertThat(execucoes).hasValue(2);
+	}
+	
+	@Test
+	public void deveDescartarLeiturasMasNaoEscritasQuandoOPoolEstaSaturado() throws Exception
+	{
+		//cenario
+		for(int i = 0; i < 40; i++)
+		{
+			protecao.ajustar(Duration.ofMillis(500).toNanos());
+		}
+		
+		//execucao
+		MockHttpServletResponse leitura = executar("GET", 1l);
+		MockHttpServletResponse escrita = executar("POST", 1l);
+		
+		//verificacao
+		assertThat(protecao.getAdmissao()).isLessThan(1e-9);
+		assertThat(leitura.getStatus()).isEqualTo(503);
+		assertThat(leitura.getHeader("Retry-After")).isEqualTo("1");
+		assertThat(escrita.getStatus()).isEqualTo(200);
+		assertThat(decisoes("leitura", "descartada")).isEqualTo(1);
+	}
+	
+	@Test
+	public void deveVoltarAAdmitirQuandoAEsperaNormaliza()
+	{
+		//cenario
+		protecao.ajustar(Duration.ofMillis(500).toNanos());
+		
+		//execucao
+		double reduzida = protecao.getAdmissao();
+		for(int i = 0; i < 10; i++)
+		{
+			protecao.ajustar(Duration.ofMillis(5).toNanos());
+		}
+		
+		//verificacao
+		assertThat(reduzida).isEqualTo(0.5);
+		assertThat(protecao.getAdmissao()).isEqualTo(1.0);
+	}
+	
+}
@@ -0,0 +1,100 @@
+package com.alinembs.minhasfinancas.metricas;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.alinembs.minhasfinancas.exception.OrcamentoSqlExcedidoException;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import com.alinembs.minhasfinancas.exception.OrcamentoSqlExcedidoException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import static org.assertj.core.api.Assertions.*;
+
+public class MetricasRequisicaoInterceptorTest {
+
+	SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	MetricasRequisicaoInterceptor interceptor = new MetricasRequisicaoInterceptor(registry, 1, false);
+	
+	@Test
+	public void devePublicarAsEstatisticasHibernateDaRequisicaoPorEndpoint()
+	{
+		//cenario
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/lancamentos/10");
+		request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/lancamentos/{id}");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		
+		//execucao
+		interceptor.preHandle(request, response, null);
+		EstatisticasRequisicao.registrarComando("select 1");
+		EstatisticasRequisicao.registrarComando("select 1");
+		EstatisticasRequisicao.registrarCarregamento();
+		EstatisticasRequisicao.registrarCache(true);
+		interceptor.afterCompletion(request, response, null, null);
+		
+		//verificacao
+		DistributionSummary consultas = registry.get("minhasfinancas.requisicao.consultas")
+				.tags("uri", "/api/lancamentos/{id}", "method", "GET").summary();
+		assertThat(consultas.count()).isEqualTo(1);
+		assertThat(consultas.totalAmount()).isEqualTo(2);
+		assertThat(registry.get("minhasfinancas.requisicao.entidades").summary().totalAmount()).isEqualTo(1);
+		assertThat(registry.get("minhasfinancas.requisicao.cache").tag("resultado", "acerto").counter().count()).isEqualTo(1);
+		assertThat(registry.get("minhasfinancas.requisicao.orcamento.excedido").counter().count()).isEqualTo(1);
+		EstatisticasRequisicao estatisticas = (EstatisticasRequisicao) request.getAttribute(EstatisticasRequisicao.ATRIBUTO);
+		assertThat(estatisticas.getComandoMaisRepetido().getValue()).isEqualTo(2);
+		assertThat(EstatisticasRequisicao.atual()).isNull();
+	}
+	
+	@Test
+	public void deveLiberarAThreadEContinuarAContagemNoDespachoAssincrono()
+	{
+		//cenario
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/usuarios/autenticar");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		
+		//execucao
+		interceptor.preHandle(request, response, null);
+		EstatisticasRequisicao.registrarComando("select 1");
+		interceptor.afterConcurrentHandlingStarted(request, response, null);
+		EstatisticasRequisicao liberada = EstatisticasRequisicao.atual();
+		EstatisticasRequisicao.registrarComando("select fora da requisicao");
+		interceptor.preHandle(request, response, null);
+		EstatisticasRequisicao.registrarComando("select 2");
+		interceptor.afterCompletion(request, response, null, null);
+		
+		//verificacao
+		assertThat(liberada).isNull();
+		EstatisticasRequisicao estatisticas = (EstatisticasRequisicao) request.getAttribute(EstatisticasRequisicao.ATRIBUTO);
+		assertThat(estatisticas.getComandos()).containsOnlyKeys("select 1", "select 2");
+		assertThat(request.getAttribute(MetricasRequisicaoInterceptor.ATRIBUTO_EM_ANDAMENTO)).isNull();
+		assertThat(EstatisticasRequisicao.atual()).isNull();
+	}
+	
+	@Test
+	public void deveFalharOComandoQueExcedeOOrcamento()
+	{
+		//cenario
+		EstatisticasRequisicao.iniciar(1, true);
+		EstatisticasRequisicao.registrarComando("select 1");
+		
+		//execucao
+		Throwable erro = catchThrowable(() -> EstatisticasRequisicao.registrarComando("select 2"));
+		EstatisticasRequisicao.encerrar();
+		
+		//verificacao
+		assertThat(erro).isInstanceOf(OrcamentoSqlExcedidoException.class);
+	}
+	
+	@Test
+	public void deveIgnorarRegistrosForaDeUmaRequisicao()
+	{
+		//execucao
+		EstatisticasRequisicao.registrarComando("select 1");
+		
+		//verificacao
+		assertThat(EstatisticasRequisicao.atual()).isNull();
+	}
+	
+}
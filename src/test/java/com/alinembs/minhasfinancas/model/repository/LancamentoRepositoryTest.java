@@ -2,9 +2,14 @@ package com.alinembs.minhasfinancas.model.repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,7 +20,14 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import com.alinembs.minhasfinancas.model.consulta.CursorLancamento;
+import com.alinembs.minhasfinancas.model.consulta.EstadoLancamento;
+import com.alinembs.minhasfinancas.model.consulta.FiltroLancamento;
+import com.alinembs.minhasfinancas.model.consulta.MovimentoLancamento;
+import com.alinembs.minhasfinancas.model.consulta.ResumoLancamento;
+import com.alinembs.minhasfinancas.model.consulta.Saldo;
 import com.alinembs.minhasfinancas.model.entity.Lancamento;
+import com.alinembs.minhasfinancas.model.entity.Usuario;
 import com.alinembs.minhasfinancas.model.enums.StatusLancamento;
 import com.alinembs.minhasfinancas.model.enums.TipoLancamento;
 
@@ -111,14 +123,231 @@ private Lancamento criarePersistirumLancamento() {
 		
 		assertThat(lancamentoEncontrado.isPresent()).isTrue();
 	}
+
+	@Test
+	public void deveObterReceitasEDespesasEmUmaUnicaConsulta()
+	{
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+		
+		Lancamento receita = criarLancamento();
+		receita.setUsuario(usuario);
+		receita.setValor(BigDecimal.valueOf(100));
+		entityManager.persist(receita);
+		
+		Lancamento despesa = criarLancamento();
+		despesa.setUsuario(usuario);
+		despesa.setTipo(TipoLancamento.DESPESA);
+		despesa.setValor(BigDecimal.valueOf(30));
+		despesa.setMes(3);
+		entityManager.persist(despesa);
+		
+		Saldo saldo = repository.obterSaldoConsolidado(usuario.getId(), null, null, null, TipoLancamento.RECEITA, TipoLancamento.DESPESA);
+		Saldo saldoDoMes = repository.obterSaldoConsolidado(usuario.getId(), 2024, 3, StatusLancamento.PENDENTE, TipoLancamento.RECEITA, TipoLancamento.DESPESA);
+		
+		assertThat(saldo.getSaldo()).isEqualByComparingTo(BigDecimal.valueOf(70));
+		assertThat(saldoDoMes.getReceitas()).isEqualByComparingTo(BigDecimal.ZERO);
+		assertThat(saldoDoMes.getDespesas()).isEqualByComparingTo(BigDecimal.valueOf(30));
+	}
+
+	@Test
+	public void deveBuscarAPaginaSeguinteAoCursorOrdenadaPorAnoMesEId()
+	{
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+		Lancamento[] lancamentos = new Lancamento[4];
+		int[][] periodos = { {2024, 3}, {2023, 12}, {2024, 1}, {2024, 1} };
+		for(int i = 0; i < periodos.length; i++)
+		{
+			lancamentos[i] = criarLancamento();
+			lancamentos[i].setUsuario(usuario);
+			lancamentos[i].setAno(periodos[i][0]);
+			lancamentos[i].setMes(periodos[i][1]);
+			entityManager.persist(lancamentos[i]);
+		}
+		
+		FiltroLancamento filtro = FiltroLancamento.builder().idUsuario(usuario.getId()).build();
+		List<ResumoLancamento> primeiraPagina = repository.buscarApos(filtro, CursorLancamento.INICIO, 2);
+		List<ResumoLancamento> segundaPagina = repository.buscarApos(filtro, CursorLancamento.de(primeiraPagina.get(1)), 2);
+		
+		assertThat(primeiraPagina).extracting(ResumoLancamento::getId).containsExactly(lancamentos[1].getId(), lancamentos[2].getId());
+		assertThat(segundaPagina).extracting(ResumoLancamento::getId).containsExactly(lancamentos[3].getId(), lancamentos[0].getId());
+	}
 	
+	@Test
+	public void devePercorrerOsLancamentosFiltradosDoUsuario()
+	{
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+		Lancamento lancamento = criarLancamento();
+		lancamento.setUsuario(usuario);
+		lancamento.setDescricao("Conta de Luz");
+		entityManager.persist(lancamento);
+		Lancamento outro = criarLancamento();
+		outro.setUsuario(usuario);
+		entityManager.persist(outro);
+		
+		List<ResumoLancamento> encontrados;
+		FiltroLancamento filtro = FiltroLancamento.builder().idUsuario(usuario.getId()).descricao("luz").ano(2024).build();
+		try(Stream<ResumoLancamento> stream = repository.percorrer(filtro)) {
+			encontrados = stream.collect(Collectors.toList());
+		}
+		
+		assertThat(encontrados).extracting(ResumoLancamento::getId).containsExactly(lancamento.getId());
+	}
+
+	@Test
+	public void deveFiltrarApenasPelosCriteriosInformados()
+	{
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+		Lancamento receita = criarLancamento();
+		receita.setUsuario(usuario);
+		receita.setValor(BigDecimal.valueOf(100));
+		entityManager.persist(receita);
+		Lancamento despesa = criarLancamento();
+		despesa.setUsuario(usuario);
+		despesa.setTipo(TipoLancamento.DESPESA);
+		despesa.setStatus(StatusLancamento.EFETIVADO);
+		despesa.setValor(BigDecimal.valueOf(40));
+		entityManager.persist(despesa);
+		
+		List<Lancamento> todos = repository.findAll(LancamentoSpecifications.filtrar(
+				FiltroLancamento.builder().idUsuario(usuario.getId()).build()));
+		List<Lancamento> despesasEfetivadas = repository.findAll(LancamentoSpecifications.filtrar(
+				FiltroLancamento.builder().idUsuario(usuario.getId()).tipo(TipoLancamento.DESPESA).status(StatusLancamento.EFETIVADO).build()));
+		List<Lancamento> faixaDeValor = repository.findAll(LancamentoSpecifications.filtrar(
+				FiltroLancamento.builder().idUsuario(usuario.getId()).valorMinimo(BigDecimal.valueOf(50)).valorMaximo(BigDecimal.valueOf(150)).build()));
+		
+		assertThat(todos).hasSize(2);
+		assertThat(despesasEfetivadas).containsExactly(despesa);
+		assertThat(faixaDeValor).containsExactly(receita);
+	}
+
+	@Test
+	public void deveCompararCuringasDaDescricaoLiteralmente()
+	{
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+		Lancamento desconto = criarLancamento();
+		desconto.setUsuario(usuario);
+		desconto.setDescricao("Desconto 10% a_vista");
+		entityManager.persist(desconto);
+		Lancamento outro = criarLancamento();
+		outro.setUsuario(usuario);
+		outro.setDescricao("Desconto 100 avista");
+		entityManager.persist(outro);
+
+		List<Lancamento> porcentagem = repository.findAll(LancamentoSpecifications.filtrar(
+				FiltroLancamento.builder().idUsuario(usuario.getId()).descricao("10%").build()));
+		List<Lancamento> sublinhado = repository.findAll(LancamentoSpecifications.filtrar(
+				FiltroLancamento.builder().idUsuario(usuario.getId()).descricao("a_v").build()));
+
+		assertThat(porcentagem).containsExactly(desconto);
+		assertThat(sublinhado).containsExactly(desconto);
+	}
+
+	@Test
+	public void deveBuscarOResumoDosLancamentosSemCarregarOUsuario()
+	{
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+		Lancamento lancamento = criarLancamento();
+		lancamento.setUsuario(usuario);
+		entityManager.persist(lancamento);
+		entityManager.flush();
+		entityManager.clear();
+		
+		List<ResumoLancamento> resumos = repository.buscar(FiltroLancamento.builder().idUsuario(usuario.getId()).build());
+		Lancamento encontrado = repository.findById(lancamento.getId()).get();
+		
+		assertThat(resumos).hasSize(1);
+		assertThat(resumos.get(0).getId()).isEqualTo(lancamento.getId());
+		assertThat(resumos.get(0).getDescricao()).isEqualTo(lancamento.getDescricao());
+		assertThat(resumos.get(0).getIdUsuario()).isEqualTo(usuario.getId());
+		assertThat(Hibernate.isInitialized(encontrado.getUsuario())).isFalse();
+	}
 	
+	@Test
+	public void deveAtualizarOStatusSomenteNaVersaoLida()
+	{
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+		Lancamento lancamento = criarLancamento();
+		lancamento.setUsuario(usuario);
+		entityManager.persist(lancamento);
+		entityManager.flush();
+		entityManager.clear();
+		
+		EstadoLancamento estado = repository.obterEstado(lancamento.getId()).get();
+		int atualizados = repository.atualizarStatus(lancamento.getId(), StatusLancamento.EFETIVADO, estado.getVersao(),
+				StatusLancamento.EFETIVADO.getOrigensPermitidas());
+		int comVersaoAntiga = repository.atualizarStatus(lancamento.getId(), StatusLancamento.CANCELADO, estado.getVersao(),
+				StatusLancamento.CANCELADO.getOrigensPermitidas());
+		entityManager.clear();
+		
+		Lancamento encontrado = repository.findById(lancamento.getId()).get();
+		assertThat(atualizados).isEqualTo(1);
+		assertThat(comVersaoAntiga).isZero();
+		assertThat(encontrado.getStatus()).isEqualTo(StatusLancamento.EFETIVADO);
+		assertThat(encontrado.getVersao()).isEqualTo(estado.getVersao() + 1);
+	}
 	
+	@Test
+	public void deveBloquearApenasOsLancamentosDoUsuarioQueMudamDeStatus()
+	{
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+		Usuario outroUsuario = entityManager.persist(Usuario.builder().nome("outro").email("outro@email.com").senha("senha").build());
+		Lancamento pendente = criarLancamento();
+		pendente.setUsuario(usuario);
+		Lancamento efetivado = criarLancamento();
+		efetivado.setUsuario(usuario);
+		efetivado.setStatus(StatusLancamento.EFETIVADO);
+		Lancamento deOutroUsuario = criarLancamento();
+		deOutroUsuario.setUsuario(outroUsuario);
+		entityManager.persist(pendente);
+		entityManager.persist(efetivado);
+		entityManager.persist(deOutroUsuario);
+		entityManager.flush();
+		entityManager.clear();
+		
+		Collection<StatusLancamento> origens = StatusLancamento.EFETIVADO.getOrigensPermitidas();
+		List<Long> porIds = repository.bloquearParaStatus(usuario.getId(),
+				List.of(pendente.getId(), efetivado.getId(), deOutroUsuario.getId()), origens);
+		List<Long> doPeriodo = repository.bloquearParaStatus(FiltroLancamento.builder()
+				.idUsuario(usuario.getId()).ano(2024).mes(2).build(), origens);
+		int atualizados = repository.atualizarStatus(List.of(pendente.getId()), StatusLancamento.EFETIVADO, origens);
+		
+		assertThat(porIds).containsExactly(pendente.getId());
+		assertThat(doPeriodo).containsExactly(pendente.getId());
+		assertThat(atualizados).isEqualTo(1);
+	}
 	
-	
-	
-	
-	
-	
+	@Test
+	public void deveTrocarOStatusDoFiltroComUmUpdateEAgruparOsValoresPorPeriodo()
+	{
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+		Lancamento receita = criarLancamento();
+		receita.setUsuario(usuario);
+		Lancamento outraReceita = criarLancamento();
+		outraReceita.setUsuario(usuario);
+		outraReceita.setValor(BigDecimal.valueOf(15));
+		Lancamento despesa = criarLancamento();
+		despesa.setUsuario(usuario);
+		despesa.setTipo(TipoLancamento.DESPESA);
+		Lancamento deOutroMes = criarLancamento();
+		deOutroMes.setUsuario(usuario);
+		deOutroMes.setMes(3);
+		Stream.of(receita, outraReceita, despesa, deOutroMes).forEach(entityManager::persist);
+		entityManager.flush();
+		entityManager.clear();
+		FiltroLancamento filtro = FiltroLancamento.builder().idUsuario(usuario.getId()).ano(2024).mes(2).build();
+		Collection<StatusLancamento> origens = StatusLancamento.EFETIVADO.getOrigensPermitidas();
+		
+		List<MovimentoLancamento> movimentos = repository.agruparParaStatus(filtro, origens);
+		int atualizados = repository.atualizarStatus(filtro, StatusLancamento.EFETIVADO, origens);
+		List<EstadoLancamento> estados = repository.obterEstados(List.of(receita.getId(), deOutroMes.getId()));
+		
+		assertThat(movimentos).extracting(MovimentoLancamento::getTipo, m -> m.getValor().intValue())
+			.containsExactlyInAnyOrder(tuple(TipoLancamento.RECEITA, 25), tuple(TipoLancamento.DESPESA, 10));
+		assertThat(atualizados).isEqualTo(3);
+		assertThat(estados).extracting(EstadoLancamento::getId, EstadoLancamento::getStatus, EstadoLancamento::getVersao)
+			.containsExactlyInAnyOrder(tuple(receita.getId(), StatusLancamento.EFETIVADO, 1l),
+					tuple(deOutroMes.getId(), StatusLancamento.PENDENTE, 0l));
+		assertThat(repository.atualizarStatus(filtro, StatusLancamento.EFETIVADO, origens)).isZero();
+	}
 	
 }
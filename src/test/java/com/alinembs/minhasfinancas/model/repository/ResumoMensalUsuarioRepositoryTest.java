@@ -0,0 +1,105 @@
+package com.alinembs.minhasfinancas.model.repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.alinembs.minhasfinancas.model.entity.Lancamento;
+import com.alinembs.minhasfinancas.model.entity.ResumoMensalUsuario;
+import com.alinembs.minhasfinancas.model.entity.ResumoMensalUsuarioId;
+import com.alinembs.minhasfinancas.model.entity.Usuario;
+import com.alinembs.minhasfinancas.model.enums.StatusLancamento;
+import com.alinembs.minhasfinancas.model.enums.TipoLancamento;
+
+@ExtendWith( SpringExtension.class )
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+public class ResumoMensalUsuarioRepositoryTest {
+
+	@Autowired
+	ResumoMensalUsuarioRepository repository;
+	
+	@Autowired
+	TestEntityManager entityManager;
+	
+	private Usuario criarePersistirUsuarioComLancamentos() {
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+		
+		Lancamento receita = LancamentoRepositoryTest.criarLancamento();
+		receita.setUsuario(usuario);
+		receita.setValor(BigDecimal.valueOf(100));
+		entityManager.persist(receita);
+		
+		Lancamento despesa = LancamentoRepositoryTest.criarLancamento();
+		despesa.setUsuario(usuario);
+		despesa.setTipo(TipoLancamento.DESPESA);
+		despesa.setValor(BigDecimal.valueOf(30));
+		entityManager.persist(despesa);
+		
+		Lancamento efetivado = LancamentoRepositoryTest.criarLancamento();
+		efetivado.setUsuario(usuario);
+		efetivado.setStatus(StatusLancamento.EFETIVADO);
+		entityManager.persist(efetivado);
+		
+		return usuario;
+	}
+	
+	@Test
+	public void deveAgruparOsLancamentosDoAnoPorMesEStatus() {
+		Usuario usuario = criarePersistirUsuarioComLancamentos();
+		
+		List<ResumoMensalUsuario> resultado = repository.calcularPorAno(usuario.getId(), 2024, TipoLancamento.RECEITA, TipoLancamento.DESPESA);
+		
+		assertThat(resultado).extracting(ResumoMensalUsuario::getStatus)
+			.containsExactlyInAnyOrder(StatusLancamento.PENDENTE, StatusLancamento.EFETIVADO);
+		ResumoMensalUsuario pendente = resultado.stream().filter( r -> r.getStatus() == StatusLancamento.PENDENTE).findFirst().get();
+		assertThat(pendente.getReceitas()).isEqualByComparingTo(BigDecimal.valueOf(100));
+		assertThat(pendente.getDespesas()).isEqualByComparingTo(BigDecimal.valueOf(30));
+	}
+	
+	@Test
+	public void deveReconstruirOsResumosEAcumularNoMesEStatus() {
+		Usuario usuario = criarePersistirUsuarioComLancamentos();
+		entityManager.flush();
+		
+		int inseridos = repository.inserirCalculados(TipoLancamento.RECEITA, TipoLancamento.DESPESA);
+		int atualizados = repository.acumular(usuario.getId(), 2024, 2, StatusLancamento.EFETIVADO, BigDecimal.valueOf(5), BigDecimal.ZERO);
+		entityManager.clear();
+		
+		assertThat(inseridos).isEqualTo(2);
+		assertThat(atualizados).isEqualTo(1);
+		ResumoMensalUsuario efetivado = entityManager.find(ResumoMensalUsuario.class,
+				new ResumoMensalUsuarioId(usuario.getId(), 2024, 2, StatusLancamento.EFETIVADO));
+		assertThat(efetivado.getReceitas()).isEqualByComparingTo(BigDecimal.valueOf(15));
+		assertThat(repository.findByIdUsuarioAndAnoOrderByMesAscStatusAsc(usuario.getId(), 2024)).hasSize(2);
+	}
+	
+	@Test
+	public void naoDeveInserirOResumoCalculadoDoMesQuandoALinhaJaExiste() {
+		Usuario usuario = criarePersistirUsuarioComLancamentos();
+		entityManager.flush();
+		
+		int primeiro = repository.inserirCalculadosDoMes(usuario.getId(), 2024, 2, StatusLancamento.PENDENTE.name());
+		int segundo = repository.inserirCalculadosDoMes(usuario.getId(), 2024, 2, StatusLancamento.PENDENTE.name());
+		entityManager.clear();
+		
+		assertThat(primeiro).isEqualTo(1);
+		assertThat(segundo).isZero();
+		ResumoMensalUsuario pendente = entityManager.find(ResumoMensalUsuario.class,
+				new ResumoMensalUsuarioId(usuario.getId(), 2024, 2, StatusLancamento.PENDENTE));
+		assertThat(pendente.getReceitas()).isEqualByComparingTo(BigDecimal.valueOf(100));
+		assertThat(pendente.getDespesas()).isEqualByComparingTo(BigDecimal.valueOf(30));
+	}
+	
+}
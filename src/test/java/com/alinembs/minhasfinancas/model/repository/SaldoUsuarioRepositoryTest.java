@@ -0,0 +1,116 @@
+package com.alinembs.minhasfinancas.model.repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.alinembs.minhasfinancas.model.entity.Lancamento;
+import com.alinembs.minhasfinancas.model.entity.SaldoUsuario;
+import com.alinembs.minhasfinancas.model.entity.Usuario;
+import com.alinembs.minhasfinancas.model.enums.TipoLancamento;
+
+@ExtendWith( SpringExtension.class )
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+public class SaldoUsuarioRepositoryTest {
+
+	@Autowired
+	SaldoUsuarioRepository repository;
+	
+	@Autowired
+	TestEntityManager entityManager;
+	
+	private Usuario criarePersistirUsuarioComLancamentos() {
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+		
+		Lancamento receita = LancamentoRepositoryTest.criarLancamento();
+		receita.setUsuario(usuario);
+		receita.setValor(BigDecimal.valueOf(100));
+		entityManager.persist(receita);
+		
+		Lancamento despesa = LancamentoRepositoryTest.criarLancamento();
+		despesa.setUsuario(usuario);
+		despesa.setTipo(TipoLancamento.DESPESA);
+		despesa.setValor(BigDecimal.valueOf(30));
+		entityManager.persist(despesa);
+		
+		return usuario;
+	}
+	
+	@Test
+	public void deveCalcularOsTotaisDoUsuarioEmUmaUnicaConsulta() {
+		Usuario usuario = criarePersistirUsuarioComLancamentos();
+		
+		List<SaldoUsuario> resultado = repository.calcularPorUsuario(usuario.getId(), TipoLancamento.RECEITA, TipoLancamento.DESPESA);
+		
+		assertThat(resultado).hasSize(1);
+		assertThat(resultado.get(0).getReceitas()).isEqualByComparingTo(BigDecimal.valueOf(100));
+		assertThat(resultado.get(0).getDespesas()).isEqualByComparingTo(BigDecimal.valueOf(30));
+	}
+	
+	@Test
+	public void deveAcumularValoresNoSaldoMaterializado() {
+		Usuario usuario = criarePersistirUsuarioComLancamentos();
+		entityManager.persist(new SaldoUsuario(usuario.getId(), BigDecimal.valueOf(100), BigDecimal.valueOf(30)));
+		entityManager.flush();
+		
+		int atualizados = repository.acumular(usuario.getId(), BigDecimal.valueOf(50), BigDecimal.ZERO);
+		entityManager.clear();
+		
+		assertThat(atualizados).isEqualTo(1);
+		SaldoUsuario saldo = entityManager.find(SaldoUsuario.class, usuario.getId());
+		assertThat(saldo.getSaldo()).isEqualByComparingTo(BigDecimal.valueOf(120));
+	}
+	
+	@Test
+	public void naoDeveInserirOSaldoCalculadoQuandoALinhaJaExiste() {
+		Usuario usuario = criarePersistirUsuarioComLancamentos();
+		entityManager.flush();
+		
+		int primeiro = repository.inserirCalculado(usuario.getId());
+		int segundo = repository.inserirCalculado(usuario.getId());
+		entityManager.clear();
+		
+		assertThat(primeiro).isEqualTo(1);
+		assertThat(segundo).isZero();
+		SaldoUsuario saldo = entityManager.find(SaldoUsuario.class, usuario.getId());
+		assertThat(saldo.getSaldo()).isEqualByComparingTo(BigDecimal.valueOf(70));
+	}
+	
+	@Test
+	public void deveIncluirNoSaldoCalculadoOsLancamentosAindaNaoGravados() {
+		Usuario usuario = criarePersistirUsuarioComLancamentos();
+		
+		int inseridos = repository.inserirCalculado(usuario.getId());
+		entityManager.clear();
+		
+		assertThat(inseridos).isEqualTo(1);
+		SaldoUsuario saldo = entityManager.find(SaldoUsuario.class, usuario.getId());
+		assertThat(saldo.getSaldo()).isEqualByComparingTo(BigDecimal.valueOf(70));
+	}
+	
+	@Test
+	public void deveReconstruirOsSaldosAPartirDosLancamentos() {
+		Usuario usuario = criarePersistirUsuarioComLancamentos();
+		entityManager.flush();
+		
+		int inseridos = repository.inserirCalculados(TipoLancamento.RECEITA, TipoLancamento.DESPESA);
+		entityManager.clear();
+		
+		assertThat(inseridos).isEqualTo(1);
+		SaldoUsuario saldo = entityManager.find(SaldoUsuario.class, usuario.getId());
+		assertThat(saldo.getSaldo()).isEqualByComparingTo(BigDecimal.valueOf(70));
+	}
+	
+}
@@ -0,0 +1,57 @@
+package com.alinembs.minhasfinancas.model.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.alinembs.minhasfinancas.model.entity.Usuario;
+import com.alinembs.minhasfinancas.service.UsuarioService;
+
+import jakarta.persistence.EntityManagerFactory;
+import static org.assertj.core.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@SpringBootTest
+public class UsuarioCacheTest {
+
+	@Autowired
+	UsuarioService service;
+	
+	@Autowired
+	UsuarioRepository repository;
+	
+	@Autowired
+	EntityManagerFactory entityManagerFactory;
+	
+	@Test
+	public void deveGuardarOUsuarioSalvoNoCacheDeSegundoNivel() {
+		
+		//execucao
+		Usuario usuario = service.salvarUsuario(Usuario.builder()
+				.nome("usuario").email("cache-entidade@email.com").senha("senha").build());
+		
+		//verificacao
+		assertThat(entityManagerFactory.getCache().contains(Usuario.class, usuario.getId())).isTrue();
+	}
+	
+	@Test
+	public void deveInvalidarAConsultaPorEmailEmCacheAoSalvarUsuario() {
+		
+		//cenario
+		String email = "cache-consulta@email.com";
+		assertThat(repository.existsByEmail(email)).isFalse();
+		assertThat(repository.findByEmail(email)).isEmpty();
+		
+		//execucao
+		service.salvarUsuario(Usuario.builder().nome("usuario").email(email).senha("senha").build());
+		
+		//verificacao
+		assertThat(repository.existsByEmail(email)).isTrue();
+		assertThat(repository.findByEmail(email)).isPresent();
+	}
+	
+}
@@ -92,7 +92,24 @@ public class UsuarioRepositoryTest {
 		
 	}
 	
-	
+	@Test
+	public void deveReservarOsIdsEmBlocoDaSequencia() {
+		
+		//cenario
+		Usuario primeiro = entityManager.persist(criarUsuario());
+		Usuario segundo = entityManager.persist(criarUsuario());
+		Usuario terceiro = entityManager.persist(criarUsuario());
+		
+		//acao
+		Number proximoBloco = (Number) entityManager.getEntityManager()
+				.createNativeQuery("select next value for financas.usuario_seq")
+				.getSingleResult();
+		
+		//verificacao
+		Assertions.assertThat(segundo.getId()).isEqualTo(primeiro.getId() + 1);
+		Assertions.assertThat(terceiro.getId()).isEqualTo(primeiro.getId() + 2);
+		Assertions.assertThat(proximoBloco.longValue()).isBetween(terceiro.getId() + 1, primeiro.getId() + 50);
+	}
 	
 	public static Usuario criarUsuario() {
 		return  Usuario
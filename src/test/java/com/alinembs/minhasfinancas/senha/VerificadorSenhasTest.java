@@ -0,0 +1,92 @@
+package com.alinembs.minhasfinancas.senha;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.alinembs.minhasfinancas.exception.ErroSobrecarga;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import static org.assertj.core.api.Assertions.*;
+
+public class VerificadorSenhasTest {
+
+	SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	VerificadorSenhas verificador;
+	
+	@AfterEach
+	public void encerrar() {
+		verificador.encerrar();
+	}
+	
+	@Test
+	public void deveRecodificarOHashComCustoAbaixoDoConfigurado()
+	{
+		//cenario
+		verificador = new VerificadorSenhas(registry, 5, 1, 10, Duration.ofSeconds(5));
+		String antigo = new BCryptPasswordEncoder(4).encode("senha");
+		
+		//execucao
+		VerificacaoSenha verificacao = verificador.verificar("senha", antigo).join();
+		VerificacaoSenha atual = verificador.verificar("senha", verificacao.getRecodificada()).join();
+		
+		//verificacao
+		assertThat(verificacao.isValida()).isTrue();
+		assertThat(verificacao.getRecodificada()).startsWith("$2a$05$");
+		assertThat(atual.isValida()).isTrue();
+		assertThat(atual.getRecodificada()).isNull();
+	}
+	
+	@Test
+	public void deveConsiderarInvalidaUmaSenhaNaoInformada()
+	{
+		//cenario
+		verificador = new VerificadorSenhas(registry, 4, 1, 10, Duration.ofSeconds(5));
+		
+		//execucao
+		VerificacaoSenha comHash = verificador.verificar(null, new BCryptPasswordEncoder(4).encode("senha")).join();
+		VerificacaoSenha legada = verificador.verificar(null, "senha").join();
+		
+		//verificacao
+		assertThat(comHash.isValida()).isFalse();
+		assertThat(legada.isValida()).isFalse();
+	}
+	
+	@Test
+	public void deveRecusarQuandoAFilaEstiverCheia()
+	{
+		//cenario
+		verificador = new VerificadorSenhas(registry, 10, 1, 1, Duration.ofSeconds(30));
+		
+		//execucao
+		CompletableFuture<String> emExecucao = verificador.codificar("senha");
+		CompletableFuture<String> naFila = verificador.codificar("senha");
+		CompletableFuture<String> recusada = verificador.codificar("senha");
+		
+		//verificacao
+		assertThat(catchThrowable(recusada::join)).isInstanceOf(CompletionException.class).hasCauseInstanceOf(ErroSobrecarga.class);
+		assertThat(registry.get("minhasfinancas.senhas.rejeitadas").counter().count()).isEqualTo(1);
+		assertThat(emExecucao.join()).isNotNull();
+		assertThat(naFila.join()).isNotNull();
+	}
+	
+	@Test
+	public void deveDescartarOCalculoQueEsperouAlemDoLimite()
+	{
+		//cenario
+		verificador = new VerificadorSenhas(registry, 12, 1, 10, Duration.ofMillis(100));
+		
+		//execucao
+		CompletableFuture<String> primeira = verificador.codificar("senha");
+		CompletableFuture<String> atrasada = verificador.codificar("senha");
+		
+		//verificacao
+		assertThat(primeira.join()).isNotNull();
+		assertThat(catchThrowable(atrasada::join)).hasCauseInstanceOf(ErroSobrecarga.class);
+	}
+	
+}
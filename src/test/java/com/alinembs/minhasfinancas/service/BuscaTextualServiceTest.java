@@ -0,0 +1,102 @@
+package com.alinembs.minhasfinancas.service;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.annotation.DirtiesContext.ClassMode;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.alinembs.minhasfinancas.model.consulta.DescricaoLancamento;
+import com.alinembs.minhasfinancas.model.repository.LancamentoRepository;
+import com.alinembs.minhasfinancas.service.impl.BuscaTextualServiceImp;
+import static org.assertj.core.api.Assertions.*;
+
+@ExtendWith( SpringExtension.class )
+@ActiveProfiles("test")
+@DirtiesContext(classMode = ClassMode.AFTER_EACH_TEST_METHOD)
+public class BuscaTextualServiceTest {
+
+	@SpyBean
+	BuscaTextualServiceImp service;
+	@MockBean
+	LancamentoRepository repository;
+	
+	@Test
+	public void deveEncontrarPorPrefixoIgnorandoAcentos()
+	{
+		//cenario
+		service.indexar(new DescricaoLancamento(1l, 1l, "Salário de Janeiro"));
+		service.indexar(new DescricaoLancamento(2l, 1l, "Conta de Luz"));
+		
+		//execucao
+		List<Long> resultado = service.pesquisar(1l, "salar", 10);
+		
+		//verificacao
+		assertThat(resultado).containsExactly(1l);
+	}
+	
+	@Test
+	public void deveEncontrarComErroDeDigitacao()
+	{
+		//cenario
+		service.indexar(new DescricaoLancamento(1l, 1l, "Supermercado"));
+		
+		//execucao
+		List<Long> resultado = service.pesquisar(1l, "supermecado", 10);
+		
+		//verificacao
+		assertThat(resultado).containsExactly(1l);
+	}
+	
+	@Test
+	public void naoDeveRetornarLancamentosDeOutroUsuario()
+	{
+		//cenario
+		service.indexar(new DescricaoLancamento(1l, 2l, "Aluguel"));
+		
+		//execucao
+		List<Long> resultado = service.pesquisar(1l, "aluguel", 10);
+		
+		//verificacao
+		assertThat(resultado).isEmpty();
+	}
+	
+	@Test
+	public void deveRemoverOLancamentoDoIndice()
+	{
+		//cenario
+		service.indexar(new DescricaoLancamento(1l, 1l, "Aluguel"));
+		
+		//execucao
+		service.remover(1l);
+		
+		//verificacao
+		assertThat(service.pesquisar(1l, "aluguel", 10)).isEmpty();
+	}
+	
+	@Test
+	public void deveReindexarAPartirDaTabelaDeLancamentos()
+	{
+		//cenario
+		service.indexar(new DescricaoLancamento(1l, 1l, "Registro antigo"));
+		Mockito.when(repository.percorrerDescricoes()).thenReturn(Stream.of(
+				new DescricaoLancamento(2l, 1l, "Farmácia"),
+				new DescricaoLancamento(3l, 1l, "Padaria")));
+		
+		//execucao
+		int total = service.reindexar();
+		
+		//verificacao
+		assertThat(total).isEqualTo(2);
+		assertThat(service.pesquisar(1l, "farmacia", 10)).containsExactly(2l);
+		assertThat(service.pesquisar(1l, "antigo", 10)).isEmpty();
+	}
+	
+}
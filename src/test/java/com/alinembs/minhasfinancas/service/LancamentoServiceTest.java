@@ -2,37 +2,94 @@ package com.alinembs.minhasfinancas.service;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
-import org.springframework.data.domain.Example;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import com.alinembs.minhasfinancas.cache.CacheSaldo;
+import com.alinembs.minhasfinancas.cache.SaldoAlteradoEvent;
+import com.alinembs.minhasfinancas.datasource.LeituraAposEscrita;
+import com.alinembs.minhasfinancas.exception.ErroAcessoNegado;
 import com.alinembs.minhasfinancas.exception.RegraNegocioException;
+import com.alinembs.minhasfinancas.model.consulta.CursorLancamento;
+import com.alinembs.minhasfinancas.model.consulta.DescricaoLancamento;
+import com.alinembs.minhasfinancas.model.consulta.EstadoLancamento;
+import com.alinembs.minhasfinancas.model.consulta.FiltroLancamento;
+import com.alinembs.minhasfinancas.model.consulta.MovimentoLancamento;
+import com.alinembs.minhasfinancas.model.consulta.Pagina;
+import com.alinembs.minhasfinancas.model.consulta.ResumoLancamento;
+import com.alinembs.minhasfinancas.model.consulta.Saldo;
 import com.alinembs.minhasfinancas.model.entity.Lancamento;
+import com.alinembs.minhasfinancas.model.entity.SaldoUsuario;
 import com.alinembs.minhasfinancas.model.entity.Usuario;
+import com.alinembs.minhasfinancas.model.enums.OperacaoAuditoria;
 import com.alinembs.minhasfinancas.model.enums.StatusLancamento;
 import com.alinembs.minhasfinancas.model.enums.TipoLancamento;
 import com.alinembs.minhasfinancas.model.repository.LancamentoRepository;
 import com.alinembs.minhasfinancas.model.repository.LancamentoRepositoryTest;
 import com.alinembs.minhasfinancas.service.impl.LancamentoServiceImp;
+import com.alinembs.minhasfinancas.service.importacao.LinhaImportacao;
+import com.alinembs.minhasfinancas.service.importacao.ResultadoImportacao;
 import static org.assertj.core.api.Assertions.*;
 
+import jakarta.persistence.EntityManager;
+
 @ExtendWith( SpringExtension.class )
 @ActiveProfiles("test")
+@RecordApplicationEvents
 public class LancamentoServiceTest {
 
 	@SpyBean
 	LancamentoServiceImp service;
 	@MockBean
 	LancamentoRepository repository;
+	@MockBean
+	SaldoUsuarioService saldoUsuarioService;
+	@MockBean
+	ResumoMensalService resumoMensalService;
+	@MockBean
+	BuscaTextualService buscaTextualService;
+	@MockBean
+	AuditoriaService auditoriaService;
+	@MockBean
+	EntityManager entityManager;
+	@MockBean
+	CacheSaldo cacheSaldo;
+	@MockBean
+	LeituraAposEscrita leituraAposEscrita;
+	@Autowired
+	ApplicationEvents eventos;
+	
+	@BeforeEach
+	public void setUp() {
+		Mockito.when(cacheSaldo.obter(Mockito.anyLong(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any()))
+			.thenAnswer( invocacao -> invocacao.getArgument(4, Supplier.class).get());
+		Mockito.when(leituraAposEscrita.executar(Mockito.any(), Mockito.any()))
+			.thenAnswer( invocacao -> invocacao.getArgument(1, Supplier.class).get());
+	}
+	
 	@Test
 	public void deveSalvarUmLancamento()
 	{
@@ -134,14 +191,15 @@ public class LancamentoServiceTest {
 		//cenario
 		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
 		lancamento.setId(1l);
+		FiltroLancamento filtro = FiltroLancamento.builder().idUsuario(1l).ano(2024).build();
 		
-		List<Lancamento> lista = Arrays.asList(lancamento);
-		Mockito.when(repository.findAll(Mockito.any(Example.class))).thenReturn(lista);
+		List<ResumoLancamento> lista = Arrays.asList(ResumoLancamento.de(lancamento));
+		Mockito.when(repository.buscar(filtro)).thenReturn(lista);
 		
 		//acao
-		List<Lancamento> resultado = service.buscar(lancamento);
+		List<ResumoLancamento> resultado = service.buscar(filtro);
 		//verificacao
-		assertThat(resultado).isNotEmpty().hasSize(1).contains(lancamento);		
+		assertThat(resultado).isNotEmpty().hasSize(1).containsExactlyElementsOf(lista);		
 	}
 	
 	
@@ -163,6 +221,163 @@ public class LancamentoServiceTest {
 				Mockito.verify(service).atualizar(lancamento);
 	}
 	
+	@Test
+	public void deveAtualizarOStatusComUmUpdateCondicional()
+	{
+		//cenario
+		EstadoLancamento estado = new EstadoLancamento(1l, "Lancamento Teste", 2, 2024, BigDecimal.valueOf(10),
+				TipoLancamento.RECEITA, StatusLancamento.PENDENTE, 1l, 3l);
+		Mockito.when(repository.obterEstado(1l)).thenReturn(Optional.of(estado));
+		Mockito.when(repository.atualizarStatus(1l, StatusLancamento.EFETIVADO, 3l, StatusLancamento.EFETIVADO.getOrigensPermitidas())).thenReturn(1);
+		
+		//execucao
+		Lancamento atualizado = service.atualizarStatus(1l, null, StatusLancamento.EFETIVADO, 3l).get();
+		
+		//verificacao
+		assertThat(atualizado.getStatus()).isEqualTo(StatusLancamento.EFETIVADO);
+		assertThat(atualizado.getVersao()).isEqualTo(4l);
+		Mockito.verify(repository, Mockito.never()).save(Mockito.any());
+		Mockito.verify(resumoMensalService).registrarAlteracao(estado.getMovimento(), MovimentoLancamento.de(atualizado));
+	}
+	
+	@Test
+	public void deveRecusarATrocaDeStatusEmOutraVersao()
+	{
+		//cenario
+		EstadoLancamento estado = new EstadoLancamento(1l, "Lancamento Teste", 2, 2024, BigDecimal.valueOf(10),
+				TipoLancamento.RECEITA, StatusLancamento.PENDENTE, 1l, 3l);
+		Mockito.when(repository.obterEstado(1l)).thenReturn(Optional.of(estado));
+		
+		//execucao
+		Throwable erro = catchThrowable( () -> service.atualizarStatus(1l, null, StatusLancamento.EFETIVADO, 2l));
+		
+		//verificacao
+		assertThat(erro).isInstanceOf(OptimisticLockingFailureException.class);
+		Mockito.verify(repository, Mockito.never()).atualizarStatus(Mockito.anyLong(), Mockito.any(), Mockito.anyLong(), Mockito.any());
+	}
+	
+	@Test
+	public void deveAcusarConflitoQuandoOUpdateCondicionalNaoAlteraNada()
+	{
+		//cenario
+		EstadoLancamento estado = new EstadoLancamento(1l, "Lancamento Teste", 2, 2024, BigDecimal.valueOf(10),
+				TipoLancamento.RECEITA, StatusLancamento.PENDENTE, 1l, 3l);
+		Mockito.when(repository.obterEstado(1l)).thenReturn(Optional.of(estado));
+		
+		//execucao
+		Throwable erro = catchThrowable( () -> service.atualizarStatus(1l, null, StatusLancamento.CANCELADO, null));
+		
+		//verificacao
+		assertThat(erro).isInstanceOf(OptimisticLockingFailureException.class);
+		Mockito.verifyNoInteractions(resumoMensalService, auditoriaService);
+	}
+	
+	@Test
+	public void devePermitirTrocarDeQualquerStatusParaOutro()
+	{
+		//cenario
+		EstadoLancamento cancelado = new EstadoLancamento(1l, "Lancamento Teste", 2, 2024, BigDecimal.valueOf(10),
+				TipoLancamento.RECEITA, StatusLancamento.CANCELADO, 1l, 0l);
+		EstadoLancamento efetivado = new EstadoLancamento(2l, "Lancamento Teste", 2, 2024, BigDecimal.valueOf(10),
+				TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, 1l, 0l);
+		Mockito.when(repository.obterEstado(1l)).thenReturn(Optional.of(cancelado));
+		Mockito.when(repository.obterEstado(2l)).thenReturn(Optional.of(efetivado));
+		Mockito.when(repository.atualizarStatus(Mockito.anyLong(), Mockito.any(), Mockito.anyLong(), Mockito.any())).thenReturn(1);
+		
+		//execucao
+		Lancamento efetivadoDoCancelado = service.atualizarStatus(1l, null, StatusLancamento.EFETIVADO, null).get();
+		Lancamento pendenteDoEfetivado = service.atualizarStatus(2l, null, StatusLancamento.PENDENTE, null).get();
+		
+		//verificacao
+		assertThat(efetivadoDoCancelado.getStatus()).isEqualTo(StatusLancamento.EFETIVADO);
+		assertThat(pendenteDoEfetivado.getStatus()).isEqualTo(StatusLancamento.PENDENTE);
+		assertThat(StatusLancamento.PENDENTE.getOrigensPermitidas()).containsExactlyInAnyOrder(StatusLancamento.CANCELADO, StatusLancamento.EFETIVADO);
+	}
+	
+	@Test
+	public void naoDeveTrocarOStatusDeLancamentoDeOutroUsuario()
+	{
+		//cenario
+		EstadoLancamento estado = new EstadoLancamento(1l, "Lancamento Teste", 2, 2024, BigDecimal.valueOf(10),
+				TipoLancamento.RECEITA, StatusLancamento.PENDENTE, 1l, 0l);
+		Mockito.when(repository.obterEstado(1l)).thenReturn(Optional.of(estado));
+		
+		//execucao
+		Throwable erro = catchThrowable( () -> service.atualizarStatus(1l, 2l, StatusLancamento.EFETIVADO, null));
+		
+		//verificacao
+		assertThat(erro).isInstanceOf(ErroAcessoNegado.class);
+		Mockito.verify(repository, Mockito.never()).atualizarStatus(Mockito.anyLong(), Mockito.any(), Mockito.anyLong(), Mockito.any());
+	}
+	
+	@Test
+	public void deveAtualizarOStatusEmLoteComUmUnicoUpdate()
+	{
+		//cenario
+		Set<StatusLancamento> origens = StatusLancamento.EFETIVADO.getOrigensPermitidas();
+		FiltroLancamento filtro = FiltroLancamento.builder().idUsuario(1l).ano(2024).mes(2).build();
+		MovimentoLancamento receitas = new MovimentoLancamento(1l, 2024, 2, TipoLancamento.RECEITA, StatusLancamento.PENDENTE, BigDecimal.valueOf(10));
+		MovimentoLancamento despesas = new MovimentoLancamento(1l, 2024, 2, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, BigDecimal.valueOf(5));
+		Mockito.when(repository.bloquearParaStatus(filtro, origens)).thenReturn(Arrays.asList(1l, 2l));
+		Mockito.when(repository.agruparParaStatus(filtro, origens)).thenReturn(Arrays.asList(receitas, despesas));
+		Mockito.when(repository.atualizarStatus(filtro, StatusLancamento.EFETIVADO, origens)).thenReturn(2);
+		Mockito.when(repository.obterEstados(Arrays.asList(1l, 2l))).thenReturn(Arrays.asList(
+				new EstadoLancamento(1l, "Receita", 2, 2024, BigDecimal.valueOf(10), TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, 1l, 1l),
+				new EstadoLancamento(2l, "Despesa", 2, 2024, BigDecimal.valueOf(5), TipoLancamento.DESPESA, StatusLancamento.EFETIVADO, 1l, 3l)));
+		
+		//execucao
+		int atualizados = service.atualizarStatusEmLote(filtro, StatusLancamento.EFETIVADO);
+		
+		//verificacao
+		assertThat(atualizados).isEqualTo(2);
+		Mockito.verify(repository, Mockito.never()).atualizarStatus(Mockito.anyCollection(), Mockito.any(), Mockito.any());
+		Mockito.verify(resumoMensalService).registrarAlteracoes(
+				Arrays.asList(receitas, despesas),
+				Arrays.asList(
+						new MovimentoLancamento(1l, 2024, 2, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, BigDecimal.valueOf(10)),
+						new MovimentoLancamento(1l, 2024, 2, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO, BigDecimal.valueOf(5))));
+		Mockito.verify(auditoriaService, Mockito.times(2)).registrar(Mockito.eq(OperacaoAuditoria.ALTERACAO), Mockito.any());
+		Mockito.verifyNoInteractions(saldoUsuarioService);
+		assertThat(eventos.stream(SaldoAlteradoEvent.class)).extracting(SaldoAlteradoEvent::getIdUsuario).containsExactly(1l);
+	}
+	
+	@Test
+	public void deveDividirOsIdsDoLoteEmPartes()
+	{
+		//cenario
+		Set<StatusLancamento> origens = StatusLancamento.EFETIVADO.getOrigensPermitidas();
+		List<Long> ids = LongStream.rangeClosed(1, 1500).boxed().collect(Collectors.toList());
+		Mockito.when(repository.bloquearParaStatus(Mockito.eq(1l), Mockito.anyCollection(), Mockito.eq(origens)))
+			.thenAnswer( invocacao -> new ArrayList<>(invocacao.<Collection<Long>>getArgument(1)));
+		Mockito.when(repository.atualizarStatus(Mockito.anyCollection(), Mockito.eq(StatusLancamento.EFETIVADO), Mockito.eq(origens)))
+			.thenAnswer( invocacao -> invocacao.<Collection<Long>>getArgument(0).size());
+		
+		//execucao
+		int atualizados = service.atualizarStatusEmLote(1l, ids, StatusLancamento.EFETIVADO);
+		
+		//verificacao
+		assertThat(atualizados).isEqualTo(1500);
+		Mockito.verify(repository).bloquearParaStatus(1l, ids.subList(0, 1000), origens);
+		Mockito.verify(repository).bloquearParaStatus(1l, ids.subList(1000, 1500), origens);
+		Mockito.verify(repository, Mockito.times(2)).atualizarStatus(Mockito.anyCollection(), Mockito.any(), Mockito.any());
+		Mockito.verify(repository, Mockito.times(2)).obterEstados(Mockito.anyCollection());
+	}
+	
+	@Test
+	public void deveAcusarConflitoQuandoOLoteNaoForAtualizadoPorInteiro()
+	{
+		//cenario
+		Mockito.when(repository.bloquearParaStatus(1l, Arrays.asList(1l), StatusLancamento.EFETIVADO.getOrigensPermitidas()))
+			.thenReturn(Arrays.asList(1l));
+		
+		//execucao
+		Throwable erro = catchThrowable( () -> service.atualizarStatusEmLote(1l, Arrays.asList(1l), StatusLancamento.EFETIVADO));
+		
+		//verificacao
+		assertThat(erro).isInstanceOf(OptimisticLockingFailureException.class);
+		Mockito.verifyNoInteractions(resumoMensalService, auditoriaService);
+	}
+	
 	@Test
 	public void deveObterUmLancamentoPorId()
 	{
@@ -259,4 +474,256 @@ public class LancamentoServiceTest {
 
 	
 	
+	@Test
+	public void deveRegistrarNoSaldoMaterializadoAoSalvarUmLancamento()
+	{
+		//cenario
+		Lancamento lancamentoASalvar = LancamentoRepositoryTest.criarLancamento();
+		lancamentoASalvar.setUsuario(Usuario.builder().id(1l).build());
+		Mockito.doNothing().when(service).validar(lancamentoASalvar);
+		Mockito.when(repository.save(lancamentoASalvar)).thenReturn(lancamentoASalvar);
+		
+		//execucao
+		service.salvar(lancamentoASalvar);
+		
+		//verificacao
+		Mockito.verify(saldoUsuarioService).registrarAlteracao(null, new MovimentoLancamento(1l, 2024, 2, TipoLancamento.RECEITA, StatusLancamento.PENDENTE, BigDecimal.valueOf(10)));
+	}
+	
+	@Test
+	public void deveEstornarOValorAnteriorAoAtualizarUmLancamento()
+	{
+		//cenario
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setId(1l);
+		lancamento.setUsuario(Usuario.builder().id(1l).build());
+		MovimentoLancamento anterior = new MovimentoLancamento(1l, 2024, 2, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, BigDecimal.valueOf(5));
+		Mockito.doNothing().when(service).validar(lancamento);
+		Mockito.when(repository.obterMovimentoPersistido(1l)).thenReturn(Optional.of(anterior));
+		Mockito.when(repository.save(lancamento)).thenReturn(lancamento);
+		
+		//execucao
+		service.atualizar(lancamento);
+		
+		//verificacao
+		Mockito.verify(saldoUsuarioService).registrarAlteracao(anterior, MovimentoLancamento.de(lancamento));
+	}
+	
+	@Test
+	public void deveAvisarAAlteracaoDoSaldoDosUsuariosAnteriorEAtual()
+	{
+		//cenario
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setId(1l);
+		lancamento.setUsuario(Usuario.builder().id(1l).build());
+		MovimentoLancamento anterior = new MovimentoLancamento(2l, 2024, 2, TipoLancamento.RECEITA, StatusLancamento.PENDENTE, BigDecimal.valueOf(10));
+		Mockito.doNothing().when(service).validar(lancamento);
+		Mockito.when(repository.obterMovimentoPersistido(1l)).thenReturn(Optional.of(anterior));
+		Mockito.when(repository.save(lancamento)).thenReturn(lancamento);
+		
+		//execucao
+		service.atualizar(lancamento);
+		
+		//verificacao
+		assertThat(eventos.stream(SaldoAlteradoEvent.class))
+			.extracting(SaldoAlteradoEvent::getIdUsuario)
+			.containsExactly(2l, 1l);
+	}
+	
+	@Test
+	public void deveObterOSaldoPeloCache()
+	{
+		//cenario
+		Saldo emCache = new Saldo(BigDecimal.valueOf(50), BigDecimal.ZERO);
+		Mockito.doReturn(emCache).when(cacheSaldo).obter(Mockito.eq(1l), Mockito.isNull(), Mockito.isNull(), Mockito.isNull(), Mockito.any());
+		
+		//execucao
+		BigDecimal resultado = service.obterSaldoPorUsuario(1l);
+		
+		//verificacao
+		assertThat(resultado).isEqualByComparingTo(BigDecimal.valueOf(50));
+		Mockito.verifyNoInteractions(saldoUsuarioService, repository);
+	}
+	
+	@Test
+	public void deveObterOSaldoMaterializadoDoUsuario()
+	{
+		//cenario
+		SaldoUsuario saldo = new SaldoUsuario(1l, BigDecimal.valueOf(100), BigDecimal.valueOf(40));
+		Mockito.when(saldoUsuarioService.obterPorUsuario(1l)).thenReturn(Optional.of(saldo));
+		
+		//execucao
+		BigDecimal resultado = service.obterSaldoPorUsuario(1l);
+		
+		//verificacao
+		assertThat(resultado).isEqualByComparingTo(BigDecimal.valueOf(60));
+		Mockito.verifyNoInteractions(repository);
+	}
+	
+	@Test
+	public void deveCalcularOSaldoQuandoNaoHouverSaldoMaterializado()
+	{
+		//cenario
+		Mockito.when(saldoUsuarioService.obterPorUsuario(1l)).thenReturn(Optional.empty());
+		Mockito.when(repository.obterSaldoConsolidado(1l, null, null, null, TipoLancamento.RECEITA, TipoLancamento.DESPESA))
+			.thenReturn(new Saldo(BigDecimal.valueOf(100), BigDecimal.ZERO));
+		
+		//execucao
+		BigDecimal resultado = service.obterSaldoPorUsuario(1l);
+		
+		//verificacao
+		assertThat(resultado).isEqualByComparingTo(BigDecimal.valueOf(100));
+	}
+	
+	@Test
+	public void deveCalcularOSaldoFiltradoEmUmaUnicaConsulta()
+	{
+		//cenario
+		Mockito.when(repository.obterSaldoConsolidado(1l, 2024, 2, StatusLancamento.EFETIVADO, TipoLancamento.RECEITA, TipoLancamento.DESPESA))
+			.thenReturn(new Saldo(BigDecimal.valueOf(100), BigDecimal.valueOf(30)));
+		
+		//execucao
+		Saldo resultado = service.obterSaldo(1l, 2024, 2, StatusLancamento.EFETIVADO);
+		
+		//verificacao
+		assertThat(resultado.getReceitas()).isEqualByComparingTo(BigDecimal.valueOf(100));
+		assertThat(resultado.getDespesas()).isEqualByComparingTo(BigDecimal.valueOf(30));
+		assertThat(resultado.getSaldo()).isEqualByComparingTo(BigDecimal.valueOf(70));
+		Mockito.verify(saldoUsuarioService, Mockito.never()).obterPorUsuario(Mockito.anyLong());
+	}
+
+	@Test
+	public void deveRetornarOCursorDaProximaPaginaQuandoHouverMaisLancamentos()
+	{
+		//cenario
+		FiltroLancamento filtro = FiltroLancamento.builder().idUsuario(1l).build();
+		List<ResumoLancamento> encontrados = new ArrayList<>();
+		for(long id = 1; id <= 3; id++)
+		{
+			Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+			lancamento.setId(id);
+			encontrados.add(ResumoLancamento.de(lancamento));
+		}
+		Mockito.when(repository.buscarApos(filtro, CursorLancamento.INICIO, 3)).thenReturn(encontrados);
+		
+		//execucao
+		Pagina<ResumoLancamento> pagina = service.buscarPagina(filtro, CursorLancamento.INICIO, 2);
+		
+		//verificacao
+		assertThat(pagina.getConteudo()).hasSize(2);
+		assertThat(pagina.getProximo()).isEqualTo("2024-2-2");
+	}
+	
+	@Test
+	public void deveLimitarOTamanhoDaPagina()
+	{
+		//cenario
+		FiltroLancamento filtro = FiltroLancamento.builder().idUsuario(1l).build();
+		
+		//execucao
+		Pagina<ResumoLancamento> pagina = service.buscarPagina(filtro, new CursorLancamento(2024, 2, 10l), 100000);
+		
+		//verificacao
+		assertThat(pagina.getProximo()).isNull();
+		Mockito.verify(repository).buscarApos(filtro, new CursorLancamento(2024, 2, 10l), 101);
+	}
+	
+	@Test
+	public void deveEntregarCadaLancamentoPercorrido()
+	{
+		//cenario
+		FiltroLancamento filtro = FiltroLancamento.builder().idUsuario(1l).build();
+		ResumoLancamento lancamento = ResumoLancamento.de(LancamentoRepositoryTest.criarLancamento());
+		Mockito.when(repository.percorrer(filtro)).thenReturn(Stream.of(lancamento));
+		List<ResumoLancamento> recebidos = new ArrayList<>();
+		
+		//execucao
+		service.percorrer(filtro, recebidos::add);
+		
+		//verificacao
+		assertThat(recebidos).containsExactly(lancamento);
+	}
+
+	@Test
+	public void deveRetornarOsLancamentosPesquisadosNaOrdemDeRelevancia()
+	{
+		//cenario
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setId(1l);
+		ResumoLancamento primeiro = ResumoLancamento.de(lancamento);
+		lancamento.setId(2l);
+		ResumoLancamento segundo = ResumoLancamento.de(lancamento);
+		Mockito.when(buscaTextualService.pesquisar(1l, "mercado", 20)).thenReturn(Arrays.asList(2l, 1l));
+		Mockito.when(repository.obterResumos(Arrays.asList(2l, 1l))).thenReturn(new ArrayList<>(Arrays.asList(primeiro, segundo)));
+		
+		//execucao
+		List<ResumoLancamento> resultado = service.pesquisar(1l, "mercado", 20);
+		
+		//verificacao
+		assertThat(resultado).containsExactly(segundo, primeiro);
+	}
+	
+	@Test
+	public void deveIndexarADescricaoAoSalvarUmLancamento()
+	{
+		//cenario
+		Lancamento lancamentoASalvar = LancamentoRepositoryTest.criarLancamento();
+		Mockito.doNothing().when(service).validar(lancamentoASalvar);
+		Lancamento lancamentoSalvo = LancamentoRepositoryTest.criarLancamento();
+		lancamentoSalvo.setId(1l);
+		Mockito.when(repository.save(lancamentoASalvar)).thenReturn(lancamentoSalvo);
+		
+		//execucao
+		service.salvar(lancamentoASalvar);
+		
+		//verificacao
+		Mockito.verify(buscaTextualService).indexar(DescricaoLancamento.de(lancamentoSalvo));
+	}
+
+	@Test
+	public void deveImportarAsLinhasValidasEReportarAsDemais()
+	{
+		//cenario
+		Usuario usuario = Usuario.builder().id(1l).build();
+		Lancamento valido = LancamentoRepositoryTest.criarLancamento();
+		Lancamento semDescricao = LancamentoRepositoryTest.criarLancamento();
+		semDescricao.setDescricao(null);
+		List<LinhaImportacao> linhas = Arrays.asList(
+				LinhaImportacao.valida(1, valido),
+				LinhaImportacao.invalida(2, "Linha mal formatada."),
+				LinhaImportacao.valida(3, semDescricao));
+		
+		//execucao
+		ResultadoImportacao resultado = service.importar(usuario, linhas);
+		
+		//verificacao
+		assertThat(resultado.getImportados()).isEqualTo(1);
+		assertThat(resultado.getErros()).extracting("linha").containsExactly(2, 3);
+		assertThat(valido.getUsuario()).isEqualTo(usuario);
+		assertThat(valido.getStatus()).isEqualTo(StatusLancamento.PENDENTE);
+		Mockito.verify(repository, Mockito.times(1)).saveAll(Mockito.anyList());
+		Mockito.verify(entityManager).flush();
+		Mockito.verify(saldoUsuarioService).registrarMovimentos(Arrays.asList(MovimentoLancamento.de(valido)));
+	}
+	
+	@Test
+	public void deveImportarComoNovoUmLancamentoQueInformeIdExistente()
+	{
+		//cenario
+		Usuario usuario = Usuario.builder().id(1l).build();
+		Lancamento comId = LancamentoRepositoryTest.criarLancamento();
+		comId.setId(99l);
+		comId.setVersao(3);
+		
+		//execucao
+		ResultadoImportacao resultado = service.importar(usuario, Arrays.asList(LinhaImportacao.valida(1, comId)));
+		
+		//verificacao
+		assertThat(resultado.getImportados()).isEqualTo(1);
+		assertThat(comId.getId()).isNull();
+		assertThat(comId.getVersao()).isZero();
+		assertThat(comId.getUsuario()).isEqualTo(usuario);
+		Mockito.verify(repository).saveAll(Mockito.anyList());
+	}
+	
 }
@@ -0,0 +1,148 @@
+package com.alinembs.minhasfinancas.service;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.alinembs.minhasfinancas.cache.SaldoAlteradoEvent;
+import com.alinembs.minhasfinancas.model.consulta.MovimentoLancamento;
+import com.alinembs.minhasfinancas.model.consulta.ResumoAnual;
+import com.alinembs.minhasfinancas.model.entity.ResumoMensalUsuario;
+import com.alinembs.minhasfinancas.model.enums.StatusLancamento;
+import com.alinembs.minhasfinancas.model.enums.TipoLancamento;
+import com.alinembs.minhasfinancas.model.repository.ResumoMensalUsuarioRepository;
+import com.alinembs.minhasfinancas.service.impl.ResumoMensalServiceImp;
+import static org.assertj.core.api.Assertions.*;
+
+@ExtendWith( SpringExtension.class )
+@ActiveProfiles("test")
+@RecordApplicationEvents
+public class ResumoMensalServiceTest {
+
+	@SpyBean
+	ResumoMensalServiceImp service;
+	@MockBean
+	ResumoMensalUsuarioRepository repository;
+	@Autowired
+	ApplicationEvents eventos;
+	
+	@Test
+	public void deveInvalidarOsDadosDeTodosOsUsuariosAoReconstruir()
+	{
+		//execucao
+		service.reconstruir();
+		
+		//verificacao
+		Mockito.verify(repository).deleteAllInBatch();
+		Mockito.verify(repository).inserirCalculados(TipoLancamento.RECEITA, TipoLancamento.DESPESA);
+		assertThat(eventos.stream(SaldoAlteradoEvent.class)).extracting(SaldoAlteradoEvent::getIdUsuario).containsExactly((Long) null);
+	}
+	
+	@Test
+	public void deveMoverOValorEntreOsStatusAoEfetivarUmLancamento()
+	{
+		//cenario
+		MovimentoLancamento anterior = new MovimentoLancamento(1l, 2024, 2, TipoLancamento.RECEITA, StatusLancamento.PENDENTE, BigDecimal.valueOf(10));
+		MovimentoLancamento atual = new MovimentoLancamento(1l, 2024, 2, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, BigDecimal.valueOf(10));
+		Mockito.when(repository.acumular(Mockito.anyLong(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(1);
+		
+		//execucao
+		service.registrarAlteracao(anterior, atual);
+		
+		//verificacao
+		Mockito.verify(repository).acumular(1l, 2024, 2, StatusLancamento.PENDENTE, BigDecimal.valueOf(-10), BigDecimal.ZERO);
+		Mockito.verify(repository).acumular(1l, 2024, 2, StatusLancamento.EFETIVADO, BigDecimal.valueOf(10), BigDecimal.ZERO);
+	}
+	
+	@Test
+	public void naoDeveAtualizarOResumoQuandoOMesEOStatusNaoMudarem()
+	{
+		//cenario
+		MovimentoLancamento movimento = new MovimentoLancamento(1l, 2024, 2, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, BigDecimal.valueOf(10));
+		
+		//execucao
+		service.registrarAlteracao(movimento, movimento);
+		
+		//verificacao
+		Mockito.verifyNoInteractions(repository);
+	}
+	
+	@Test
+	public void deveCalcularOMesQuandoAindaNaoHouverResumo()
+	{
+		//cenario
+		MovimentoLancamento novo = new MovimentoLancamento(1l, 2024, 2, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, BigDecimal.valueOf(10));
+		Mockito.when(repository.acumular(Mockito.anyLong(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(0);
+		Mockito.when(repository.inserirCalculadosDoMes(1l, 2024, 2, "PENDENTE")).thenReturn(1);
+		
+		//execucao
+		service.registrarAlteracao(null, novo);
+		
+		//verificacao
+		Mockito.verify(repository).inserirCalculadosDoMes(1l, 2024, 2, "PENDENTE");
+		Mockito.verify(repository, Mockito.times(1)).acumular(Mockito.anyLong(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
+	}
+	
+	@Test
+	public void deveAcumularNoResumoCriadoPorOutraEscritaConcorrente()
+	{
+		//cenario
+		MovimentoLancamento novo = new MovimentoLancamento(1l, 2024, 2, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, BigDecimal.valueOf(10));
+		Mockito.when(repository.acumular(Mockito.anyLong(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(0, 1);
+		Mockito.when(repository.inserirCalculadosDoMes(1l, 2024, 2, "PENDENTE")).thenReturn(0);
+		
+		//execucao
+		service.registrarAlteracao(null, novo);
+		
+		//verificacao
+		Mockito.verify(repository, Mockito.times(2)).acumular(1l, 2024, 2, StatusLancamento.PENDENTE, BigDecimal.ZERO, BigDecimal.valueOf(10));
+	}
+	
+	@Test
+	public void deveMontarOsDozeMesesAPartirDoResumoMaterializado()
+	{
+		//cenario
+		Mockito.when(repository.findByIdUsuarioAndAnoOrderByMesAscStatusAsc(1l, 2024)).thenReturn(Arrays.asList(
+				new ResumoMensalUsuario(1l, 2024, 1, StatusLancamento.EFETIVADO, BigDecimal.valueOf(100), BigDecimal.valueOf(30)),
+				new ResumoMensalUsuario(1l, 2024, 1, StatusLancamento.PENDENTE, BigDecimal.ZERO, BigDecimal.valueOf(20)),
+				new ResumoMensalUsuario(1l, 2024, 12, StatusLancamento.EFETIVADO, BigDecimal.valueOf(5), BigDecimal.ZERO)));
+		
+		//execucao
+		ResumoAnual resumo = service.obterResumoAnual(1l, 2024);
+		
+		//verificacao
+		assertThat(resumo.getMeses()).hasSize(12);
+		assertThat(resumo.getMeses().get(0).getSaldo()).isEqualByComparingTo(BigDecimal.valueOf(50));
+		assertThat(resumo.getMeses().get(0).getPorStatus().get(StatusLancamento.PENDENTE).getSaldo()).isEqualByComparingTo(BigDecimal.valueOf(-20));
+		assertThat(resumo.getMeses().get(11).getReceitas()).isEqualByComparingTo(BigDecimal.valueOf(5));
+		assertThat(resumo.getSaldo()).isEqualByComparingTo(BigDecimal.valueOf(55));
+		Mockito.verify(repository, Mockito.never()).calcularPorAno(Mockito.anyLong(), Mockito.any(), Mockito.any(), Mockito.any());
+	}
+	
+	@Test
+	public void deveAgruparOsLancamentosQuandoOAnoNaoEstiverMaterializado()
+	{
+		//cenario
+		Mockito.when(repository.findByIdUsuarioAndAnoOrderByMesAscStatusAsc(1l, 2024)).thenReturn(Collections.emptyList());
+		Mockito.when(repository.calcularPorAno(1l, 2024, TipoLancamento.RECEITA, TipoLancamento.DESPESA)).thenReturn(Arrays.asList(
+				new ResumoMensalUsuario(1l, 2024, 6, StatusLancamento.PENDENTE, BigDecimal.valueOf(40), BigDecimal.ZERO)));
+		
+		//execucao
+		ResumoAnual resumo = service.obterResumoAnual(1l, 2024);
+		
+		//verificacao
+		assertThat(resumo.getMeses().get(5).getSaldo()).isEqualByComparingTo(BigDecimal.valueOf(40));
+	}
+	
+}
@@ -0,0 +1,130 @@
+package com.alinembs.minhasfinancas.service;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.alinembs.minhasfinancas.model.consulta.MovimentoLancamento;
+import com.alinembs.minhasfinancas.model.entity.SaldoUsuario;
+import com.alinembs.minhasfinancas.model.enums.StatusLancamento;
+import com.alinembs.minhasfinancas.model.enums.TipoLancamento;
+import com.alinembs.minhasfinancas.model.repository.SaldoUsuarioRepository;
+import com.alinembs.minhasfinancas.service.impl.SaldoUsuarioServiceImp;
+import static org.assertj.core.api.Assertions.*;
+
+@ExtendWith( SpringExtension.class )
+@ActiveProfiles("test")
+public class SaldoUsuarioServiceTest {
+
+	@SpyBean
+	SaldoUsuarioServiceImp service;
+	@MockBean
+	SaldoUsuarioRepository repository;
+	
+	@Test
+	public void deveAcumularANovaReceitaNoSaldoDoUsuario()
+	{
+		//cenario
+		MovimentoLancamento novo = new MovimentoLancamento(1l, 2024, 2, TipoLancamento.RECEITA, StatusLancamento.PENDENTE, BigDecimal.valueOf(10));
+		Mockito.when(repository.acumular(Mockito.anyLong(), Mockito.any(), Mockito.any())).thenReturn(1);
+		
+		//execucao
+		service.registrarAlteracao(null, novo);
+		
+		//verificacao
+		Mockito.verify(repository).acumular(1l, BigDecimal.valueOf(10), BigDecimal.ZERO);
+		Mockito.verify(service, Mockito.never()).recalcular(Mockito.anyLong());
+	}
+	
+	@Test
+	public void deveCompensarOValorAnteriorEmUmaUnicaAtualizacao()
+	{
+		//cenario
+		MovimentoLancamento anterior = new MovimentoLancamento(1l, 2024, 2, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, BigDecimal.valueOf(10));
+		MovimentoLancamento atual = new MovimentoLancamento(1l, 2024, 2, TipoLancamento.RECEITA, StatusLancamento.PENDENTE, BigDecimal.valueOf(10));
+		Mockito.when(repository.acumular(Mockito.anyLong(), Mockito.any(), Mockito.any())).thenReturn(1);
+		
+		//execucao
+		service.registrarAlteracao(anterior, atual);
+		
+		//verificacao
+		Mockito.verify(repository, Mockito.times(1)).acumular(1l, BigDecimal.valueOf(10), BigDecimal.valueOf(-10));
+	}
+	
+	@Test
+	public void naoDeveGravarQuandoApenasOStatusMudar()
+	{
+		//cenario
+		MovimentoLancamento anterior = new MovimentoLancamento(1l, 2024, 2, TipoLancamento.RECEITA, StatusLancamento.PENDENTE, BigDecimal.valueOf(10));
+		MovimentoLancamento atual = new MovimentoLancamento(1l, 2024, 2, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, BigDecimal.valueOf(10));
+		
+		//execucao
+		service.registrarAlteracao(anterior, atual);
+		
+		//verificacao
+		Mockito.verify(repository, Mockito.never()).acumular(Mockito.anyLong(), Mockito.any(), Mockito.any());
+		Mockito.verify(service, Mockito.never()).recalcular(Mockito.anyLong());
+	}
+	
+	@Test
+	public void deveRecalcularQuandoNaoHouverSaldoMaterializado()
+	{
+		//cenario
+		MovimentoLancamento novo = new MovimentoLancamento(1l, 2024, 2, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, BigDecimal.valueOf(10));
+		Mockito.when(repository.acumular(Mockito.anyLong(), Mockito.any(), Mockito.any())).thenReturn(0);
+		Mockito.when(repository.inserirCalculado(1l)).thenReturn(1);
+		
+		//execucao
+		service.registrarAlteracao(null, novo);
+		
+		//verificacao
+		Mockito.verify(repository).inserirCalculado(1l);
+		Mockito.verify(repository, Mockito.times(1)).acumular(Mockito.anyLong(), Mockito.any(), Mockito.any());
+		Mockito.verify(repository, Mockito.never()).save(Mockito.any());
+	}
+	
+	@Test
+	public void deveAcumularNaLinhaCriadaPorOutraEscritaConcorrente()
+	{
+		//cenario
+		MovimentoLancamento novo = new MovimentoLancamento(1l, 2024, 2, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, BigDecimal.valueOf(10));
+		Mockito.when(repository.acumular(Mockito.anyLong(), Mockito.any(), Mockito.any())).thenReturn(0, 1);
+		Mockito.when(repository.inserirCalculado(1l)).thenReturn(0);
+		
+		//execucao
+		service.registrarAlteracao(null, novo);
+		
+		//verificacao
+		Mockito.verify(repository, Mockito.times(2)).acumular(1l, BigDecimal.ZERO, BigDecimal.valueOf(10));
+	}
+	
+	@Test
+	public void deveRecalcularOsSaldosDivergentes()
+	{
+		//cenario
+		Mockito.when(repository.findAll()).thenReturn(Arrays.asList(
+				new SaldoUsuario(1l, BigDecimal.valueOf(50), BigDecimal.valueOf(10)),
+				new SaldoUsuario(2l, BigDecimal.valueOf(20), BigDecimal.ZERO)));
+		Mockito.when(repository.calcularTodos(TipoLancamento.RECEITA, TipoLancamento.DESPESA)).thenReturn(Arrays.asList(
+				new SaldoUsuario(1l, new BigDecimal("50.00"), new BigDecimal("10.00")),
+				new SaldoUsuario(2l, BigDecimal.valueOf(30), BigDecimal.ZERO)));
+		Mockito.when(repository.calcularPorUsuario(Mockito.anyLong(), Mockito.any(), Mockito.any())).thenReturn(Collections.emptyList());
+		
+		//execucao
+		List<Long> divergentes = service.verificarConsistencia();
+		
+		//verificacao
+		assertThat(divergentes).containsExactly(2l);
+		Mockito.verify(service).recalcular(2l);
+	}
+	
+}
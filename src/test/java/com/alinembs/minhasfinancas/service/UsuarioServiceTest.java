@@ -4,21 +4,34 @@ import org.assertj.core.api.Assertions;
 //import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.time.Duration;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
 
 import com.alinembs.minhasfinancas.exception.ErroAutenticacao;
 import com.alinembs.minhasfinancas.exception.RegraNegocioException;
 import com.alinembs.minhasfinancas.model.entity.Usuario;
 import com.alinembs.minhasfinancas.model.repository.UsuarioRepository;
+import com.alinembs.minhasfinancas.senha.VerificadorSenhas;
 import com.alinembs.minhasfinancas.service.impl.UsuarioServiceImp;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 @ExtendWith( SpringExtension.class )
 @ActiveProfiles("test")
 public class UsuarioServiceTest {
@@ -27,6 +40,22 @@ public class UsuarioServiceTest {
 	UsuarioServiceImp service;
 	@MockBean
 	UsuarioRepository repository;
+	@Autowired
+	VerificadorSenhas verificadorSenhas;
+	
+	@Configuration
+	static class Configuracao {
+		
+		@Bean
+		VerificadorSenhas verificadorSenhas() {
+			return new VerificadorSenhas(new SimpleMeterRegistry(), 4, 1, 10, Duration.ofSeconds(5));
+		}
+		
+		@Bean(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+		Executor applicationTaskExecutor() {
+			return new SimpleAsyncTaskExecutor("gravacao-");
+		}
+	}
 	
 //	@BeforeEach
 //	public void setUp()
@@ -138,6 +167,81 @@ public class UsuarioServiceTest {
 	}
 	
 	
+	@Test
+	public void deveTrocarASenhaLegadaPeloHashAoAutenticar()
+	{
+		//cenario
+		Usuario usuario = criarUsuario();
+		Mockito.when( repository.findByEmail("usuario@email.com")).thenReturn(Optional.of(usuario));
+		
+		//acao
+		service.autenticar("usuario@email.com", "senha");
+		
+		//verificacao
+		ArgumentCaptor<Usuario> salvo = ArgumentCaptor.forClass(Usuario.class);
+		Mockito.verify(repository).save(salvo.capture());
+		Assertions.assertThat(salvo.getValue().getSenha()).startsWith("$2a$04$");
+		Assertions.assertThat(new BCryptPasswordEncoder().matches("senha", salvo.getValue().getSenha())).isTrue();
+	}
+	
+	@Test
+	public void deveAutenticarComASenhaCodificadaSemGravarDeNovo()
+	{
+		//cenario
+		Usuario usuario = criarUsuario();
+		usuario.setSenha(verificadorSenhas.codificar("senha").join());
+		Mockito.when( repository.findByEmail("usuario@email.com")).thenReturn(Optional.of(usuario));
+		
+		//acao
+		Usuario autenticado = service.autenticar("usuario@email.com", "senha");
+		Throwable erro = Assertions.catchThrowable( () -> service.autenticar("usuario@email.com", "outra"));
+		
+		//verificacao
+		Assertions.assertThat(autenticado).isSameAs(usuario);
+		Assertions.assertThat(erro).isInstanceOf(ErroAutenticacao.class).hasMessage("Senha Invalida.");
+		Mockito.verify(repository, Mockito.never()).save(Mockito.any());
+	}
+	
+	@Test
+	public void deveGravarOHashDaSenhaAoSalvar()
+	{
+		//cenario
+		Mockito.doNothing().when(service).validarEmail(Mockito.anyString());
+		Usuario usuario = criarUsuario();
+		
+		//acao
+		service.salvarUsuario(usuario);
+		
+		//verificacao
+		ArgumentCaptor<Usuario> salvo = ArgumentCaptor.forClass(Usuario.class);
+		Mockito.verify(repository).save(salvo.capture());
+		Assertions.assertThat(salvo.getValue().getSenha()).isNotEqualTo("senha");
+		Assertions.assertThat(new BCryptPasswordEncoder().matches("senha", salvo.getValue().getSenha())).isTrue();
+	}
+	
+	@Test
+	public void deveGravarForaDoPoolDeSenhas()
+	{
+		//cenario
+		Mockito.doNothing().when(service).validarEmail(Mockito.anyString());
+		AtomicReference<String> threadGravacao = new AtomicReference<>();
+		Mockito.when(repository.save(Mockito.any(Usuario.class))).thenAnswer( invocacao -> {
+			threadGravacao.set(Thread.currentThread().getName());
+			return invocacao.getArgument(0);
+		});
+		Mockito.when( repository.findByEmail("usuario@email.com")).thenReturn(Optional.of(criarUsuario()));
+		
+		//acao
+		Usuario salvo = service.salvarUsuarioAssincrono(criarUsuario()).join();
+		String threadCadastro = threadGravacao.get();
+		service.autenticarAssincrono("usuario@email.com", "senha").join();
+		
+		//verificacao
+		Assertions.assertThat(new BCryptPasswordEncoder().matches("senha", salvo.getSenha())).isTrue();
+		Assertions.assertThat(threadCadastro).startsWith("gravacao-");
+		Assertions.assertThat(threadGravacao.get()).startsWith("gravacao-");
+	}
+	
 	public static Usuario criarUsuario() {
 		return  Usuario
 				 .builder()
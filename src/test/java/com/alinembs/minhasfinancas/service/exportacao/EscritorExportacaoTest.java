@@ -0,0 +1,102 @@
+package com.alinembs.minhasfinancas.service.exportacao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+import com.alinembs.minhasfinancas.model.consulta.ResumoLancamento;
+import com.alinembs.minhasfinancas.model.enums.StatusLancamento;
+import com.alinembs.minhasfinancas.model.enums.TipoLancamento;
+import com.alinembs.minhasfinancas.service.importacao.LeitorCsv;
+import com.alinembs.minhasfinancas.service.importacao.LinhaImportacao;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class EscritorExportacaoTest {
+
+	List<ResumoLancamento> lancamentos = List.of(
+			new ResumoLancamento(1l, "Salario", 1, 2024, new BigDecimal("1500.50"), TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, 7l),
+			new ResumoLancamento(2l, "Mercado; \"feira\"", 2, 2024, new BigDecimal("230.10"), TipoLancamento.DESPESA, StatusLancamento.PENDENTE, 7l));
+	
+	private byte[] exportar(FormatoExportacao formato) throws Exception {
+		ByteArrayOutputStream saida = new ByteArrayOutputStream();
+		try(EscritorExportacao escritor = formato.criarEscritor(saida, new ObjectMapper())) {
+			for(ResumoLancamento lancamento : lancamentos)
+			{
+				escritor.escrever(lancamento);
+			}
+		}
+		return saida.toByteArray();
+	}
+	
+	@Test
+	public void deveExportarUmCsvQueOLeitorImportaDeVolta() throws Exception
+	{
+		//execucao
+		byte[] csv = exportar(FormatoExportacao.CSV);
+		
+		//verificacao
+		List<LinhaImportacao> linhas = new LeitorCsv().ler(new ByteArrayInputStream(csv));
+		assertThat(linhas).hasSize(2);
+		assertThat(linhas.get(1).getLancamento().getDescricao()).isEqualTo("Mercado; \"feira\"");
+		assertThat(linhas.get(1).getLancamento().getValor()).isEqualByComparingTo("230.10");
+		assertThat(new String(csv, StandardCharsets.UTF_8)).contains("1;Salario;1;2024;1500.50;RECEITA;EFETIVADO");
+	}
+	
+	@Test
+	public void deveNeutralizarFormulasNaDescricaoDoCsv() throws Exception
+	{
+		//cenario
+		lancamentos = List.of(
+				new ResumoLancamento(1l, "=HYPERLINK(\"http://x\")", 1, 2024, BigDecimal.TEN, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, 7l),
+				new ResumoLancamento(2l, "@SUM(A1)", 1, 2024, BigDecimal.TEN, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, 7l),
+				new ResumoLancamento(3l, "-10+5", 1, 2024, BigDecimal.TEN, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, 7l),
+				new ResumoLancamento(4l, "\tPix", 1, 2024, BigDecimal.TEN, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, 7l),
+				new ResumoLancamento(5l, "Conta - luz", 1, 2024, BigDecimal.TEN, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, 7l));
+		
+		//execucao
+		String csv = new String(exportar(FormatoExportacao.CSV), StandardCharsets.UTF_8);
+		
+		//verificacao
+		assertThat(csv).contains("\r\n1;\"'=HYPERLINK(\"\"http://x\"\")\";1;");
+		assertThat(csv).contains("\r\n2;\"'@SUM(A1)\";1;");
+		assertThat(csv).contains("\r\n3;\"'-10+5\";1;");
+		assertThat(csv).contains("\r\n4;\"'\tPix\";1;");
+		assertThat(csv).contains("\r\n5;Conta - luz;1;");
+	}
+	
+	@Test
+	public void deveExportarUmLancamentoPorLinhaEmJson() throws Exception
+	{
+		//execucao
+		String[] linhas = new String(exportar(FormatoExportacao.JSONL), StandardCharsets.UTF_8).split("\n");
+		
+		//verificacao
+		assertThat(linhas).hasSize(2);
+		assertThat(new ObjectMapper().readTree(linhas[1]).get("descricao").asText()).isEqualTo("Mercado; \"feira\"");
+	}
+	
+	@Test
+	public void deveExportarUmaPlanilhaXlsx() throws Exception
+	{
+		//execucao
+		byte[] xlsx = exportar(FormatoExportacao.XLSX);
+		
+		//verificacao
+		try(XSSFWorkbook planilha = new XSSFWorkbook(new ByteArrayInputStream(xlsx))) {
+			Sheet aba = planilha.getSheetAt(0);
+			assertThat(aba.getLastRowNum()).isEqualTo(2);
+			assertThat(aba.getRow(0).getCell(1).getStringCellValue()).isEqualTo("descricao");
+			assertThat(aba.getRow(1).getCell(4).getNumericCellValue()).isEqualTo(1500.50);
+			assertThat(aba.getRow(2).getCell(6).getStringCellValue()).isEqualTo("PENDENTE");
+		}
+	}
+	
+}
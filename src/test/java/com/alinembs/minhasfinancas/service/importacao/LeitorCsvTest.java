@@ -0,0 +1,51 @@
+package com.alinembs.minhasfinancas.service.importacao;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.alinembs.minhasfinancas.exception.RegraNegocioException;
+import com.alinembs.minhasfinancas.model.enums.TipoLancamento;
+import static org.assertj.core.api.Assertions.*;
+
+public class LeitorCsvTest {
+
+	private List<LinhaImportacao> ler(String conteudo) throws Exception {
+		return new LeitorCsv().ler(new ByteArrayInputStream(conteudo.getBytes(StandardCharsets.UTF_8)));
+	}
+	
+	@Test
+	public void deveLerLancamentosSeparadosPorPontoEVirgula() throws Exception
+	{
+		List<LinhaImportacao> linhas = ler("descricao;mes;ano;valor;tipo\n\"Mercado; feira\";3;2024;1.234,56;despesa\n");
+		
+		assertThat(linhas).hasSize(1);
+		LinhaImportacao linha = linhas.get(0);
+		assertThat(linha.getNumero()).isEqualTo(2);
+		assertThat(linha.getLancamento().getDescricao()).isEqualTo("Mercado; feira");
+		assertThat(linha.getLancamento().getValor()).isEqualByComparingTo(new BigDecimal("1234.56"));
+		assertThat(linha.getLancamento().getTipo()).isEqualTo(TipoLancamento.DESPESA);
+	}
+	
+	@Test
+	public void deveApontarALinhaMalFormatadaSemInterromperALeitura() throws Exception
+	{
+		List<LinhaImportacao> linhas = ler("tipo,valor,ano,mes,descricao\nRECEITA,abc,2024,1,Salario\nRECEITA,10.5,2024,1,Salario\n");
+		
+		assertThat(linhas).hasSize(2);
+		assertThat(linhas.get(0).getErro()).isEqualTo("Linha mal formatada.");
+		assertThat(linhas.get(1).getLancamento().getValor()).isEqualByComparingTo(new BigDecimal("10.5"));
+	}
+	
+	@Test
+	public void deveRejeitarCabecalhoIncompleto()
+	{
+		Throwable erro = catchThrowable(() -> ler("descricao,valor\nSalario,10\n"));
+		
+		assertThat(erro).isInstanceOf(RegraNegocioException.class);
+	}
+	
+}
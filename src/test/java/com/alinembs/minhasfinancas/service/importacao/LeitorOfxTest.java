@@ -0,0 +1,36 @@
+package com.alinembs.minhasfinancas.service.importacao;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.alinembs.minhasfinancas.model.enums.TipoLancamento;
+import static org.assertj.core.api.Assertions.*;
+
+public class LeitorOfxTest {
+
+	static final String EXTRATO = "OFXHEADER:100\nDATA:OFXSGML\nCHARSET:1252\n\n<OFX><BANKMSGSRSV1><STMTTRNRS><STMTRS><BANKTRANLIST>\n"
+			+ "<STMTTRN>\n<TRNTYPE>DEBIT\n<DTPOSTED>20240305120000[-3:BRT]\n<TRNAMT>-150.25\n<MEMO>Farmacia\n</STMTTRN>\n"
+			+ "<STMTTRN>\n<TRNTYPE>CREDIT\n<DTPOSTED>20240301\n<TRNAMT>3000.00\n<NAME>Salario\n</STMTTRN>\n"
+			+ "<STMTTRN>\n<TRNTYPE>CREDIT\n<MEMO>Sem data\n</STMTTRN>\n"
+			+ "</BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>";
+	
+	@Test
+	public void deveLerAsTransacoesDoExtrato() throws Exception
+	{
+		List<LinhaImportacao> linhas = new LeitorOfx().ler(new ByteArrayInputStream(EXTRATO.getBytes(StandardCharsets.US_ASCII)));
+		
+		assertThat(linhas).hasSize(3);
+		assertThat(linhas.get(0).getLancamento().getTipo()).isEqualTo(TipoLancamento.DESPESA);
+		assertThat(linhas.get(0).getLancamento().getValor()).isEqualByComparingTo(new BigDecimal("150.25"));
+		assertThat(linhas.get(0).getLancamento().getMes()).isEqualTo(3);
+		assertThat(linhas.get(0).getLancamento().getAno()).isEqualTo(2024);
+		assertThat(linhas.get(1).getLancamento().getTipo()).isEqualTo(TipoLancamento.RECEITA);
+		assertThat(linhas.get(1).getLancamento().getDescricao()).isEqualTo("Salario");
+		assertThat(linhas.get(2).getErro()).isNotNull();
+	}
+	
+}
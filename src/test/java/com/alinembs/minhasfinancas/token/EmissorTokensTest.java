@@ -0,0 +1,101 @@
+package com.alinembs.minhasfinancas.token;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class EmissorTokensTest {
+
+	static final String CHAVE_1 = Base64.getEncoder().encodeToString("chave-de-teste-numero-um-32-bytes".getBytes());
+	static final String CHAVE_2 = Base64.getEncoder().encodeToString("chave-de-teste-numero-dois-32-by".getBytes());
+	
+	static final Instant AGORA = Instant.parse("2024-01-10T12:00:00Z");
+	
+	@TempDir
+	Path pasta;
+	
+	private EmissorTokens emissor(Instant agora) {
+		return new EmissorTokens(EmissorTokens.lerChaves("k1", Map.of("k1", CHAVE_1)), null,
+				Duration.ofHours(1), Clock.fixed(agora, ZoneOffset.UTC));
+	}
+	
+	@Test
+	public void deveConferirOTokenEmitido()
+	{
+		//cenario
+		EmissorTokens emissor = emissor(AGORA);
+		
+		//execucao
+		TokenEmitido token = emissor.emitir(7l);
+		
+		//verificacao
+		assertThat(emissor.verificar(token.getToken())).contains(7l);
+		assertThat(token.getExpiraEm()).isEqualTo(AGORA.plus(Duration.ofHours(1)));
+	}
+	
+	@Test
+	public void deveRecusarTokenAlterado()
+	{
+		//cenario
+		EmissorTokens emissor = emissor(AGORA);
+		String token = emissor.emitir(7l).getToken();
+		
+		//execucao
+		String outroUsuario = "8" + token.substring(1);
+		
+		//verificacao
+		assertThat(emissor.verificar(outroUsuario)).isEmpty();
+		assertThat(emissor.verificar("lixo")).isEmpty();
+		assertThat(emissor.verificar("7.1.k1")).isEmpty();
+	}
+	
+	@Test
+	public void deveRecusarTokenExpirado()
+	{
+		//cenario
+		String token = emissor(AGORA).emitir(7l).getToken();
+		
+		//execucao
+		EmissorTokens depois = emissor(AGORA.plus(Duration.ofHours(2)));
+		
+		//verificacao
+		assertThat(depois.verificar(token)).isEmpty();
+	}
+	
+	@Test
+	public void deveTrocarAsChavesAoRelerOArquivo() throws Exception
+	{
+		//cenario
+		Path arquivo = pasta.resolve("chaves.properties");
+		Files.writeString(arquivo, "atual=k1\nchave.k1=" + CHAVE_1 + "\n");
+		EmissorTokens emissor = new EmissorTokens(null, arquivo, Duration.ofHours(1), Clock.fixed(AGORA, ZoneOffset.UTC));
+		String antigo = emissor.emitir(7l).getToken();
+		
+		//execucao
+		Files.writeString(arquivo, "atual=k2\nchave.k1=" + CHAVE_1 + "\nchave.k2=" + CHAVE_2 + "\n");
+		Files.setLastModifiedTime(arquivo, FileTime.from(AGORA.plusSeconds(60)));
+		emissor.recarregar();
+		String novo = emissor.emitir(7l).getToken();
+		
+		Files.writeString(arquivo, "atual=k2\nchave.k2=" + CHAVE_2 + "\n");
+		Files.setLastModifiedTime(arquivo, FileTime.from(AGORA.plusSeconds(120)));
+		emissor.recarregar();
+		
+		//verificacao
+		assertThat(novo).contains(".k2.");
+		assertThat(emissor.verificar(novo)).contains(7l);
+		assertThat(emissor.verificar(antigo)).isEmpty();
+	}
+	
+}